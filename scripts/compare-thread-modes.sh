@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# Compares throughput and p99 latency of platform-thread vs virtual-thread request handling.
+#
+# Requirements: the services from docker-compose.yaml, the .env variables from the README exported,
+# curl, jq and hey (https://github.com/rakyll/hey).
+#
+# Usage: scripts/compare-thread-modes.sh [concurrency] [duration]
+set -euo pipefail
+
+CONCURRENCY="${1:-400}"
+DURATION="${2:-60s}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+JAR="$(ls target/kanban-api-*.jar 2>/dev/null | grep -v plain | head -n 1 || true)"
+RESULTS_DIR="target/thread-mode-comparison"
+
+if [[ -z "${JAR}" ]]; then
+  ./mvnw -q -DskipTests package
+  JAR="$(ls target/kanban-api-*.jar | grep -v plain | head -n 1)"
+fi
+mkdir -p "${RESULTS_DIR}"
+
+wait_for_app() {
+  for _ in $(seq 1 60); do
+    if curl -fs "${BASE_URL}/api/v1/public/username-available?username=probe" > /dev/null; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Application did not start" >&2
+  return 1
+}
+
+obtain_token() {
+  local username="loadtest_user"
+  curl -s -o /dev/null -X POST "${BASE_URL}/api/v1/auth/register" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${username}\",\"email\":\"${username}@example.com\",\"password\":\"loadtest-password\"}"
+  curl -fs -X POST "${BASE_URL}/api/v1/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"usernameOrEmail\":\"${username}\",\"password\":\"loadtest-password\"}" | jq -r '.token'
+}
+
+for mode in false true; do
+  echo "== spring.threads.virtual.enabled=${mode}"
+  VIRTUAL_THREADS_ENABLED="${mode}" java -jar "${JAR}" --server.port="${PORT}" \
+    > "${RESULTS_DIR}/app-virtual-${mode}.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill ${APP_PID} 2>/dev/null || true' EXIT
+
+  wait_for_app
+  TOKEN="$(obtain_token)"
+
+  # Warm-up run, then the measured run
+  hey -z 15s -c "${CONCURRENCY}" -H "Authorization: Bearer ${TOKEN}" "${BASE_URL}/api/v1/user/profile" > /dev/null
+  hey -z "${DURATION}" -c "${CONCURRENCY}" -H "Authorization: Bearer ${TOKEN}" "${BASE_URL}/api/v1/user/profile" \
+    > "${RESULTS_DIR}/hey-virtual-${mode}.txt"
+
+  grep -E "Requests/sec|99% in" "${RESULTS_DIR}/hey-virtual-${mode}.txt"
+  kill "${APP_PID}"
+  wait "${APP_PID}" 2>/dev/null || true
+done
+
+echo "Full reports in ${RESULTS_DIR}"
@@ -0,0 +1,58 @@
+package com.armaan.kanban_api.benchmark;
+
+import com.armaan.kanban_api.search.CardSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CardSearchIndex} on a board of 50,000 cards: a selective word, a broad one-letter prefix, a
+ * two-word query, and replacing one card's text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardSearchBenchmark {
+
+    private static final String[] WORDS = {"login", "billing", "invoice", "refactor", "release", "search",
+            "dashboard", "export", "import", "mobile", "payment", "report", "signup", "upload", "webhook"};
+
+    private CardSearchIndex index;
+    private long nextUpdate;
+
+    @Setup
+    public void setUp() {
+        index = new CardSearchIndex(1L);
+        for (long id = 1; id <= 50_000; id++) {
+            index.put(id, id % 20, name(id), "Sprint " + (id % 50) + " ticket KAN-" + id);
+        }
+    }
+
+    private static String name(long id) {
+        return WORDS[(int) (id % WORDS.length)] + " " + WORDS[(int) ((id / 7) % WORDS.length)] + " " + id;
+    }
+
+    @Benchmark
+    public CardSearchIndex.Result selectiveWord() {
+        return index.search("kan-31337", 20);
+    }
+
+    @Benchmark
+    public CardSearchIndex.Result broadPrefix() {
+        return index.search("r", 20);
+    }
+
+    @Benchmark
+    public CardSearchIndex.Result twoWords() {
+        return index.search("invoice sprint 4", 20);
+    }
+
+    @Benchmark
+    public void updateCard() {
+        long id = nextUpdate++ % 50_000 + 1;
+        index.put(id, id % 20, name(id + 1), "Sprint " + (id % 50) + " ticket KAN-" + id);
+    }
+}
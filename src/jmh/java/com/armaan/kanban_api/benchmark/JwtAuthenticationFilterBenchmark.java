@@ -0,0 +1,80 @@
+package com.armaan.kanban_api.benchmark;
+
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.security.JwtAuthenticationFilter;
+import com.armaan.kanban_api.service.TokenRevocationService;
+import com.armaan.kanban_api.service.TokenVersionService;
+import com.armaan.kanban_api.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+/**
+ * Full {@link JwtAuthenticationFilter#doFilter} pass against a mock chain, in both authentication modes.
+ * The user lookup is an in-memory stub, so this measures the filter itself rather than the cache or database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtVerificationBenchmark.newJwtUtil();
+        User user = User.builder()
+                .id(1L)
+                .username("benchmark-user")
+                .email("benchmark@example.com")
+                .passwordHash("{bcrypt}unused")
+                .isActive(true)
+                .tokenVersion(0)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        TokenVersionService tokenVersionService = Mockito.mock(TokenVersionService.class);
+        Mockito.when(tokenVersionService.isCurrent(any(), anyInt())).thenReturn(true);
+        // Real revocation check with an empty Bloom filter: the common, non-revoked path
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(
+                Mockito.mock(StringRedisTemplate.class), Mockito.mock(RedisMessageListenerContainer.class),
+                new SimpleMeterRegistry(), 100_000, 0.001);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, username -> user, tokenVersionService, tokenRevocationService);
+        ReflectionTestUtils.setField(filter, "stateless", stateless);
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/profile");
+        request.addHeader("Authorization", authorizationHeader);
+        MockFilterChain chain = new MockFilterChain();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
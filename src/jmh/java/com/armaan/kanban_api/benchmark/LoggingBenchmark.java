@@ -0,0 +1,138 @@
+package com.armaan.kanban_api.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.armaan.kanban_api.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of one log line, with several threads logging at once:
+ * <ul>
+ *     <li>{@code sync}: the development setup, pattern layout written to a file on the calling thread</li>
+ *     <li>{@code async}: the prod profile, JSON through a non-blocking {@link AsyncAppender}</li>
+ *     <li>{@code asyncSampled}: the prod profile with the logger sampled 1 in 10</li>
+ * </ul>
+ * Each line is written to a real file, so the background writer competes for disk like it would in production.
+ * {@code logLine} logs back to back, the worst case where the async queue fills up and drops;
+ * {@code requestWithLogLine} adds some CPU work per line, closer to a real request.
+ * The two baselines measure the work alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final long REQUEST_WORK = 500;
+
+    @Param({"sync", "async", "asyncSampled"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private File logFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark", ".log").toFile();
+        context = new LoggerContext();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(logFile.getAbsolutePath());
+        fileAppender.setEncoder("sync".equals(mode) ? patternEncoder() : jsonEncoder());
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (!"sync".equals(mode)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(20);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender);
+            async.start();
+            appender = async;
+        }
+        if ("asyncSampled".equals(mode)) {
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setContext(context);
+            sampling.setSamples("com.armaan.kanban_api=10");
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        logger = context.getLogger("com.armaan.kanban_api.service.AuthService");
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] [%X{requestId:-}] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        // Spring Boot normally registers the Environment on the context
+        context.putObject("org.springframework.core.env.Environment", new MockEnvironment());
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("logstash");
+        encoder.start();
+        return encoder;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void logLine() {
+        log();
+    }
+
+    @Benchmark
+    public void requestWithLogLine() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+        log();
+    }
+
+    @Benchmark
+    public void requestBaseline() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+    }
+
+    private void log() {
+        MDC.put("requestId", "3f1c9a2e-5b7d-4e1f-9c3a-8d2b6e4f1a0c");
+        try {
+            logger.info("User authenticated successfully: {} (ID: {})", "benchmark-user", 42L);
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.armaan.kanban_api.benchmark;
+
+import com.armaan.kanban_api.dto.response.AuthResponse;
+import com.armaan.kanban_api.dto.response.UserProfileResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and serialises the auth/profile DTOs the way the controllers return them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private LocalDateTime timestamp;
+
+    @Setup
+    public void setUp() {
+        // Same settings as Spring Boot's auto-configured mapper
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        timestamp = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public String authResponse() throws Exception {
+        AuthResponse response = AuthResponse.builder()
+                .token("eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJiZW5jaG1hcmsifQ.signature")
+                .refreshToken("0f8c2a4e-family.c2VjcmV0LXJlZnJlc2gtdG9rZW4")
+                .type("Bearer")
+                .id(42L)
+                .username("benchmark-user")
+                .email("benchmark@example.com")
+                .firstName("Bench")
+                .lastName("Mark")
+                .emailVerified(true)
+                .createdAt(timestamp)
+                .build();
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String userProfileResponse() throws Exception {
+        UserProfileResponse response = UserProfileResponse.builder()
+                .id(42L)
+                .username("benchmark-user")
+                .email("benchmark@example.com")
+                .firstName("Bench")
+                .lastName("Mark")
+                .avatarUrl("https://example.com/avatars/42.png")
+                .isActive(true)
+                .emailVerified(true)
+                .createdAt(timestamp)
+                .updatedAt(timestamp)
+                .lastLoginAt(timestamp)
+                .build();
+        return objectMapper.writeValueAsString(response);
+    }
+}
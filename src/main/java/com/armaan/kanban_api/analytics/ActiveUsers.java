@@ -0,0 +1,23 @@
+package com.armaan.kanban_api.analytics;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Distinct users who changed a board within one window.
+ */
+public record ActiveUsers(Set<Long> userIds) {
+
+    public static ActiveUsers empty() {
+        return new ActiveUsers(new HashSet<>());
+    }
+
+    public ActiveUsers with(Long userId) {
+        userIds.add(userId);
+        return this;
+    }
+
+    public long count() {
+        return userIds.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.armaan.kanban_api.analytics;
+
+import lombok.Getter;
+import org.apache.kafka.streams.state.HostInfo;
+
+/**
+ * The window store partition holding a key is active on another instance of the application.
+ */
+@Getter
+public class ActivityHostedElsewhereException extends RuntimeException {
+    private final HostInfo host;
+
+    public ActivityHostedElsewhereException(HostInfo host) {
+        super("Activity is served by " + host.host() + ":" + host.port());
+        this.host = host;
+    }
+}
@@ -0,0 +1,132 @@
+package com.armaan.kanban_api.analytics;
+
+import com.armaan.kanban_api.dto.response.ActivityBucketResponse;
+import com.armaan.kanban_api.exception.AnalyticsUnavailableException;
+import com.armaan.kanban_api.exception.BoardNotFoundException;
+import com.armaan.kanban_api.repository.BoardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Interactive queries against the {@link ActivityTopology} window stores. Nothing here touches the
+ * database except the board ownership check.
+ * <p>
+ * With several instances each one holds the stores of its own partitions. When
+ * {@code application.server} is configured, a key owned by another instance raises
+ * {@link ActivityHostedElsewhereException} so the caller can forward the request there.
+ */
+@Service
+@Slf4j
+public class ActivityQueryService {
+
+    private final StreamsBuilderFactoryBean streamsBuilder;
+    private final BoardRepository boardRepository;
+    private final HostInfo thisHost;
+    private final int maxDays;
+
+    public ActivityQueryService(StreamsBuilderFactoryBean streamsBuilder,
+                                BoardRepository boardRepository,
+                                @Value("${spring.kafka.streams.properties.application.server:}") String applicationServer,
+                                @Value("${kanban.analytics.retention:P30D}") Duration retention) {
+        this.streamsBuilder = streamsBuilder;
+        this.boardRepository = boardRepository;
+        this.thisHost = applicationServer.isBlank() ? null : HostInfo.buildFromEndpoint(applicationServer);
+        this.maxDays = (int) retention.toDays();
+    }
+
+    public List<ActivityBucketResponse> loginsPerDay(Long userId, int days) {
+        return buckets(store(ActivityTopology.LOGINS_PER_USER_DAILY, userId), userId,
+                ActivityTopology.DAY, Math.clamp(days, 1, maxDays), Instant.now(), Long::longValue);
+    }
+
+    public List<ActivityBucketResponse> cardMovesPerHour(Long userId, Long boardId, int hours) {
+        requireBoard(userId, boardId);
+        return buckets(store(ActivityTopology.CARD_MOVES_PER_BOARD_HOURLY, boardId), boardId,
+                ActivityTopology.HOUR, Math.clamp(hours, 1, maxDays * 24), Instant.now(), Long::longValue);
+    }
+
+    public List<ActivityBucketResponse> activeUsersPerDay(Long userId, Long boardId, int days) {
+        requireBoard(userId, boardId);
+        return buckets(store(ActivityTopology.ACTIVE_USERS_PER_BOARD_DAILY, boardId), boardId,
+                ActivityTopology.DAY, Math.clamp(days, 1, maxDays), Instant.now(), ActiveUsers::count);
+    }
+
+    /**
+     * The last {@code count} windows up to and including the one containing {@code now}, oldest
+     * first; windows without events are reported as zero.
+     */
+    static <V> List<ActivityBucketResponse> buckets(ReadOnlyWindowStore<String, V> store, Object key,
+                                                    Duration size, int count, Instant now,
+                                                    ToLongFunction<V> value) {
+        long sizeMillis = size.toMillis();
+        long last = now.toEpochMilli() - Math.floorMod(now.toEpochMilli(), sizeMillis);
+        long first = last - (count - 1) * sizeMillis;
+
+        Map<Long, Long> counts = new HashMap<>();
+        try (WindowStoreIterator<V> windows = store.fetch(String.valueOf(key),
+                Instant.ofEpochMilli(first), Instant.ofEpochMilli(last))) {
+            while (windows.hasNext()) {
+                KeyValue<Long, V> window = windows.next();
+                counts.put(window.key, value.applyAsLong(window.value));
+            }
+        }
+
+        List<ActivityBucketResponse> buckets = new ArrayList<>(count);
+        for (long start = first; start <= last; start += sizeMillis) {
+            buckets.add(ActivityBucketResponse.builder()
+                    .start(Instant.ofEpochMilli(start))
+                    .end(Instant.ofEpochMilli(start + sizeMillis))
+                    .count(counts.getOrDefault(start, 0L))
+                    .build());
+        }
+        return buckets;
+    }
+
+    private <V> ReadOnlyWindowStore<String, V> store(String name, Object key) {
+        KafkaStreams streams = streamsBuilder.getKafkaStreams();
+        if (streams == null || streams.state() != KafkaStreams.State.RUNNING) {
+            throw new AnalyticsUnavailableException("Activity analytics are starting up");
+        }
+
+        if (thisHost != null) {
+            KeyQueryMetadata metadata = streams.queryMetadataForKey(name, String.valueOf(key), Serdes.String().serializer());
+            if (metadata != KeyQueryMetadata.NOT_AVAILABLE && !thisHost.equals(metadata.activeHost())) {
+                throw new ActivityHostedElsewhereException(metadata.activeHost());
+            }
+        }
+
+        try {
+            return streams.store(StoreQueryParameters.fromNameAndType(name, QueryableStoreTypes.<String, V>windowStore()));
+        } catch (InvalidStateStoreException e) {
+            // Partitions are being reassigned or restored
+            log.debug("Store {} not queryable: {}", name, e.getMessage());
+            throw new AnalyticsUnavailableException("Activity analytics are rebalancing");
+        }
+    }
+
+    private void requireBoard(Long userId, Long boardId) {
+        if (!boardRepository.existsByIdAndOwnerId(boardId, userId)) {
+            throw new BoardNotFoundException(boardId);
+        }
+    }
+}
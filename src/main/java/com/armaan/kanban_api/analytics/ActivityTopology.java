@@ -0,0 +1,111 @@
+package com.armaan.kanban_api.analytics;
+
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxRelay;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Windowed activity counts computed from the domain event topics, kept in local RocksDB window stores
+ * and read through {@link ActivityQueryService}. Windows are aligned to the epoch, i.e. days are UTC
+ * days, and use the event time set by the outbox relay.
+ * <p>
+ * Events are keyed by aggregate id on both topics, so none of the aggregations needs a repartition.
+ */
+@Component
+@Slf4j
+public class ActivityTopology {
+
+    public static final String LOGINS_PER_USER_DAILY = "logins-per-user-daily";
+    public static final String CARD_MOVES_PER_BOARD_HOURLY = "card-moves-per-board-hourly";
+    public static final String ACTIVE_USERS_PER_BOARD_DAILY = "active-users-per-board-daily";
+
+    static final Duration DAY = Duration.ofDays(1);
+    static final Duration HOUR = Duration.ofHours(1);
+
+    private final ObjectMapper objectMapper;
+    private final String userTopic;
+    private final String boardTopic;
+    private final Duration retention;
+    private final Duration grace;
+
+    public ActivityTopology(ObjectMapper objectMapper,
+                            @Value("${kanban.outbox.topic-prefix:kanban.}") String topicPrefix,
+                            @Value("${kanban.analytics.retention:P30D}") Duration retention,
+                            @Value("${kanban.analytics.grace:PT1H}") Duration grace) {
+        this.objectMapper = objectMapper;
+        this.userTopic = OutboxRelay.topic(topicPrefix, DomainEvents.USER);
+        this.boardTopic = OutboxRelay.topic(topicPrefix, DomainEvents.BOARD);
+        this.retention = retention;
+        this.grace = grace;
+    }
+
+    /**
+     * Event type and acting user of one message; the aggregate id is the record key.
+     */
+    record Activity(String type, Long actorId) {
+    }
+
+    @Autowired
+    public void build(StreamsBuilder builder) {
+        KStream<String, Activity> userEvents = activities(builder, userTopic);
+        userEvents.filter((userId, activity) -> DomainEvents.USER_LOGGED_IN.equals(activity.type()))
+                .groupByKey()
+                .windowedBy(TimeWindows.ofSizeAndGrace(DAY, grace))
+                .count(this.<Long>windowStore(LOGINS_PER_USER_DAILY).withValueSerde(Serdes.Long()));
+
+        KStream<String, Activity> boardEvents = activities(builder, boardTopic);
+        boardEvents.filter((boardId, activity) -> DomainEvents.CARD_MOVED.equals(activity.type()))
+                .groupByKey()
+                .windowedBy(TimeWindows.ofSizeAndGrace(HOUR, grace))
+                .count(this.<Long>windowStore(CARD_MOVES_PER_BOARD_HOURLY).withValueSerde(Serdes.Long()));
+
+        boardEvents.filter((boardId, activity) -> activity.actorId() != null)
+                .groupByKey()
+                .windowedBy(TimeWindows.ofSizeAndGrace(DAY, grace))
+                .aggregate(ActiveUsers::empty,
+                        (boardId, activity, users) -> users.with(activity.actorId()),
+                        this.<ActiveUsers>windowStore(ACTIVE_USERS_PER_BOARD_DAILY)
+                                .withValueSerde(new JsonSerde<>(ActiveUsers.class, objectMapper)
+                                        .noTypeInfo()
+                                        .ignoreTypeHeaders()));
+    }
+
+    private KStream<String, Activity> activities(StreamsBuilder builder, String topic) {
+        return builder.stream(topic, Consumed.with(Serdes.String(), Serdes.String()))
+                .mapValues(this::parse)
+                .filter((key, activity) -> key != null && activity != null);
+    }
+
+    private Activity parse(String value) {
+        try {
+            JsonNode message = objectMapper.readTree(value);
+            JsonNode actor = message.path("data").path("actorId");
+            return new Activity(message.path("type").asText(null), actor.isNumber() ? actor.asLong() : null);
+        } catch (Exception e) {
+            log.warn("Skipping malformed domain event: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <V> Materialized<String, V, WindowStore<Bytes, byte[]>> windowStore(String name) {
+        return Materialized.<String, V, WindowStore<Bytes, byte[]>>as(name)
+                .withKeySerde(Serdes.String())
+                .withRetention(retention);
+    }
+}
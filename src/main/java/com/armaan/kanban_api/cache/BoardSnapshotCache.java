@@ -0,0 +1,411 @@
+package com.armaan.kanban_api.cache;
+
+import com.armaan.kanban_api.dto.response.BoardDetailResponse;
+import com.armaan.kanban_api.exception.BoardNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of board snapshots ({@link BoardDetailResponse}). Snapshots are stored in Redis
+ * under {@code board-snapshot:{<board>}:<revision>}, where the revision is a per-board counter that every
+ * committed change increments, so invalidating a board is a single INCR and stale snapshots simply
+ * expire. All keys of a board share the {@code {<board>}} hash tag, so they live in one Redis Cluster slot.
+ * Each node keeps a small near-cache in front, dropped through Redis pub/sub when the revision
+ * moves on and after {@code local-ttl} at the latest. Every node remembers the highest revision it has
+ * seen per board and never puts an older snapshot into its near-cache, so a load that started before an
+ * invalidation cannot bring the old board back.
+ * <p>
+ * A miss is loaded once per node (concurrent readers wait for the same load) and once per revision
+ * across nodes: the loader takes a short Redis lock, the others poll for its result and only load
+ * themselves if it does not appear within {@code lock-wait}. Redis failures are treated as misses.
+ * <p>
+ * An invalidation that cannot reach Redis is retried every {@code retry-interval} until it does; until
+ * then this node loads the board on every read rather than serve the revision it could not retire.
+ * <p>
+ * Snapshots are shared between requests and must not be modified.
+ */
+@Component
+@Slf4j
+public class BoardSnapshotCache implements MessageListener {
+
+    static final String REVISION_PREFIX = "board-rev:";
+    static final String SNAPSHOT_PREFIX = "board-snapshot:";
+    static final String LOCK_PREFIX = "board-snapshot-lock:";
+    static final String INVALIDATION_CHANNEL = "board-snapshot:invalidate";
+
+    // KEYS: revision, snapshot key prefix (same hash slot). Returns {revision, snapshot} or {revision} on a miss
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local revision = redis.call('GET', KEYS[1]) or '0'
+            return {revision, redis.call('GET', KEYS[2] .. revision)}
+            """, List.class);
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final Duration LOCK_POLL_INTERVAL = Duration.ofMillis(20);
+
+    /**
+     * Cached form: the owner is kept so access can be checked without a query.
+     */
+    record Snapshot(long revision, Long ownerId, BoardDetailResponse board) {
+    }
+
+    record StoredSnapshot(Long ownerId, BoardDetailResponse board) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+    private final Cache<Long, Snapshot> nearCache;
+    // Highest revision seen per board; kept longer than snapshots, it only has to outlive a load
+    private final Cache<Long, Long> latestRevisions;
+    private final ConcurrentHashMap<Long, CompletableFuture<Snapshot>> inFlight = new ConcurrentHashMap<>();
+    private final Set<Long> failedInvalidations = ConcurrentHashMap.newKeySet();
+
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+    private final Counter sharedLoads;
+    private final Timer loadTimer;
+
+    public BoardSnapshotCache(StringRedisTemplate redisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${kanban.cache.board-snapshot.local-max-size:1000}") long localMaxSize,
+                              @Value("${kanban.cache.board-snapshot.local-ttl:5s}") Duration localTtl,
+                              @Value("${kanban.cache.board-snapshot.redis-ttl:10m}") Duration redisTtl,
+                              @Value("${kanban.cache.board-snapshot.lock-ttl:5s}") Duration lockTtl,
+                              @Value("${kanban.cache.board-snapshot.lock-wait:500ms}") Duration lockWait) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        this.latestRevisions = Caffeine.newBuilder()
+                .maximumSize(localMaxSize * 10)
+                .expireAfterWrite(redisTtl)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "boardSnapshot.local");
+        this.redisHits = Counter.builder("board.snapshot.cache.redis").tag("result", "hit").register(meterRegistry);
+        this.redisMisses = Counter.builder("board.snapshot.cache.redis").tag("result", "miss").register(meterRegistry);
+        this.redisErrors = Counter.builder("board.snapshot.cache.redis").tag("result", "error").register(meterRegistry);
+        this.sharedLoads = Counter.builder("board.snapshot.cache.shared_loads").register(meterRegistry);
+        this.loadTimer = Timer.builder("board.snapshot.cache.load").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * Returns the board's snapshot, calling {@code loader} only when no node has it for the current
+     * revision. The loader runs as {@code userId} and must throw if the board is not theirs.
+     *
+     * @throws BoardNotFoundException if the cached board belongs to another user
+     */
+    public BoardDetailResponse get(Long userId, Long boardId, Supplier<BoardDetailResponse> loader) {
+        Snapshot snapshot = nearCache.getIfPresent(boardId);
+        if (snapshot == null) {
+            snapshot = singleFlight(boardId, () -> readThrough(userId, boardId, loader));
+        }
+        // Boards of other users are reported as missing, like BoardService does
+        if (!snapshot.ownerId().equals(userId)) {
+            throw new BoardNotFoundException(boardId);
+        }
+        return snapshot.board();
+    }
+
+    /**
+     * Moves the board to a new revision on every node. Inside a transaction this happens after commit,
+     * so a reader that sees the new revision also sees the change.
+     */
+    public void invalidate(Long boardId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(boardId);
+                }
+            });
+        } else {
+            invalidateNow(boardId);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        long boardId = Long.parseLong(parts[0]);
+        long revision = Long.parseLong(parts[1]);
+        observeRevision(boardId, revision);
+        nearCache.asMap().computeIfPresent(boardId, (id, cached) -> cached.revision() < revision ? null : cached);
+    }
+
+    private Snapshot singleFlight(Long boardId, Supplier<Snapshot> load) {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.putIfAbsent(boardId, mine);
+        if (running != null) {
+            sharedLoads.increment();
+            try {
+                return await(running);
+            } catch (BoardNotFoundException e) {
+                // The other reader was not the owner; that says nothing about this one
+                return load.get();
+            }
+        }
+        try {
+            Snapshot snapshot = load.get();
+            mine.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(boardId, mine);
+        }
+    }
+
+    /**
+     * Retries the invalidations that failed to reach Redis.
+     */
+    @Scheduled(fixedDelayString = "${kanban.cache.board-snapshot.retry-interval:PT1S}")
+    public void retryInvalidations() {
+        for (Long boardId : failedInvalidations) {
+            // Removed first, so a change that fails while this one is retried is not lost
+            failedInvalidations.remove(boardId);
+            if (!bumpRevision(boardId)) {
+                failedInvalidations.add(boardId);
+                // Redis is still unreachable; the rest would fail the same way
+                return;
+            }
+        }
+    }
+
+    private Snapshot readThrough(Long userId, Long boardId, Supplier<BoardDetailResponse> loader) {
+        if (failedInvalidations.contains(boardId)) {
+            // Redis still holds the revision this node's change should have retired
+            return new Snapshot(-1, userId, load(loader));
+        }
+        long revision;
+        String json;
+        try {
+            List<?> result = redisTemplate.execute(READ_SCRIPT,
+                    List.of(revisionKey(boardId), snapshotKey(boardId, "")));
+            revision = Long.parseLong(String.valueOf(result.get(0)));
+            observeRevision(boardId, revision);
+            json = result.size() > 1 ? (String) result.get(1) : null;
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Failed to read board {} snapshot from Redis: {}", boardId, e.getMessage());
+            // Not cached locally either: without the revision an invalidation could be missed
+            return new Snapshot(-1, userId, load(loader));
+        }
+
+        if (json != null) {
+            redisHits.increment();
+            return putLocal(boardId, revision, json);
+        }
+        redisMisses.increment();
+
+        String snapshotKey = snapshotKey(boardId, String.valueOf(revision));
+        String lockKey = lockKey(boardId, revision);
+        String token = UUID.randomUUID().toString();
+        if (tryLock(lockKey, token)) {
+            try {
+                return store(boardId, revision, snapshotKey, new StoredSnapshot(userId, load(loader)));
+            } finally {
+                unlock(lockKey, token);
+            }
+        }
+
+        // Another node is loading this revision
+        json = awaitSnapshot(snapshotKey);
+        if (json != null) {
+            return putLocal(boardId, revision, json);
+        }
+        return store(boardId, revision, snapshotKey, new StoredSnapshot(userId, load(loader)));
+    }
+
+    private BoardDetailResponse load(Supplier<BoardDetailResponse> loader) {
+        return loadTimer.record(loader);
+    }
+
+    private Snapshot store(Long boardId, long revision, String snapshotKey, StoredSnapshot stored) {
+        Snapshot snapshot = new Snapshot(revision, stored.ownerId(), stored.board());
+        cacheLocally(boardId, snapshot);
+        try {
+            redisTemplate.opsForValue().set(snapshotKey, objectMapper.writeValueAsString(stored), redisTtl);
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Failed to write board {} snapshot to Redis: {}", boardId, e.getMessage());
+        }
+        return snapshot;
+    }
+
+    private Snapshot putLocal(Long boardId, long revision, String json) {
+        try {
+            StoredSnapshot stored = objectMapper.readValue(json, StoredSnapshot.class);
+            Snapshot snapshot = new Snapshot(revision, stored.ownerId(), stored.board());
+            cacheLocally(boardId, snapshot);
+            return snapshot;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable board snapshot for board " + boardId, e);
+        }
+    }
+
+    /**
+     * Puts the snapshot unless a newer revision of the board is known. Checked again after the put, so an
+     * invalidation racing with it cannot leave the snapshot behind.
+     */
+    private void cacheLocally(Long boardId, Snapshot snapshot) {
+        if (snapshot.revision() < latestRevision(boardId)) {
+            return;
+        }
+        nearCache.put(boardId, snapshot);
+        if (snapshot.revision() < latestRevision(boardId)) {
+            nearCache.asMap().remove(boardId, snapshot);
+        }
+    }
+
+    private long latestRevision(Long boardId) {
+        Long revision = latestRevisions.getIfPresent(boardId);
+        return revision == null ? 0 : revision;
+    }
+
+    private void observeRevision(Long boardId, long revision) {
+        latestRevisions.asMap().merge(boardId, revision, Math::max);
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl));
+        } catch (Exception e) {
+            redisErrors.increment();
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
+        } catch (Exception e) {
+            // Expires with lock-ttl
+            redisErrors.increment();
+        }
+    }
+
+    private String awaitSnapshot(String snapshotKey) {
+        long deadline = System.nanoTime() + lockWait.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(LOCK_POLL_INTERVAL);
+                String json = redisTemplate.opsForValue().get(snapshotKey);
+                if (json != null) {
+                    return json;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            redisErrors.increment();
+        }
+        return null;
+    }
+
+    private void invalidateNow(Long boardId) {
+        if (!bumpRevision(boardId)) {
+            failedInvalidations.add(boardId);
+        }
+    }
+
+    private boolean bumpRevision(Long boardId) {
+        try {
+            Long revision = redisTemplate.opsForValue().increment(revisionKey(boardId));
+            // Before dropping the entry, so loads of the old revision in flight cannot put it back
+            observeRevision(boardId, revision);
+            nearCache.invalidate(boardId);
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, boardId + ":" + revision);
+            return true;
+        } catch (Exception e) {
+            nearCache.invalidate(boardId);
+            redisErrors.increment();
+            log.warn("Failed to invalidate board {} snapshot, will retry: {}", boardId, e.getMessage());
+            return false;
+        }
+    }
+
+    static String revisionKey(Long boardId) {
+        return REVISION_PREFIX + "{" + boardId + "}";
+    }
+
+    static String snapshotKey(Long boardId, String revision) {
+        return SNAPSHOT_PREFIX + "{" + boardId + "}:" + revision;
+    }
+
+    static String lockKey(Long boardId, long revision) {
+        return LOCK_PREFIX + "{" + boardId + "}:" + revision;
+    }
+
+    private Snapshot await(CompletableFuture<Snapshot> running) {
+        try {
+            return running.get(lockTtl.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Loading board snapshot failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for board snapshot", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for board snapshot", e);
+        }
+    }
+}
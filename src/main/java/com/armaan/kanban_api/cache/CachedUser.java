@@ -0,0 +1,72 @@
+package com.armaan.kanban_api.cache;
+
+import com.armaan.kanban_api.entity.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serialisable snapshot of a {@link User}. The cache never hands out shared instances,
+ * every read produces a fresh, detached {@link User}. The password hash is not serialised, so it
+ * never reaches Redis.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedUser {
+    private Long id;
+    private String username;
+    private String email;
+    @JsonIgnore
+    private String passwordHash;
+    private String firstName;
+    private String lastName;
+    private String avatarUrl;
+    private Boolean isActive;
+    private Boolean emailVerified;
+    private Integer tokenVersion;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime lastLoginAt;
+
+    public static CachedUser from(User user) {
+        return CachedUser.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .passwordHash(user.getPasswordHash())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .avatarUrl(user.getAvatarUrl())
+                .isActive(user.getIsActive())
+                .emailVerified(user.getEmailVerified())
+                .tokenVersion(user.getTokenVersion())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .lastLoginAt(user.getLastLoginAt())
+                .build();
+    }
+
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .passwordHash(passwordHash)
+                .firstName(firstName)
+                .lastName(lastName)
+                .avatarUrl(avatarUrl)
+                .isActive(isActive)
+                .emailVerified(emailVerified)
+                .tokenVersion(tokenVersion)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .lastLoginAt(lastLoginAt)
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package com.armaan.kanban_api.cache;
+
+import com.armaan.kanban_api.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Two-tier cache for the users loaded by {@code UserService}: a bounded local Caffeine tier in
+ * front of a Redis tier shared by all nodes. Entries are stored under both the username and the
+ * email so either login form is a hit. Evictions are broadcast over Redis pub/sub so every node
+ * drops its local copy.
+ * <p>
+ * Password hashes stay in the local tier: Redis only holds what token authentication needs, so a
+ * Redis hit cannot be used to verify a password ({@link #getLocal}).
+ * <p>
+ * An eviction leaves a tombstone for {@code tombstone-ttl}, locally and in Redis. A load that read
+ * the database before the eviction and finishes after it is not cached, so it cannot revive the old row.
+ * <p>
+ * Redis failures are logged and treated as misses, authentication never depends on Redis being up.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache implements MessageListener {
+
+    static final String KEY_PREFIX = "user-details:";
+    static final String INVALIDATION_CHANNEL = "user-details:invalidate";
+    static final String TOMBSTONE = "evicted";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+    private final Duration tombstoneTtl;
+    private final Cache<String, CachedUser> localCache;
+    // Key -> System.nanoTime() of its last eviction
+    private final Cache<String, Long> evictedAt;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+
+    public UserDetailsCache(StringRedisTemplate redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${kanban.cache.user-details.local-max-size:10000}") long localMaxSize,
+                            @Value("${kanban.cache.user-details.local-ttl:30s}") Duration localTtl,
+                            @Value("${kanban.cache.user-details.redis-ttl:10m}") Duration redisTtl,
+                            @Value("${kanban.cache.user-details.tombstone-ttl:10s}") Duration tombstoneTtl) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.tombstoneTtl = tombstoneTtl;
+        this.evictedAt = Caffeine.newBuilder()
+                .expireAfterWrite(tombstoneTtl)
+                .build();
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "userDetails.local");
+        this.redisHits = Counter.builder("user.details.cache.redis").tag("result", "hit").register(meterRegistry);
+        this.redisMisses = Counter.builder("user.details.cache.redis").tag("result", "miss").register(meterRegistry);
+        this.redisErrors = Counter.builder("user.details.cache.redis").tag("result", "error").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public Optional<User> get(String usernameOrEmail) {
+        Optional<User> local = getLocal(usernameOrEmail);
+        if (local.isPresent()) {
+            return local;
+        }
+
+        CachedUser cached = getFromRedis(usernameKey(usernameOrEmail), emailKey(usernameOrEmail));
+        if (cached == null) {
+            redisMisses.increment();
+            return Optional.empty();
+        }
+
+        redisHits.increment();
+        putLocal(cached);
+        return Optional.of(cached.toUser());
+    }
+
+    /**
+     * The local tier only. Its entries carry the password hash unless they were copied from Redis.
+     */
+    public Optional<User> getLocal(String usernameOrEmail) {
+        CachedUser cached = localCache.getIfPresent(usernameKey(usernameOrEmail));
+        if (cached == null) {
+            cached = localCache.getIfPresent(emailKey(usernameOrEmail));
+        }
+        return Optional.ofNullable(cached).map(CachedUser::toUser);
+    }
+
+    /**
+     * Caches a user read from the database at {@code loadStartedAt} ({@link System#nanoTime()}). Skipped
+     * when either key was evicted since, and never overwrites a Redis entry or tombstone.
+     */
+    public void put(User user, long loadStartedAt) {
+        CachedUser cached = CachedUser.from(user);
+        String usernameKey = usernameKey(cached.getUsername());
+        String emailKey = emailKey(cached.getEmail());
+        if (evictedSince(usernameKey, loadStartedAt) || evictedSince(emailKey, loadStartedAt)) {
+            log.debug("Not caching user {} read before its eviction", cached.getUsername());
+            return;
+        }
+        putLocal(cached);
+
+        try {
+            String json = objectMapper.writeValueAsString(cached);
+            redisTemplate.opsForValue().setIfAbsent(usernameKey, json, redisTtl);
+            redisTemplate.opsForValue().setIfAbsent(emailKey, json, redisTtl);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialise cached user {}: {}", cached.getUsername(), e.getMessage());
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Failed to write user {} to Redis cache: {}", cached.getUsername(), e.getMessage());
+        }
+    }
+
+    /**
+     * Evicts the given usernames/emails on every node. When called inside a transaction the eviction
+     * runs after commit, so a concurrent reader cannot re-populate the cache with the old row.
+     */
+    public void evict(String... usernamesOrEmails) {
+        List<String> keys = keysFor(usernamesOrEmails);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictKeys(keys);
+                }
+            });
+        } else {
+            evictKeys(keys);
+        }
+    }
+
+    public void evict(User user) {
+        evict(user.getUsername(), user.getEmail());
+    }
+
+    /**
+     * Evicts immediately, for callers that already run after the change was committed.
+     */
+    void evictNow(String... usernamesOrEmails) {
+        List<String> keys = keysFor(usernamesOrEmails);
+        if (!keys.isEmpty()) {
+            evictKeys(keys);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        invalidateLocal(Arrays.asList(body.split("\n")));
+    }
+
+    private static List<String> keysFor(String... usernamesOrEmails) {
+        List<String> keys = new ArrayList<>();
+        Arrays.stream(usernamesOrEmails)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(value -> {
+                    keys.add(usernameKey(value));
+                    keys.add(emailKey(value));
+                });
+        return keys;
+    }
+
+    private void evictKeys(List<String> keys) {
+        invalidateLocal(keys);
+        try {
+            // A tombstone instead of a delete: puts of rows read before now cannot recreate the key
+            for (String key : keys) {
+                redisTemplate.opsForValue().set(key, TOMBSTONE, tombstoneTtl);
+            }
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.join("\n", keys));
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Failed to evict {} from Redis cache: {}", keys, e.getMessage());
+        }
+    }
+
+    private CachedUser getFromRedis(String usernameKey, String emailKey) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(usernameKey, emailKey));
+            if (values == null) {
+                return null;
+            }
+            for (String json : values) {
+                if (json != null && !TOMBSTONE.equals(json)) {
+                    return objectMapper.readValue(json, CachedUser.class);
+                }
+            }
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Failed to read user details from Redis cache: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void invalidateLocal(List<String> keys) {
+        long now = System.nanoTime();
+        for (String key : keys) {
+            evictedAt.put(key, now);
+        }
+        localCache.invalidateAll(keys);
+    }
+
+    private boolean evictedSince(String key, long loadStartedAt) {
+        Long evicted = evictedAt.getIfPresent(key);
+        return evicted != null && evicted - loadStartedAt >= 0;
+    }
+
+    private void putLocal(CachedUser cached) {
+        localCache.put(usernameKey(cached.getUsername()), cached);
+        localCache.put(emailKey(cached.getEmail()), cached);
+    }
+
+    private static String usernameKey(String username) {
+        return KEY_PREFIX + "u:" + username;
+    }
+
+    private static String emailKey(String email) {
+        return KEY_PREFIX + "e:" + email;
+    }
+}
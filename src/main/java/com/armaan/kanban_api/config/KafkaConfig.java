@@ -0,0 +1,43 @@
+package com.armaan.kanban_api.config;
+
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxRelay;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+
+/**
+ * Declares the domain event topics; Boot's {@link KafkaAdmin} creates missing ones on startup.
+ * Kafka Streams runs the activity topology ({@code analytics} package) over them.
+ */
+@Configuration
+@EnableKafkaStreams
+public class KafkaConfig {
+
+    @Value("${kanban.outbox.topic-prefix:kanban.}")
+    private String topicPrefix;
+
+    @Value("${kanban.outbox.topic-partitions:6}")
+    private int partitions;
+
+    @Value("${kanban.outbox.topic-replicas:1}")
+    private int replicas;
+
+    @Bean
+    public KafkaAdmin.NewTopics domainEventTopics() {
+        return new KafkaAdmin.NewTopics(
+                topic(DomainEvents.USER),
+                topic(DomainEvents.BOARD));
+    }
+
+    private NewTopic topic(String aggregateType) {
+        return TopicBuilder.name(OutboxRelay.topic(topicPrefix, aggregateType))
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+}
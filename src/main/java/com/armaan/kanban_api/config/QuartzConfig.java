@@ -0,0 +1,73 @@
+package com.armaan.kanban_api.config;
+
+import com.armaan.kanban_api.maintenance.BoardCounterRebuildTask;
+import com.armaan.kanban_api.maintenance.CardArchivalTask;
+import com.armaan.kanban_api.maintenance.MaintenanceJob;
+import com.armaan.kanban_api.maintenance.UnverifiedAccountPurgeTask;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Maintenance jobs on the clustered Quartz scheduler; Boot registers these job details and triggers
+ * in the shared JDBC job store. A firing missed while no instance was up is skipped, not replayed:
+ * each job resumes from its checkpoint at the next one anyway.
+ */
+@Configuration
+public class QuartzConfig {
+
+    private static final String GROUP = "maintenance";
+
+    @Bean
+    public JobDetail cardArchivalJob() {
+        return job(CardArchivalTask.NAME);
+    }
+
+    @Bean
+    public Trigger cardArchivalTrigger(@Value("${kanban.maintenance.card-archival.cron:0 15 3 * * ?}") String cron) {
+        return trigger(cardArchivalJob(), cron);
+    }
+
+    @Bean
+    public JobDetail unverifiedAccountPurgeJob() {
+        return job(UnverifiedAccountPurgeTask.NAME);
+    }
+
+    @Bean
+    public Trigger unverifiedAccountPurgeTrigger(@Value("${kanban.maintenance.unverified-purge.cron:0 45 3 * * ?}") String cron) {
+        return trigger(unverifiedAccountPurgeJob(), cron);
+    }
+
+    @Bean
+    public JobDetail boardCountersJob() {
+        return job(BoardCounterRebuildTask.NAME);
+    }
+
+    @Bean
+    public Trigger boardCountersTrigger(@Value("${kanban.maintenance.board-counters.cron:0 0 * * * ?}") String cron) {
+        return trigger(boardCountersJob(), cron);
+    }
+
+    private static JobDetail job(String task) {
+        return JobBuilder.newJob(MaintenanceJob.class)
+                .withIdentity(task, GROUP)
+                .usingJobData(MaintenanceJob.TASK, task)
+                .storeDurably()
+                // Re-run on another instance when the one running it dies
+                .requestRecovery()
+                .build();
+    }
+
+    private static Trigger trigger(JobDetail job, String cron) {
+        return TriggerBuilder.newTrigger()
+                .forJob(job)
+                .withIdentity(job.getKey().getName(), GROUP)
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron).withMisfireHandlingInstructionDoNothing())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.armaan.kanban_api.config;
+
+import com.armaan.kanban_api.realtime.BoundedSendWebSocketHandler;
+import com.armaan.kanban_api.security.StompAuthChannelInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
+
+/**
+ * STOMP over WebSocket at {@code /ws}. Clients authenticate in the CONNECT frame and subscribe to
+ * {@code /topic/boards/{boardId}}; they never send application messages.
+ * <p>
+ * Outbound messages are written by a dedicated pool of {@code kanban.realtime.send-threads}, so clients
+ * that stop reading can hold at most those threads, and only until {@code kanban.realtime.send-time-limit}.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthChannelInterceptor authChannelInterceptor;
+    private final MeterRegistry meterRegistry;
+    private final DataSize sendBufferSize;
+    private final Duration sendTimeLimit;
+    private final int sendThreads;
+    private final String[] allowedOrigins;
+
+    public WebSocketConfig(StompAuthChannelInterceptor authChannelInterceptor,
+                           MeterRegistry meterRegistry,
+                           @Value("${kanban.realtime.send-buffer-size:256KB}") DataSize sendBufferSize,
+                           @Value("${kanban.realtime.send-time-limit:PT10S}") Duration sendTimeLimit,
+                           @Value("${kanban.realtime.send-threads:8}") int sendThreads,
+                           @Value("${kanban.realtime.allowed-origins:}") String[] allowedOrigins) {
+        this.authChannelInterceptor = authChannelInterceptor;
+        this.meterRegistry = meterRegistry;
+        this.sendBufferSize = sendBufferSize;
+        this.sendTimeLimit = sendTimeLimit;
+        this.sendThreads = sendThreads;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    /**
+     * Runs the per-session drain tasks. A session queues at most one task at a time, so the queue is bounded
+     * by the number of sessions.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor webSocketSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sendThreads);
+        executor.setMaxPoolSize(sendThreads);
+        executor.setThreadNamePrefix("ws-send-");
+        return executor;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // None configured: same-origin handshakes only
+        registry.addEndpoint("/ws").setAllowedOriginPatterns(allowedOrigins);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(authChannelInterceptor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        Counter resyncs = Counter.builder("realtime.sessions.resync").register(meterRegistry);
+        Counter disconnects = Counter.builder("realtime.sessions.disconnected").tag("reason", "slow").register(meterRegistry);
+        TaskExecutor sendExecutor = webSocketSendExecutor();
+        registration.addDecoratorFactory(handler -> new BoundedSendWebSocketHandler(
+                handler, sendExecutor, (int) sendBufferSize.toBytes(), sendTimeLimit, resyncs, disconnects));
+    }
+}
@@ -0,0 +1,97 @@
+package com.armaan.kanban_api.controller;
+
+import com.armaan.kanban_api.analytics.ActivityHostedElsewhereException;
+import com.armaan.kanban_api.analytics.ActivityQueryService;
+import com.armaan.kanban_api.dto.response.ActivityBucketResponse;
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.exception.AnalyticsUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Activity counts served from the Kafka Streams window stores. A request for a key owned by another
+ * instance is forwarded there once, with the caller's credentials.
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+@Slf4j
+public class AnalyticsController {
+
+    static final String FORWARDED_HEADER = "X-Kanban-Forwarded";
+    private static final ParameterizedTypeReference<List<ActivityBucketResponse>> BUCKETS = new ParameterizedTypeReference<>() {
+    };
+
+    private final ActivityQueryService activityQueryService;
+    private final RestClient restClient;
+
+    public AnalyticsController(ActivityQueryService activityQueryService, RestClient.Builder restClientBuilder) {
+        this.activityQueryService = activityQueryService;
+        this.restClient = restClientBuilder.build();
+    }
+
+    @GetMapping("/users/me/logins")
+    public ResponseEntity<List<ActivityBucketResponse>> getLogins(Authentication authentication,
+                                                                  @RequestParam(defaultValue = "7") int days,
+                                                                  HttpServletRequest request) {
+        return ResponseEntity.ok(localOrForwarded(request,
+                () -> activityQueryService.loginsPerDay(userId(authentication), days)));
+    }
+
+    @GetMapping("/boards/{boardId}/card-moves")
+    public ResponseEntity<List<ActivityBucketResponse>> getCardMoves(Authentication authentication,
+                                                                     @PathVariable Long boardId,
+                                                                     @RequestParam(defaultValue = "24") int hours,
+                                                                     HttpServletRequest request) {
+        return ResponseEntity.ok(localOrForwarded(request,
+                () -> activityQueryService.cardMovesPerHour(userId(authentication), boardId, hours)));
+    }
+
+    @GetMapping("/boards/{boardId}/active-users")
+    public ResponseEntity<List<ActivityBucketResponse>> getActiveUsers(Authentication authentication,
+                                                                       @PathVariable Long boardId,
+                                                                       @RequestParam(defaultValue = "7") int days,
+                                                                       HttpServletRequest request) {
+        return ResponseEntity.ok(localOrForwarded(request,
+                () -> activityQueryService.activeUsersPerDay(userId(authentication), boardId, days)));
+    }
+
+    private List<ActivityBucketResponse> localOrForwarded(HttpServletRequest request,
+                                                          Supplier<List<ActivityBucketResponse>> query) {
+        try {
+            return query.get();
+        } catch (ActivityHostedElsewhereException e) {
+            if (request.getHeader(FORWARDED_HEADER) != null) {
+                // The owner moved again while the request was in flight
+                throw new AnalyticsUnavailableException("Activity analytics are rebalancing");
+            }
+            String uri = "http://" + e.getHost().host() + ":" + e.getHost().port() + request.getRequestURI()
+                    + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+            log.debug("Forwarding activity query to {}", uri);
+            try {
+                return restClient.get()
+                        .uri(uri)
+                        .header(HttpHeaders.AUTHORIZATION, request.getHeader(HttpHeaders.AUTHORIZATION))
+                        .header(FORWARDED_HEADER, "1")
+                        .retrieve()
+                        .body(BUCKETS);
+            } catch (RestClientException forwardFailed) {
+                log.warn("Forwarding activity query to {} failed: {}", uri, forwardFailed.getMessage());
+                throw new AnalyticsUnavailableException("Activity analytics are temporarily unavailable");
+            }
+        }
+    }
+
+    private static Long userId(Authentication authentication) {
+        return ((User) authentication.getPrincipal()).getId();
+    }
+}
@@ -3,11 +3,14 @@ package com.armaan.kanban_api.controller;
 import com.armaan.kanban_api.dto.response.ApiResponse;
 import com.armaan.kanban_api.dto.response.AuthResponse;
 import com.armaan.kanban_api.dto.request.LoginRequest;
+import com.armaan.kanban_api.dto.request.RefreshTokenRequest;
 import com.armaan.kanban_api.dto.request.RegisterRequest;
 import com.armaan.kanban_api.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,28 +25,38 @@ public class AuthController {
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        log.info("Registration request received for username: {}", request.getUsername());
+        log.debug("Registration request received for username: {}", request.getUsername());
 
         AuthResponse response = authService.register(request);
-        log.info("User registered successfully: {}", response.getUsername());
+        log.debug("User registered successfully: {}", response.getUsername());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        log.info("Login request received for: {}", request.getUsernameOrEmail());
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        log.debug("Login request received for: {}", request.getUsernameOrEmail());
 
-        AuthResponse response = authService.login(request);
-        log.info("User logged in successfully: {}", response.getUsername());
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
+        log.debug("User logged in successfully: {}", response.getUsername());
 
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse> logout() {
-        log.info("Logout request received");
-        // Placeholder: JWT is stateless, and it must be handled at client side.
+    public ResponseEntity<ApiResponse> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        log.debug("Logout request received");
+
+        String token = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authService.logout(token, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok(new ApiResponse(true, "Logged out successfully"));
     }
 }
\ No newline at end of file
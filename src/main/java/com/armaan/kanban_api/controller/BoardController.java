@@ -0,0 +1,124 @@
+package com.armaan.kanban_api.controller;
+
+import com.armaan.kanban_api.dto.request.*;
+import com.armaan.kanban_api.dto.response.*;
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.search.CardSearchService;
+import com.armaan.kanban_api.service.BoardService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/boards")
+@RequiredArgsConstructor
+@Slf4j
+public class BoardController {
+
+    private final BoardService boardService;
+    private final CardSearchService cardSearchService;
+
+    @GetMapping
+    public ResponseEntity<List<BoardResponse>> getBoards(Authentication authentication) {
+        return ResponseEntity.ok(boardService.getBoards(userId(authentication)));
+    }
+
+    @PostMapping
+    public ResponseEntity<BoardResponse> createBoard(Authentication authentication,
+                                                     @Valid @RequestBody CreateBoardRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(boardService.createBoard(userId(authentication), request));
+    }
+
+    @GetMapping("/{boardId}")
+    public ResponseEntity<BoardDetailResponse> getBoard(Authentication authentication, @PathVariable Long boardId) {
+        return ResponseEntity.ok(boardService.getBoard(userId(authentication), boardId));
+    }
+
+    @GetMapping("/{boardId}/search")
+    public ResponseEntity<CardSearchResponse> searchCards(Authentication authentication, @PathVariable Long boardId,
+                                                          @RequestParam("q") String query,
+                                                          @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(cardSearchService.search(userId(authentication), boardId, query, limit));
+    }
+
+    @DeleteMapping("/{boardId}")
+    public ResponseEntity<ApiResponse> deleteBoard(Authentication authentication, @PathVariable Long boardId) {
+        boardService.deleteBoard(userId(authentication), boardId);
+        return ResponseEntity.ok(new ApiResponse(true, "Board deleted"));
+    }
+
+    @PostMapping("/{boardId}/columns")
+    public ResponseEntity<ColumnResponse> createColumn(Authentication authentication, @PathVariable Long boardId,
+                                                       @Valid @RequestBody CreateColumnRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(boardService.createColumn(userId(authentication), boardId, request));
+    }
+
+    @PutMapping("/{boardId}/columns/{columnId}/position")
+    public ResponseEntity<ColumnResponse> moveColumn(Authentication authentication, @PathVariable Long boardId,
+                                                     @PathVariable Long columnId,
+                                                     @Valid @RequestBody MoveColumnRequest request) {
+        return ResponseEntity.ok(boardService.moveColumn(userId(authentication), boardId, columnId, request));
+    }
+
+    @DeleteMapping("/{boardId}/columns/{columnId}")
+    public ResponseEntity<ApiResponse> deleteColumn(Authentication authentication, @PathVariable Long boardId,
+                                                    @PathVariable Long columnId) {
+        boardService.deleteColumn(userId(authentication), boardId, columnId);
+        return ResponseEntity.ok(new ApiResponse(true, "Column deleted"));
+    }
+
+    @GetMapping("/{boardId}/columns/{columnId}/cards")
+    public ResponseEntity<CardPageResponse> getCards(Authentication authentication, @PathVariable Long boardId,
+                                                     @PathVariable Long columnId,
+                                                     @RequestParam(required = false) String after,
+                                                     @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(boardService.getCards(userId(authentication), boardId, columnId, after, limit));
+    }
+
+    @PostMapping("/{boardId}/columns/{columnId}/cards")
+    public ResponseEntity<CardResponse> createCard(Authentication authentication, @PathVariable Long boardId,
+                                                   @PathVariable Long columnId,
+                                                   @Valid @RequestBody CreateCardRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(boardService.createCard(userId(authentication), boardId, columnId, request));
+    }
+
+    @PostMapping("/{boardId}/cards/bulk")
+    public ResponseEntity<BulkCardResponse> bulkUpdateCards(Authentication authentication, @PathVariable Long boardId,
+                                                            @Valid @RequestBody BulkCardRequest request) {
+        return ResponseEntity.ok(boardService.bulkUpdateCards(userId(authentication), boardId, request));
+    }
+
+    @PatchMapping("/{boardId}/cards/{cardId}")
+    public ResponseEntity<CardResponse> updateCard(Authentication authentication, @PathVariable Long boardId,
+                                                   @PathVariable Long cardId,
+                                                   @Valid @RequestBody UpdateCardRequest request) {
+        return ResponseEntity.ok(boardService.updateCard(userId(authentication), boardId, cardId, request));
+    }
+
+    @PutMapping("/{boardId}/cards/{cardId}/position")
+    public ResponseEntity<CardResponse> moveCard(Authentication authentication, @PathVariable Long boardId,
+                                                 @PathVariable Long cardId,
+                                                 @Valid @RequestBody MoveCardRequest request) {
+        return ResponseEntity.ok(boardService.moveCard(userId(authentication), boardId, cardId, request));
+    }
+
+    @DeleteMapping("/{boardId}/cards/{cardId}")
+    public ResponseEntity<ApiResponse> deleteCard(Authentication authentication, @PathVariable Long boardId,
+                                                  @PathVariable Long cardId) {
+        boardService.deleteCard(userId(authentication), boardId, cardId);
+        return ResponseEntity.ok(new ApiResponse(true, "Card deleted"));
+    }
+
+    private static Long userId(Authentication authentication) {
+        return ((User) authentication.getPrincipal()).getId();
+    }
+}
@@ -1,15 +1,27 @@
 package com.armaan.kanban_api.controller;
 
+import com.armaan.kanban_api.dto.response.ApiResponse;
+import com.armaan.kanban_api.dto.response.BoardDetailResponse;
 import com.armaan.kanban_api.dto.response.UserProfileResponse;
 import com.armaan.kanban_api.entity.User;
 import com.armaan.kanban_api.service.AuthService;
+import com.armaan.kanban_api.service.BoardService;
+import com.armaan.kanban_api.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -18,21 +30,70 @@ import org.springframework.web.bind.annotation.RestController;
 public class KanbanController {
 
     private final AuthService authService;
+    private final BoardService boardService;
+    private final TokenVersionService tokenVersionService;
 
+    /**
+     * Answers {@code If-None-Match} with 304 from one primary-key read of the profile columns, so an
+     * unchanged profile costs no serialisation. Clients must revalidate on every poll ({@code no-cache}).
+     */
     @GetMapping("/user/profile")
-    public ResponseEntity<UserProfileResponse> getCurrentUser(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        log.info("Profile request for user: {}", user.getUsername());
+    public ResponseEntity<UserProfileResponse> getCurrentUser(Authentication authentication, WebRequest webRequest) {
+        User user = authService.getProfileUser((User) authentication.getPrincipal());
+        log.debug("Profile request for user: {}", user.getUsername());
+
+        String etag = profileETag(user);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(authService.getUserProfile(user));
+    }
+
+    // updatedAt changes with every profile edit; lastLoginAt is part of the response too
+    static String profileETag(User user) {
+        return "\"" + user.getId()
+                + "-" + epochMillis(user.getUpdatedAt())
+                + "-" + epochMillis(user.getLastLoginAt()) + "\"";
+    }
 
-        UserProfileResponse profile = authService.getUserProfile(user.getUsername());
-        return ResponseEntity.ok(profile);
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? 0 : time.toInstant(ZoneOffset.UTC).toEpochMilli();
     }
 
+    /**
+     * Every board of the user with its columns and the first page of each column's cards; further
+     * cards are read with {@code GET /api/v1/boards/{boardId}/columns/{columnId}/cards?after=<nextCursor>}.
+     */
     @GetMapping("/user/dashboard")
-    public ResponseEntity<String> dashboard(Authentication authentication) {
+    public ResponseEntity<List<BoardDetailResponse>> dashboard(Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        log.info("Dashboard access for user: {}", user.getUsername());
+        log.debug("Dashboard access for user: {}", user.getUsername());
 
-        return ResponseEntity.ok("Welcome to dashboard, " + user.getUsername() + "!");
+        return ResponseEntity.ok(boardService.getDashboard(user.getId()));
+    }
+
+    /**
+     * Signs the user out everywhere: bumps the token version, which every access and refresh token
+     * issued so far carries, so they are rejected on every node within the token version cache TTL.
+     */
+    @PostMapping("/user/sessions/revoke")
+    public ResponseEntity<ApiResponse> revokeSessions(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        tokenVersionService.revokeAllTokens(user.getId());
+        return ResponseEntity.ok(new ApiResponse(true, "All sessions revoked"));
+    }
+
+    /**
+     * Deactivates the user's own account and revokes its tokens the same way.
+     */
+    @DeleteMapping("/user")
+    public ResponseEntity<ApiResponse> deactivate(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        tokenVersionService.deactivateUser(user.getId());
+        return ResponseEntity.ok(new ApiResponse(true, "Account deactivated"));
     }
 }
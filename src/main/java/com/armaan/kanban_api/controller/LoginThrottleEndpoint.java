@@ -0,0 +1,33 @@
+package com.armaan.kanban_api.controller;
+
+import com.armaan.kanban_api.service.LoginThrottleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code loginthrottle} endpoint, exposed over JMX only: keys currently throttled on this node, e.g.
+ * {@code account:alice} or {@code ip:203.0.113.7}, and an {@code unblock} operation that lifts a throttle.
+ */
+@Component
+@Endpoint(id = "loginthrottle")
+@RequiredArgsConstructor
+public class LoginThrottleEndpoint {
+
+    private final LoginThrottleService loginThrottleService;
+
+    @ReadOperation
+    public List<LoginThrottleService.ThrottledKey> throttledKeys() {
+        return loginThrottleService.throttledKeys();
+    }
+
+    @DeleteOperation
+    public void unblock(@Selector String key) {
+        loginThrottleService.unblock(key);
+    }
+}
@@ -0,0 +1,35 @@
+package com.armaan.kanban_api.controller;
+
+import com.armaan.kanban_api.dto.response.ApiResponse;
+import com.armaan.kanban_api.service.UsernameAvailabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/public")
+@RequiredArgsConstructor
+@Slf4j
+public class PublicController {
+
+    private final UsernameAvailabilityService usernameAvailabilityService;
+
+    @GetMapping("/username-available")
+    public ResponseEntity<ApiResponse> usernameAvailable(@RequestParam String username) {
+        if (username.isBlank() || username.length() < 3 || username.length() > 50) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Username must be between 3 and 50 characters"));
+        }
+
+        boolean available = usernameAvailabilityService.isAvailable(username);
+        return ResponseEntity.ok(new ApiResponse(true,
+                available ? "Username is available" : "Username is already taken",
+                Map.of("username", username, "available", available)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.armaan.kanban_api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Card changes of one board applied in a single transaction, in the order creates, updates, moves,
+ * archives. New and moved cards are appended to the end of their column in the order given. Every
+ * list is optional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCardRequest {
+
+    public static final int MAX_ITEMS = 5000;
+
+    @Valid
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " cards can be created at once")
+    private List<@NotNull Create> create;
+
+    @Valid
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " cards can be updated at once")
+    private List<@NotNull Update> update;
+
+    @Valid
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " cards can be moved at once")
+    private List<@NotNull Move> move;
+
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " cards can be archived at once")
+    private List<@NotNull Long> archive;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Create {
+
+        @NotNull(message = "Column is required")
+        private Long columnId;
+
+        @NotBlank(message = "Card name is required")
+        @Size(max = 255, message = "Card name must not exceed 255 characters")
+        private String name;
+
+        private String description;
+
+        @Pattern(regexp = "low|medium|high|urgent", message = "Priority must be one of low, medium, high, urgent")
+        private String priority;
+
+        private LocalDateTime dueDate;
+    }
+
+    /**
+     * Partial update, only non-null fields are applied.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Update {
+
+        @NotNull(message = "Card is required")
+        private Long cardId;
+
+        @Size(min = 1, max = 255, message = "Card name must be between 1 and 255 characters")
+        private String name;
+
+        private String description;
+
+        @Pattern(regexp = "low|medium|high|urgent", message = "Priority must be one of low, medium, high, urgent")
+        private String priority;
+
+        private LocalDateTime dueDate;
+
+        private Boolean completed;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Move {
+
+        @NotNull(message = "Card is required")
+        private Long cardId;
+
+        @NotNull(message = "Target column is required")
+        private Long columnId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.armaan.kanban_api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateBoardRequest {
+
+    @NotBlank(message = "Board name is required")
+    @Size(max = 255, message = "Board name must not exceed 255 characters")
+    private String name;
+
+    private String description;
+
+    @Pattern(regexp = "^#[0-9a-fA-F]{6}$", message = "Background color must be a hex color like #0079bf")
+    private String backgroundColor;
+}
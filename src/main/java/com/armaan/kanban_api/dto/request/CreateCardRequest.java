@@ -0,0 +1,29 @@
+package com.armaan.kanban_api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateCardRequest {
+
+    @NotBlank(message = "Card name is required")
+    @Size(max = 255, message = "Card name must not exceed 255 characters")
+    private String name;
+
+    private String description;
+
+    @Pattern(regexp = "low|medium|high|urgent", message = "Priority must be one of low, medium, high, urgent")
+    private String priority;
+
+    private LocalDateTime dueDate;
+}
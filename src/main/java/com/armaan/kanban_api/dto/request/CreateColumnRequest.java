@@ -0,0 +1,19 @@
+package com.armaan.kanban_api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateColumnRequest {
+
+    @NotBlank(message = "Column name is required")
+    @Size(max = 255, message = "Column name must not exceed 255 characters")
+    private String name;
+}
@@ -0,0 +1,28 @@
+package com.armaan.kanban_api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Target column and the card's neighbours there after the move. Either neighbour may be omitted: no
+ * neighbours moves the card to the end of the column, a single neighbour places it right next to that one.
+ * With {@link #version} (as last read by the client) the move is rejected if the card changed since.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoveCardRequest {
+
+    @NotNull(message = "Target column is required")
+    private Long columnId;
+
+    private Long previousCardId;
+
+    private Long nextCardId;
+
+    private Long version;
+}
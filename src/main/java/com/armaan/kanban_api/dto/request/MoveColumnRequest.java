@@ -0,0 +1,19 @@
+package com.armaan.kanban_api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Target position given by the neighbours after the move. Either may be omitted: no neighbours
+ * moves the column to the end, a single neighbour places it right next to that one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoveColumnRequest {
+    private Long previousColumnId;
+    private Long nextColumnId;
+}
@@ -0,0 +1,32 @@
+package com.armaan.kanban_api.dto.request;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partial update, only non-null fields are applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateCardRequest {
+
+    @Size(min = 1, max = 255, message = "Card name must be between 1 and 255 characters")
+    private String name;
+
+    private String description;
+
+    @Pattern(regexp = "low|medium|high|urgent", message = "Priority must be one of low, medium, high, urgent")
+    private String priority;
+
+    private LocalDateTime dueDate;
+
+    private Boolean completed;
+}
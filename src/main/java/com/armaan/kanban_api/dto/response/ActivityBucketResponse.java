@@ -0,0 +1,19 @@
+package com.armaan.kanban_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityBucketResponse {
+    // Window start, inclusive; windows are whole UTC days or hours
+    private Instant start;
+    private Instant end;
+    private long count;
+}
@@ -0,0 +1,17 @@
+package com.armaan.kanban_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardDetailResponse {
+    private BoardResponse board;
+    private List<ColumnResponse> columns;
+}
@@ -0,0 +1,27 @@
+package com.armaan.kanban_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private String backgroundColor;
+    private Boolean isArchived;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    // As of countsRefreshedAt: recomputed periodically by the board-counters job, null before its first pass
+    private Integer cardCount;
+    private Integer completedCardCount;
+    private Integer archivedCardCount;
+    private LocalDateTime countsRefreshedAt;
+}
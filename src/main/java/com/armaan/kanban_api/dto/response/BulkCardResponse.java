@@ -0,0 +1,19 @@
+package com.armaan.kanban_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCardResponse {
+    private List<CardResponse> created;
+    private List<CardResponse> updated;
+    private List<CardResponse> moved;
+    private List<Long> archived;
+}
@@ -0,0 +1,18 @@
+package com.armaan.kanban_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardPageResponse {
+    private List<CardResponse> cards;
+    // Pass as "after" to get the next page; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.armaan.kanban_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardResponse {
+    private Long id;
+    private Long columnId;
+    private String name;
+    private String description;
+    // Sort key within the column; compare as plain strings
+    private String rank;
+    private String priority;
+    private LocalDateTime dueDate;
+    private Boolean isCompleted;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    // Send back with a move to have it applied only if nobody changed the card since
+    private Long version;
+}
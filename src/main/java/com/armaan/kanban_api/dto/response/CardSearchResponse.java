@@ -0,0 +1,19 @@
+package com.armaan.kanban_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardSearchResponse {
+    private String query;
+    // All matching cards; cards holds at most the requested limit, name matches first
+    private Integer total;
+    private List<CardSearchHitResponse> cards;
+}
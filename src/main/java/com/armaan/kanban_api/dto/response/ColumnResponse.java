@@ -0,0 +1,30 @@
+package com.armaan.kanban_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnResponse {
+    private Long id;
+    private Long boardId;
+    private String name;
+    // Sort key; clients order columns by comparing ranks as plain strings
+    private String rank;
+    // First page of cards; nextCursor continues it and is null when the column has no more cards
+    private List<CardResponse> cards;
+    private String nextCursor;
+
+    public ColumnResponse(Long id, Long boardId, String name, String rank) {
+        this.id = id;
+        this.boardId = boardId;
+        this.name = name;
+        this.rank = rank;
+    }
+}
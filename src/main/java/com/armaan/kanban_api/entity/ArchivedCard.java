@@ -0,0 +1,60 @@
+package com.armaan.kanban_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A card moved out of {@code cards} by the card-archival job, keeping its original id. Rows are
+ * written with plain JDBC; the mapping only defines the table.
+ */
+@Entity
+@Table(name = "cards_archive", indexes = @Index(name = "idx_cards_archive_board", columnList = "board_id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedCard {
+
+    @Id
+    private Long id;
+
+    // Denormalised: the column may be deleted after the card was archived
+    @Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    @Column(name = "list_id", nullable = false)
+    private Long columnId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "rank_key", nullable = false)
+    private String rankKey;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "is_completed")
+    private Boolean isCompleted;
+
+    @Column(length = 10)
+    private String priority;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
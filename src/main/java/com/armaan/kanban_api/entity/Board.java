@@ -0,0 +1,62 @@
+package com.armaan.kanban_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "boards", indexes = @Index(name = "idx_boards_owner", columnList = "owner_id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Board {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boards_id_seq")
+    @SequenceGenerator(name = "boards_id_seq", sequenceName = "boards_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    // Plain foreign key: board operations only ever need the owner's id
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "background_color", length = 7)
+    @Builder.Default
+    private String backgroundColor = "#0079bf";
+
+    @Column(name = "is_archived")
+    @Builder.Default
+    private Boolean isArchived = false;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,63 @@
+package com.armaan.kanban_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+/**
+ * A column of a board, stored in the {@code lists} table. Columns are ordered by {@link #rankKey}.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "lists", indexes = @Index(name = "idx_lists_position", columnList = "board_id, rank_key"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardColumn {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lists_id_seq")
+    @SequenceGenerator(name = "lists_id_seq", sequenceName = "lists_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Lexicographic rank, see RankKey; compared byte-wise (COLLATE "C")
+    @Column(name = "rank_key", nullable = false)
+    private String rankKey;
+
+    @Column(name = "is_archived")
+    @Builder.Default
+    private Boolean isArchived = false;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
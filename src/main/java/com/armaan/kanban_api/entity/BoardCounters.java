@@ -0,0 +1,39 @@
+package com.armaan.kanban_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card and column counts of one board as of {@link #refreshedAt}. The board-counters job recomputes
+ * them periodically; they are not updated by individual changes.
+ */
+@Entity
+@Table(name = "board_counters")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardCounters {
+
+    @Id
+    @Column(name = "board_id")
+    private Long boardId;
+
+    @Column(name = "column_count", nullable = false)
+    private Integer columnCount;
+
+    @Column(name = "card_count", nullable = false)
+    private Integer cardCount;
+
+    @Column(name = "completed_card_count", nullable = false)
+    private Integer completedCardCount;
+
+    @Column(name = "archived_card_count", nullable = false)
+    private Integer archivedCardCount;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
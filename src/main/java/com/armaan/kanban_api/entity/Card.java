@@ -0,0 +1,89 @@
+package com.armaan.kanban_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+/**
+ * A card in a column. Cards are ordered within their column by {@link #rankKey}, so moving a card
+ * only rewrites its own row; {@link DynamicUpdate} limits edits to the changed columns. No two cards
+ * of a column share a rank key ({@link #POSITION_CONSTRAINT}), which lets concurrent moves into the
+ * same gap run without locks: only one of them can commit.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "cards", uniqueConstraints = @UniqueConstraint(name = Card.POSITION_CONSTRAINT,
+        columnNames = {"list_id", "rank_key"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Card {
+
+    public static final String POSITION_CONSTRAINT = "uk_cards_position";
+
+    // Pooled: one sequence call hands out 50 ids, so new cards can be inserted in JDBC batches
+    // (IDENTITY would need the generated key of every row before the next insert)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_id_seq")
+    @SequenceGenerator(name = "cards_id_seq", sequenceName = "cards_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "list_id", nullable = false)
+    private Long columnId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "rank_key", nullable = false)
+    private String rankKey;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "is_completed")
+    @Builder.Default
+    private Boolean isCompleted = false;
+
+    // One of low, medium, high, urgent (checked by the database)
+    @Column(length = 10)
+    @Builder.Default
+    private String priority = "medium";
+
+    @Column(name = "is_archived")
+    @Builder.Default
+    private Boolean isArchived = false;
+
+    // Optimistic concurrency: every write of the row increments it
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,31 @@
+package com.armaan.kanban_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last id a maintenance job finished, so an interrupted run resumes after it. Written with plain
+ * JDBC in the same transaction as each chunk; the mapping only defines the table.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    // 0 when the last pass completed: the next run starts from the beginning
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
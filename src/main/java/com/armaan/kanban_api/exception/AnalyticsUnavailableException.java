@@ -0,0 +1,7 @@
+package com.armaan.kanban_api.exception;
+
+public class AnalyticsUnavailableException extends RuntimeException {
+    public AnalyticsUnavailableException(String message) {
+        super(message);
+    }
+}
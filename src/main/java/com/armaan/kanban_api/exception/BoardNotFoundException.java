@@ -0,0 +1,7 @@
+package com.armaan.kanban_api.exception;
+
+public class BoardNotFoundException extends RuntimeException {
+    public BoardNotFoundException(Long id) {
+        super("Board not found: " + id);
+    }
+}
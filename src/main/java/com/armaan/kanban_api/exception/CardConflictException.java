@@ -0,0 +1,20 @@
+package com.armaan.kanban_api.exception;
+
+import com.armaan.kanban_api.dto.response.CardResponse;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A card change lost against a concurrent one. Carries the current state of the cards involved, so
+ * the client can redo the change without reloading the board.
+ */
+@Getter
+public class CardConflictException extends RuntimeException {
+    private final List<CardResponse> cards;
+
+    public CardConflictException(String message, List<CardResponse> cards) {
+        super(message);
+        this.cards = cards;
+    }
+}
@@ -0,0 +1,7 @@
+package com.armaan.kanban_api.exception;
+
+public class CardNotFoundException extends RuntimeException {
+    public CardNotFoundException(Long id) {
+        super("Card not found: " + id);
+    }
+}
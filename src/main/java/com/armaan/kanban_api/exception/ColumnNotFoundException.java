@@ -0,0 +1,7 @@
+package com.armaan.kanban_api.exception;
+
+public class ColumnNotFoundException extends RuntimeException {
+    public ColumnNotFoundException(Long id) {
+        super("Column not found: " + id);
+    }
+}
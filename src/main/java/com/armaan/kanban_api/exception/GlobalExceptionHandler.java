@@ -1,9 +1,15 @@
 package com.armaan.kanban_api.exception;
 
+import com.armaan.kanban_api.dto.response.CardConflictResponse;
 import com.armaan.kanban_api.dto.response.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
@@ -20,12 +26,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleUserAlreadyExists(
             UserAlreadyExistsException ex, WebRequest request) {
+        countError("user_already_exists");
         log.warn("User already exists: {}", ex.getMessage());
 
         ErrorResponse errorResponse = new ErrorResponse(
@@ -42,6 +52,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({BadCredentialsException.class, InvalidCredentialsException.class})
     public ResponseEntity<ErrorResponse> handleBadCredentials(
             RuntimeException ex, WebRequest request) {
+        countError("bad_credentials");
         log.warn("Authentication failed: {}", ex.getMessage());
 
         ErrorResponse errorResponse = new ErrorResponse(
@@ -58,6 +69,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({UsernameNotFoundException.class, UserNotFoundException.class})
     public ResponseEntity<ErrorResponse> handleUserNotFound(
             RuntimeException ex, WebRequest request) {
+        countError("user_not_found");
         log.warn("User not found: {}", ex.getMessage());
 
         ErrorResponse errorResponse = new ErrorResponse(
@@ -71,9 +83,96 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler({BoardNotFoundException.class, ColumnNotFoundException.class, CardNotFoundException.class})
+    public ResponseEntity<ErrorResponse> handleBoardItemNotFound(
+            RuntimeException ex, WebRequest request) {
+        countError("not_found");
+        log.debug("Not found: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(
+            InvalidCursorException ex, WebRequest request) {
+        countError("invalid_cursor");
+        log.debug("Invalid cursor: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Cursor",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidMoveException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidMove(
+            InvalidMoveException ex, WebRequest request) {
+        countError("invalid_move");
+        log.debug("Invalid move: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Move",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(CardConflictException.class)
+    public ResponseEntity<CardConflictResponse> handleCardConflict(
+            CardConflictException ex, WebRequest request) {
+        countError("card_conflict");
+        log.debug("Card conflict: {}", ex.getMessage());
+
+        CardConflictResponse conflictResponse = new CardConflictResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", ""),
+                ex.getCards()
+        );
+
+        return new ResponseEntity<>(conflictResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        countError("optimistic_lock");
+        log.debug("Concurrent modification: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "The item was changed concurrently. Please reload and retry.",
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(DisabledException.class)
     public ResponseEntity<ErrorResponse> handleAccountDisabled(
             DisabledException ex, WebRequest request) {
+        countError("account_disabled");
         log.warn("Account disabled: {}", ex.getMessage());
 
         ErrorResponse errorResponse = new ErrorResponse(
@@ -90,6 +189,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(LockedException.class)
     public ResponseEntity<ErrorResponse> handleAccountLocked(
             LockedException ex, WebRequest request) {
+        countError("account_locked");
         log.warn("Account locked: {}", ex.getMessage());
 
         ErrorResponse errorResponse = new ErrorResponse(
@@ -106,6 +206,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(InvalidTokenException.class)
     public ResponseEntity<ErrorResponse> handleInvalidToken(
             InvalidTokenException ex, WebRequest request) {
+        countError("invalid_token");
         log.warn("Invalid token: {}", ex.getMessage());
 
         ErrorResponse errorResponse = new ErrorResponse(
@@ -119,9 +220,86 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailable(
+            PasswordHashingUnavailableException ex, WebRequest request) {
+        countError("password_hashing_unavailable");
+        log.warn("Password hashing unavailable: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Too many authentication requests. Please retry shortly.",
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(RevocationUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleRevocationUnavailable(
+            RevocationUnavailableException ex, WebRequest request) {
+        countError("revocation_unavailable");
+        log.warn("Revocation unavailable: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Logout could not be completed. Please retry.",
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(AnalyticsUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleAnalyticsUnavailable(
+            AnalyticsUnavailableException ex, WebRequest request) {
+        countError("analytics_unavailable");
+        log.debug("Analytics unavailable: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttempts(
+            TooManyLoginAttemptsException ex, WebRequest request) {
+        countError("too_many_login_attempts");
+        log.debug("Login throttled: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Too many failed login attempts. Please retry later.",
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationErrors(
             MethodArgumentNotValidException ex, WebRequest request) {
+        countError("validation_failed");
         log.warn("Validation error: {}", ex.getMessage());
 
         BindingResult bindingResult = ex.getBindingResult();
@@ -146,6 +324,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, WebRequest request) {
+        countError("unexpected");
         log.error("Unexpected error occurred: ", ex);
 
         ErrorResponse errorResponse = new ErrorResponse(
@@ -158,4 +337,9 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-}
\ No newline at end of file
+
+    // One counter per handler branch, so the tag set stays fixed
+    private void countError(String type) {
+        Counter.builder("api.errors").tag("type", type).register(meterRegistry).increment();
+    }
+}
@@ -0,0 +1,7 @@
+package com.armaan.kanban_api.exception;
+
+public class InvalidMoveException extends RuntimeException {
+    public InvalidMoveException(String message) {
+        super(message);
+    }
+}
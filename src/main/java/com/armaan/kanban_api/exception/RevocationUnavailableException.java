@@ -0,0 +1,7 @@
+package com.armaan.kanban_api.exception;
+
+public class RevocationUnavailableException extends RuntimeException {
+    public RevocationUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
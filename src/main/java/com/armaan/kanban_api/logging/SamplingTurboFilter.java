@@ -0,0 +1,66 @@
+package com.armaan.kanban_api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every N events below WARN for the configured loggers and drops the rest before the
+ * message is formatted. Configured as {@code logger.prefix=N} pairs separated by commas; the longest
+ * matching prefix wins. WARN and ERROR are never sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final Sampler UNSAMPLED = new Sampler(1);
+
+    private final Map<String, Integer> rates = new LinkedHashMap<>();
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    public void setSamples(String samples) {
+        rates.clear();
+        for (String entry : samples.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                rates.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks, which must not consume a sample
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(), this::samplerFor);
+        return sampler.sample() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Sampler samplerFor(String loggerName) {
+        return rates.entrySet().stream()
+                .filter(rate -> loggerName.startsWith(rate.getKey()))
+                .max(Comparator.comparingInt(rate -> rate.getKey().length()))
+                .filter(rate -> rate.getValue() > 1)
+                .map(rate -> new Sampler(rate.getValue()))
+                .orElse(UNSAMPLED);
+    }
+
+    private record Sampler(int everyN, AtomicLong counter) {
+
+        Sampler(int everyN) {
+            this(everyN, new AtomicLong());
+        }
+
+        boolean sample() {
+            return everyN <= 1 || counter.getAndIncrement() % everyN == 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.armaan.kanban_api.maintenance;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recomputes {@code board_counters} for every board. Counting takes no locks; only the counter rows
+ * of the current chunk are written. Rows of boards deleted since are removed as their window passes.
+ * Archived cards are those moved to {@code cards_archive} plus those archived in place by a bulk request.
+ */
+@Component
+public class BoardCounterRebuildTask implements MaintenanceTask {
+
+    public static final String NAME = "board-counters";
+
+    private static final String COUNT_SQL = """
+            SELECT b.id,
+                   (SELECT COUNT(*) FROM lists l WHERE l.board_id = b.id) AS column_count,
+                   (SELECT COUNT(*) FROM cards c JOIN lists l ON l.id = c.list_id
+                    WHERE l.board_id = b.id AND c.is_archived IS NOT TRUE) AS card_count,
+                   (SELECT COUNT(*) FROM cards c JOIN lists l ON l.id = c.list_id
+                    WHERE l.board_id = b.id AND c.is_completed = true AND c.is_archived IS NOT TRUE) AS completed_card_count,
+                   (SELECT COUNT(*) FROM cards_archive a WHERE a.board_id = b.id)
+                   + (SELECT COUNT(*) FROM cards c JOIN lists l ON l.id = c.list_id
+                      WHERE l.board_id = b.id AND c.is_archived = true) AS archived_card_count
+            FROM boards b
+            WHERE b.id > ? AND b.id <= ?
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE board_counters
+            SET column_count = ?, card_count = ?, completed_card_count = ?, archived_card_count = ?, refreshed_at = ?
+            WHERE board_id = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO board_counters
+                (column_count, card_count, completed_card_count, archived_card_count, refreshed_at, board_id)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM board_counters bc
+            WHERE bc.board_id > ? AND bc.board_id <= ? AND NOT EXISTS (SELECT 1 FROM boards b WHERE b.id = bc.board_id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BoardCounterRebuildTask(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Long processChunk(long afterId, int chunkSize) {
+        Long windowEnd = ChunkedJobRunner.windowEnd(jdbcTemplate, "boards", afterId, chunkSize);
+        if (windowEnd == null) {
+            jdbcTemplate.update(DELETE_STALE_SQL, afterId, Long.MAX_VALUE);
+            return null;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = jdbcTemplate.query(COUNT_SQL, (rs, rowNum) -> new Object[]{
+                rs.getInt("column_count"), rs.getInt("card_count"), rs.getInt("completed_card_count"),
+                rs.getInt("archived_card_count"), now, rs.getLong("id")}, afterId, windowEnd);
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing);
+        }
+        jdbcTemplate.update(DELETE_STALE_SQL, afterId, windowEnd);
+        return windowEnd;
+    }
+}
@@ -0,0 +1,135 @@
+package com.armaan.kanban_api.maintenance;
+
+import com.armaan.kanban_api.cache.BoardSnapshotCache;
+import com.armaan.kanban_api.entity.OutboxEvent;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.realtime.BoardUpdateBroadcaster;
+import com.armaan.kanban_api.search.CardSearchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves cards not updated for {@code inactive-for} into {@code cards_archive}. Candidate rows are
+ * locked with {@code SKIP LOCKED}, so a card being edited right now is left for the next pass instead
+ * of making the job wait. Cards with comments or attachments stay put: those tables have no archive
+ * and would lose rows through their cascading foreign keys.
+ */
+@Component
+public class CardArchivalTask implements MaintenanceTask {
+
+    public static final String NAME = "card-archival";
+
+    private static final String SELECT_SQL = """
+            SELECT c.id FROM cards c
+            WHERE c.id > ? AND c.id <= ? AND c.updated_at < ?
+              AND NOT EXISTS (SELECT 1 FROM card_comments cc WHERE cc.card_id = c.id)
+              AND NOT EXISTS (SELECT 1 FROM card_attachments ca WHERE ca.card_id = c.id)
+            ORDER BY c.id
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String BOARDS_SQL = """
+            SELECT c.id AS card_id, c.list_id, l.board_id
+            FROM cards c JOIN lists l ON l.id = c.list_id
+            WHERE c.id IN (:ids)
+            """;
+
+    private static final String COPY_SQL = """
+            INSERT INTO cards_archive (id, board_id, list_id, name, description, rank_key, due_date,
+                                       is_completed, priority, created_at, updated_at, completed_at, archived_at)
+            SELECT c.id, l.board_id, c.list_id, c.name, c.description, c.rank_key, c.due_date,
+                   c.is_completed, c.priority, c.created_at, c.updated_at, c.completed_at, :archivedAt
+            FROM cards c JOIN lists l ON l.id = c.list_id
+            WHERE c.id IN (:ids)
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM cards WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final OutboxService outboxService;
+    private final BoardSnapshotCache boardSnapshots;
+    private final BoardUpdateBroadcaster boardUpdates;
+    private final CardSearchService cardSearch;
+    private final Duration inactiveFor;
+    private final Counter archived;
+
+    public CardArchivalTask(JdbcTemplate jdbcTemplate,
+                            NamedParameterJdbcTemplate namedJdbcTemplate,
+                            OutboxService outboxService,
+                            BoardSnapshotCache boardSnapshots,
+                            BoardUpdateBroadcaster boardUpdates,
+                            CardSearchService cardSearch,
+                            MeterRegistry meterRegistry,
+                            @Value("${kanban.maintenance.card-archival.inactive-for:P180D}") Duration inactiveFor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.outboxService = outboxService;
+        this.boardSnapshots = boardSnapshots;
+        this.boardUpdates = boardUpdates;
+        this.cardSearch = cardSearch;
+        this.inactiveFor = inactiveFor;
+        this.archived = Counter.builder("maintenance.cards.archived").register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Long processChunk(long afterId, int chunkSize) {
+        Long windowEnd = ChunkedJobRunner.windowEnd(jdbcTemplate, "cards", afterId, chunkSize);
+        if (windowEnd == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_SQL, Long.class,
+                afterId, windowEnd, Timestamp.valueOf(now.minus(inactiveFor)));
+        if (!ids.isEmpty()) {
+            archive(ids, now);
+        }
+        return windowEnd;
+    }
+
+    private void archive(List<Long> ids, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(now));
+        List<Map<String, Object>> cards = namedJdbcTemplate.queryForList(BOARDS_SQL, params);
+        namedJdbcTemplate.update(COPY_SQL, params);
+        namedJdbcTemplate.update(DELETE_SQL, params);
+
+        List<OutboxEvent> events = new ArrayList<>(cards.size());
+        Map<Long, List<Long>> cardsByBoard = new LinkedHashMap<>();
+        for (Map<String, Object> card : cards) {
+            Long boardId = ((Number) card.get("board_id")).longValue();
+            Long columnId = ((Number) card.get("list_id")).longValue();
+            Long cardId = ((Number) card.get("card_id")).longValue();
+            cardsByBoard.computeIfAbsent(boardId, id -> new ArrayList<>()).add(cardId);
+            events.add(outboxService.event(DomainEvents.BOARD, boardId, DomainEvents.CARD_ARCHIVED,
+                    DomainEvents.BoardEvent.card(null, columnId, cardId), now));
+        }
+        outboxService.appendAll(events);
+        // All run after commit; subscribers reload instead of receiving one delta per card
+        cardsByBoard.forEach((boardId, cardIds) -> {
+            boardSnapshots.invalidate(boardId);
+            cardSearch.cardsRemoved(boardId, cardIds);
+            boardUpdates.resync(boardId);
+        });
+        archived.increment(cards.size());
+    }
+}
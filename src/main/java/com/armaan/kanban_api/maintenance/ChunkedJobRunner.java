@@ -0,0 +1,125 @@
+package com.armaan.kanban_api.maintenance;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs a {@link MaintenanceTask} in keyset chunks, starting after the job's checkpoint. Each chunk
+ * is one transaction with a timeout, and its checkpoint is written in that transaction, so a crash or
+ * a stop loses at most the chunk in progress. The runner pauses between chunks to leave the database
+ * to requests, and stops once {@code max-run-time} has passed; the next run continues from the
+ * checkpoint. A completed pass resets the checkpoint to the beginning.
+ */
+@Component
+@Slf4j
+public class ChunkedJobRunner {
+
+    private static final String LOAD_SQL = "SELECT last_id FROM job_checkpoints WHERE job_name = ?";
+    private static final String UPDATE_SQL = "UPDATE job_checkpoints SET last_id = ?, updated_at = ? WHERE job_name = ?";
+    private static final String INSERT_SQL = "INSERT INTO job_checkpoints (last_id, updated_at, job_name) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final Duration maxRunTime;
+
+    public ChunkedJobRunner(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${kanban.maintenance.chunk-size:500}") int chunkSize,
+                            @Value("${kanban.maintenance.chunk-pause:PT0.2S}") Duration chunkPause,
+                            @Value("${kanban.maintenance.max-run-time:PT15M}") Duration maxRunTime,
+                            @Value("${kanban.maintenance.transaction-timeout:PT10S}") Duration transactionTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout(Math.toIntExact(Math.max(1, transactionTimeout.toSeconds())));
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+        this.maxRunTime = maxRunTime;
+    }
+
+    /**
+     * How a run ended: {@code passCompleted} is false when it stopped early and will resume.
+     */
+    public record Result(int chunks, boolean passCompleted) {
+    }
+
+    public Result run(MaintenanceTask task, BooleanSupplier stopRequested) {
+        Timer chunkTimer = Timer.builder("maintenance.chunk").tag("job", task.name()).register(meterRegistry);
+        long deadline = System.nanoTime() + maxRunTime.toNanos();
+        long afterId = checkpoint(task.name());
+        int chunks = 0;
+
+        while (!stopRequested.getAsBoolean() && deadline - System.nanoTime() > 0) {
+            long from = afterId;
+            Long lastId = chunkTimer.record(() -> transactionTemplate.execute(status -> {
+                Long last = task.processChunk(from, chunkSize);
+                saveCheckpoint(task.name(), last == null ? 0 : last);
+                return last;
+            }));
+            if (lastId == null) {
+                log.info("{}: pass completed after {} chunks", task.name(), chunks);
+                return new Result(chunks, true);
+            }
+            chunks++;
+            afterId = lastId;
+            if (!pause()) {
+                break;
+            }
+        }
+        log.info("{}: stopped after {} chunks at id {}, the next run resumes there", task.name(), chunks, afterId);
+        return new Result(chunks, false);
+    }
+
+    /**
+     * Upper end of the next keyset window of {@code table}: the id {@code chunkSize} rows after
+     * {@code afterId}, or the last id when fewer remain. {@code null} when there are no rows after it.
+     * Tasks filter within the window, so a chunk never scans far for matching rows.
+     */
+    public static Long windowEnd(JdbcTemplate jdbcTemplate, String table, long afterId, int chunkSize) {
+        return jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM (SELECT id FROM " + table + " WHERE id > ? ORDER BY id LIMIT ?) w",
+                Long.class, afterId, chunkSize);
+    }
+
+    long checkpoint(String jobName) {
+        List<Long> lastIds = jdbcTemplate.queryForList(LOAD_SQL, Long.class, jobName);
+        return lastIds.isEmpty() ? 0 : lastIds.getFirst();
+    }
+
+    private void saveCheckpoint(String jobName, long lastId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Only one node runs a job at a time, so update-then-insert cannot race
+        if (jdbcTemplate.update(UPDATE_SQL, lastId, now, jobName) == 0) {
+            jdbcTemplate.update(INSERT_SQL, lastId, now, jobName);
+        }
+    }
+
+    private boolean pause() {
+        if (chunkPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
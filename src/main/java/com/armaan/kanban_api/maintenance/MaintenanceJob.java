@@ -0,0 +1,56 @@
+package com.armaan.kanban_api.maintenance;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.InterruptableJob;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+import java.util.List;
+
+/**
+ * Quartz job running the {@link MaintenanceTask} named by the {@value #TASK} job data entry. With the
+ * clustered JDBC job store each firing runs on one node only, and {@link DisallowConcurrentExecution}
+ * keeps a slow run from overlapping the next firing anywhere in the cluster. An interrupt (e.g. on
+ * shutdown) stops the run after the current chunk.
+ */
+@DisallowConcurrentExecution
+@Slf4j
+public class MaintenanceJob extends QuartzJobBean implements InterruptableJob {
+
+    public static final String TASK = "task";
+
+    private final ChunkedJobRunner runner;
+    private final List<MaintenanceTask> tasks;
+    private volatile boolean interrupted;
+
+    // Bound from the job data map
+    @Setter
+    private String task;
+
+    public MaintenanceJob(ChunkedJobRunner runner, List<MaintenanceTask> tasks) {
+        this.runner = runner;
+        this.tasks = tasks;
+    }
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        MaintenanceTask maintenanceTask = tasks.stream()
+                .filter(candidate -> candidate.name().equals(task))
+                .findFirst()
+                .orElseThrow(() -> new JobExecutionException("Unknown maintenance task " + task));
+        try {
+            runner.run(maintenanceTask, () -> interrupted);
+        } catch (RuntimeException e) {
+            log.warn("{} failed, the next run resumes from its checkpoint: {}", task, e.getMessage());
+            throw new JobExecutionException(e);
+        }
+    }
+
+    @Override
+    public void interrupt() {
+        interrupted = true;
+    }
+}
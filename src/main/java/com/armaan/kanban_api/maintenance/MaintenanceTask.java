@@ -0,0 +1,22 @@
+package com.armaan.kanban_api.maintenance;
+
+/**
+ * Work done by a maintenance job, one keyset chunk at a time. {@link ChunkedJobRunner} calls
+ * {@link #processChunk(long, int)} in a short transaction of its own and records the returned id as
+ * the job's checkpoint in that same transaction.
+ */
+public interface MaintenanceTask {
+
+    /**
+     * Job name; also the checkpoint key.
+     */
+    String name();
+
+    /**
+     * Processes at most {@code chunkSize} rows with ids after {@code afterId}.
+     *
+     * @return the last id covered by this chunk, or {@code null} when there are no rows after
+     * {@code afterId} and the pass is complete
+     */
+    Long processChunk(long afterId, int chunkSize);
+}
@@ -0,0 +1,124 @@
+package com.armaan.kanban_api.maintenance;
+
+import com.armaan.kanban_api.cache.BoardSnapshotCache;
+import com.armaan.kanban_api.cache.UserDetailsCache;
+import com.armaan.kanban_api.entity.OutboxEvent;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.realtime.BoardUpdateBroadcaster;
+import com.armaan.kanban_api.search.CardSearchService;
+import com.armaan.kanban_api.service.UsernameAvailabilityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes accounts that never verified their email within {@code grace-period} of registering,
+ * together with their boards. Rows locked by a concurrent request (e.g. the user verifying right
+ * now) are skipped rather than waited for. Caches and the username index are updated after commit.
+ */
+@Component
+public class UnverifiedAccountPurgeTask implements MaintenanceTask {
+
+    public static final String NAME = "unverified-account-purge";
+
+    private static final String SELECT_SQL = """
+            SELECT id, username, email FROM users
+            WHERE id > ? AND id <= ? AND COALESCE(email_verified, false) = false AND created_at < ?
+            ORDER BY id
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final OutboxService outboxService;
+    private final UserDetailsCache userDetailsCache;
+    private final UsernameAvailabilityService usernameAvailability;
+    private final BoardSnapshotCache boardSnapshots;
+    private final BoardUpdateBroadcaster boardUpdates;
+    private final CardSearchService cardSearch;
+    private final Duration gracePeriod;
+    private final Counter purged;
+
+    public UnverifiedAccountPurgeTask(JdbcTemplate jdbcTemplate,
+                                      NamedParameterJdbcTemplate namedJdbcTemplate,
+                                      OutboxService outboxService,
+                                      UserDetailsCache userDetailsCache,
+                                      UsernameAvailabilityService usernameAvailability,
+                                      BoardSnapshotCache boardSnapshots,
+                                      BoardUpdateBroadcaster boardUpdates,
+                                      CardSearchService cardSearch,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${kanban.maintenance.unverified-purge.grace-period:P30D}") Duration gracePeriod) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.outboxService = outboxService;
+        this.userDetailsCache = userDetailsCache;
+        this.usernameAvailability = usernameAvailability;
+        this.boardSnapshots = boardSnapshots;
+        this.boardUpdates = boardUpdates;
+        this.cardSearch = cardSearch;
+        this.gracePeriod = gracePeriod;
+        this.purged = Counter.builder("maintenance.users.purged").register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Long processChunk(long afterId, int chunkSize) {
+        Long windowEnd = ChunkedJobRunner.windowEnd(jdbcTemplate, "users", afterId, chunkSize);
+        if (windowEnd == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> users = jdbcTemplate.queryForList(SELECT_SQL,
+                afterId, windowEnd, Timestamp.valueOf(now.minus(gracePeriod)));
+        if (!users.isEmpty()) {
+            purge(users, now);
+        }
+        return windowEnd;
+    }
+
+    private void purge(List<Map<String, Object>> users, LocalDateTime now) {
+        List<Long> userIds = users.stream().map(user -> ((Number) user.get("id")).longValue()).toList();
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", userIds);
+        List<Long> boardIds = namedJdbcTemplate.queryForList(
+                "SELECT id FROM boards WHERE owner_id IN (:ids)", params, Long.class);
+        // Columns and cards follow through the boards' cascading foreign keys
+        namedJdbcTemplate.update("DELETE FROM boards WHERE owner_id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM users WHERE id IN (:ids)", params);
+
+        List<OutboxEvent> events = new ArrayList<>(boardIds.size() + users.size());
+        for (Long boardId : boardIds) {
+            events.add(outboxService.event(DomainEvents.BOARD, boardId, DomainEvents.BOARD_DELETED,
+                    DomainEvents.BoardEvent.board(null), now));
+            boardSnapshots.invalidate(boardId);
+            cardSearch.boardDeleted(boardId);
+            boardUpdates.boardDeleted(boardId);
+        }
+        for (Map<String, Object> user : users) {
+            Long userId = ((Number) user.get("id")).longValue();
+            String username = (String) user.get("username");
+            events.add(outboxService.event(DomainEvents.USER, userId, DomainEvents.USER_PURGED,
+                    new DomainEvents.UserEvent(userId, username), now));
+            userDetailsCache.evict(username, (String) user.get("email"));
+            usernameAvailability.markReleased(username);
+        }
+        outboxService.appendAll(events);
+        purged.increment(users.size());
+    }
+}
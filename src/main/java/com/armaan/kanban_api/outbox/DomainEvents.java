@@ -0,0 +1,60 @@
+package com.armaan.kanban_api.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Event types and payloads published to Kafka. Payloads are small and carry ids rather than full
+ * entities; consumers that need more read it through the API.
+ */
+public final class DomainEvents {
+
+    public static final String USER = "user";
+    public static final String BOARD = "board";
+
+    public static final String USER_REGISTERED = "user.registered";
+    public static final String USER_LOGGED_IN = "user.logged_in";
+    public static final String USER_SESSIONS_REVOKED = "user.sessions_revoked";
+    public static final String USER_DEACTIVATED = "user.deactivated";
+    public static final String USER_PURGED = "user.purged";
+
+    public static final String BOARD_CREATED = "board.created";
+    public static final String BOARD_DELETED = "board.deleted";
+    public static final String COLUMN_CREATED = "column.created";
+    public static final String COLUMN_MOVED = "column.moved";
+    public static final String COLUMN_DELETED = "column.deleted";
+    public static final String CARD_CREATED = "card.created";
+    public static final String CARD_UPDATED = "card.updated";
+    public static final String CARD_MOVED = "card.moved";
+    public static final String CARD_DELETED = "card.deleted";
+    public static final String CARD_ARCHIVED = "card.archived";
+
+    private DomainEvents() {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record UserEvent(Long userId, String username) {
+    }
+
+    /**
+     * Any board change; {@code actorId} is the user who made it, null for maintenance jobs.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record BoardEvent(Long actorId, Long columnId, Long cardId, Long fromColumnId, String rank) {
+
+        public static BoardEvent board(Long actorId) {
+            return new BoardEvent(actorId, null, null, null, null);
+        }
+
+        public static BoardEvent column(Long actorId, Long columnId, String rank) {
+            return new BoardEvent(actorId, columnId, null, null, rank);
+        }
+
+        public static BoardEvent card(Long actorId, Long columnId, Long cardId) {
+            return new BoardEvent(actorId, columnId, cardId, null, null);
+        }
+
+        public static BoardEvent cardMoved(Long actorId, Long fromColumnId, Long columnId, Long cardId, String rank) {
+            return new BoardEvent(actorId, columnId, cardId, fromColumnId, rank);
+        }
+    }
+}
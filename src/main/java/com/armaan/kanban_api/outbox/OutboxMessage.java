@@ -0,0 +1,17 @@
+package com.armaan.kanban_api.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Value of every published record. {@code eventId} is unique and increasing per outbox, so consumers
+ * can drop the duplicates that at-least-once delivery allows.
+ */
+public record OutboxMessage(Long eventId,
+                            String type,
+                            String aggregateType,
+                            String aggregateId,
+                            LocalDateTime occurredAt,
+                            @JsonRawValue String data) {
+}
@@ -0,0 +1,178 @@
+package com.armaan.kanban_api.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes outbox rows to Kafka in batches, one topic per aggregate type
+ * ({@code <prefix><aggregate>-events}), keyed by aggregate id. A batch is sent, awaited and then
+ * deleted in one transaction, so a failed send leaves the rows for the next run (at-least-once).
+ * <p>
+ * Rows are read {@code FOR UPDATE}, which makes relays on different nodes take turns instead of
+ * publishing the events of one aggregate out of order. After a failure the relay backs off for
+ * {@code kanban.outbox.failure-backoff}.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String SELECT_SQL = "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at " +
+            "FROM outbox_events ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topicPrefix;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration failureBackoff;
+
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private volatile long pausedUntil;
+    private final AtomicLong lastBatchSize = new AtomicLong();
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer batchTimer;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${kanban.outbox.topic-prefix:kanban.}") String topicPrefix,
+                       @Value("${kanban.outbox.batch-size:500}") int batchSize,
+                       @Value("${kanban.outbox.send-timeout:PT20S}") Duration sendTimeout,
+                       @Value("${kanban.outbox.failure-backoff:PT5S}") Duration failureBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topicPrefix = topicPrefix;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.failureBackoff = failureBackoff;
+
+        this.published = Counter.builder("outbox.events.published").register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures").register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch").register(meterRegistry);
+        Gauge.builder("outbox.relay.last_batch", lastBatchSize, AtomicLong::get).register(meterRegistry);
+    }
+
+    public static String topic(String prefix, String aggregateType) {
+        return prefix + aggregateType + "-events";
+    }
+
+    @Scheduled(initialDelayString = "${kanban.outbox.poll-interval:PT0.5S}",
+            fixedDelayString = "${kanban.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        if (System.currentTimeMillis() < pausedUntil || !relayLock.tryLock()) {
+            return;
+        }
+        try {
+            // Keep going while batches come back full
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == batchSize);
+        } catch (Exception e) {
+            failures.increment();
+            pausedUntil = System.currentTimeMillis() + failureBackoff.toMillis();
+            log.warn("Outbox relay failed, retrying in {}: {}", failureBackoff, e.getMessage());
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxRow> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new OutboxRow(
+                    rs.getLong("id"),
+                    rs.getString("aggregate_type"),
+                    rs.getString("aggregate_id"),
+                    rs.getString("event_type"),
+                    rs.getString("payload"),
+                    rs.getTimestamp("created_at").toLocalDateTime()), batchSize);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            batchTimer.record(() -> send(rows));
+            jdbcTemplate.batchUpdate(DELETE_SQL, rows.stream().map(row -> new Object[]{row.id()}).toList());
+            return rows.size();
+        });
+        int count = sent == null ? 0 : sent;
+        lastBatchSize.set(count);
+        if (count > 0) {
+            published.increment(count);
+            log.debug("Published {} outbox events", count);
+        }
+        return count;
+    }
+
+    private void send(List<OutboxRow> rows) {
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            futures.add(kafkaTemplate.send(record(row)));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (Exception e) {
+            // Rolls back: the rows stay and the whole batch is sent again
+            throw new IllegalStateException("Publishing outbox events failed", e);
+        }
+    }
+
+    private ProducerRecord<String, String> record(OutboxRow row) {
+        OutboxMessage message = new OutboxMessage(row.id(), row.eventType(), row.aggregateType(),
+                row.aggregateId(), row.createdAt(), row.payload());
+        String value;
+        try {
+            value = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise outbox event " + row.id(), e);
+        }
+
+        // Event time for windowed consumers is when the change was committed, not when it was relayed
+        long timestamp = row.createdAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic(topicPrefix, row.aggregateType()),
+                null, timestamp, row.aggregateId(), value);
+        record.headers().add("event-id", String.valueOf(row.id()).getBytes(StandardCharsets.UTF_8));
+        record.headers().add("event-type", row.eventType().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private record OutboxRow(Long id, String aggregateType, String aggregateId, String eventType,
+                             String payload, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.armaan.kanban_api.outbox;
+
+import com.armaan.kanban_api.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends domain events to the outbox table. Callers must already be in a transaction, so an event
+ * is stored exactly when the change it describes is committed; {@link OutboxRelay} publishes it later,
+ * outside the request.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events " +
+            "(aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        OutboxEvent event = event(aggregateType, aggregateId, eventType, payload, LocalDateTime.now());
+        jdbcTemplate.update(INSERT_SQL, row(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<OutboxEvent> events) {
+        if (!events.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, events.stream().map(OutboxService::row).toList());
+        }
+    }
+
+    /**
+     * Serialises an event for {@link #appendAll(List)}, e.g. when events are buffered and written later.
+     */
+    public OutboxEvent event(String aggregateType, Object aggregateId, String eventType, Object payload,
+                             LocalDateTime occurredAt) {
+        try {
+            return OutboxEvent.builder()
+                    .aggregateType(aggregateType)
+                    .aggregateId(String.valueOf(aggregateId))
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(occurredAt)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialise " + eventType + " payload", e);
+        }
+    }
+
+    private static Object[] row(OutboxEvent event) {
+        return new Object[]{event.getAggregateType(), event.getAggregateId(), event.getEventType(),
+                event.getPayload(), Timestamp.valueOf(event.getCreatedAt())};
+    }
+}
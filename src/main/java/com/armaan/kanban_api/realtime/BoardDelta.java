@@ -0,0 +1,38 @@
+package com.armaan.kanban_api.realtime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One change to a board, as pushed to subscribers. Only the fields a type needs are set: moves carry
+ * {@code columnId} and {@code rank}, creates and edits also carry the full item in {@code data}, deletes
+ * carry just the id. When both are present, {@code columnId} and {@code rank} win over {@code data}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BoardDelta(String type, Long id, Long columnId, String rank, Object data) {
+
+    public static final String CARD = "card";
+    public static final String CARD_MOVED = "card.moved";
+    public static final String CARD_DELETED = "card.deleted";
+    public static final String COLUMN = "column";
+    public static final String COLUMN_MOVED = "column.moved";
+    public static final String COLUMN_DELETED = "column.deleted";
+    public static final String BOARD_DELETED = "board.deleted";
+
+    String key() {
+        return type.startsWith(CARD) ? "card:" + id : type.startsWith(COLUMN) ? "column:" + id : "board:" + id;
+    }
+
+    boolean isMove() {
+        return type.endsWith(".moved");
+    }
+
+    /**
+     * The delta that has the same effect as applying this one and then {@code next}.
+     */
+    BoardDelta then(BoardDelta next) {
+        if (next.isMove() && !isMove() && data != null) {
+            return new BoardDelta(type, id, next.columnId, next.rank, data);
+        }
+        return next;
+    }
+}
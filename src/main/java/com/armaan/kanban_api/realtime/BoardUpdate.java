@@ -0,0 +1,24 @@
+package com.armaan.kanban_api.realtime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Message body on {@code /topic/boards/{boardId}}: either a batch of coalesced deltas, or
+ * {@code resync} when this client missed updates and must reload the board.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BoardUpdate(String type, Long boardId, List<BoardDelta> deltas) {
+
+    public static final String DELTAS = "deltas";
+    public static final String RESYNC = "resync";
+
+    public static BoardUpdate deltas(Long boardId, List<BoardDelta> deltas) {
+        return new BoardUpdate(DELTAS, boardId, deltas);
+    }
+
+    public static BoardUpdate resync(Long boardId) {
+        return new BoardUpdate(RESYNC, boardId, null);
+    }
+}
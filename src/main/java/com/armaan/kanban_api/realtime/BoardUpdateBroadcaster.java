@@ -0,0 +1,233 @@
+package com.armaan.kanban_api.realtime;
+
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.armaan.kanban_api.dto.response.ColumnResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes board changes to STOMP subscribers of {@code /topic/boards/{boardId}}. Changes are queued
+ * after their transaction commits and sent once per coalescing window, one message per board; several
+ * changes to the same card or column within a window collapse into a single delta.
+ * <p>
+ * Each node's broker is in-memory, so every window's updates are also relayed to the other nodes over
+ * Redis pub/sub, one message per window, and each node sends the relayed updates to its own
+ * subscribers. A node skips its own relays. If a relay cannot be published, the other nodes are sent
+ * a resync of the boards it held with the next window that gets through.
+ */
+@Component
+@Slf4j
+public class BoardUpdateBroadcaster implements MessageListener {
+
+    static final String TOPIC_PREFIX = "/topic/boards/";
+    static final String RELAY_CHANNEL = "board-updates";
+
+    /**
+     * One window of updates, as relayed to the other nodes.
+     */
+    record Relay(String origin, List<BoardUpdate> updates) {
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Long, Map<String, BoardDelta>> pending = new HashMap<>();
+    private Set<Long> resyncs = new HashSet<>();
+    // Boards whose updates the other nodes missed; only touched by flush, which never runs concurrently
+    private final Set<Long> unrelayed = new HashSet<>();
+
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter sent;
+    private final Counter relayErrors;
+
+    public BoardUpdateBroadcaster(SimpMessagingTemplate messagingTemplate,
+                                  StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.queued = Counter.builder("realtime.deltas").tag("outcome", "queued").register(meterRegistry);
+        this.coalesced = Counter.builder("realtime.deltas").tag("outcome", "coalesced").register(meterRegistry);
+        this.sent = Counter.builder("realtime.updates.sent").register(meterRegistry);
+        this.relayErrors = Counter.builder("realtime.relay.errors").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RELAY_CHANNEL));
+    }
+
+    public void cardChanged(Long boardId, CardResponse card) {
+        publish(boardId, new BoardDelta(BoardDelta.CARD, card.getId(), card.getColumnId(), card.getRank(), card));
+    }
+
+    public void cardMoved(Long boardId, Long cardId, Long columnId, String rank) {
+        publish(boardId, new BoardDelta(BoardDelta.CARD_MOVED, cardId, columnId, rank, null));
+    }
+
+    public void cardDeleted(Long boardId, Long cardId) {
+        publish(boardId, new BoardDelta(BoardDelta.CARD_DELETED, cardId, null, null, null));
+    }
+
+    public void columnChanged(Long boardId, ColumnResponse column) {
+        publish(boardId, new BoardDelta(BoardDelta.COLUMN, column.getId(), null, column.getRank(), column.getName()));
+    }
+
+    public void columnMoved(Long boardId, Long columnId, String rank) {
+        publish(boardId, new BoardDelta(BoardDelta.COLUMN_MOVED, columnId, null, rank, null));
+    }
+
+    public void columnDeleted(Long boardId, Long columnId) {
+        publish(boardId, new BoardDelta(BoardDelta.COLUMN_DELETED, columnId, null, null, null));
+    }
+
+    public void boardDeleted(Long boardId) {
+        publish(boardId, new BoardDelta(BoardDelta.BOARD_DELETED, boardId, null, null, null));
+    }
+
+    /**
+     * Tells subscribers to reload the board instead of applying deltas, e.g. after its ranks were rewritten.
+     * Deltas still queued for the board are dropped; the reload includes them.
+     */
+    public void resync(Long boardId) {
+        afterCommit(() -> {
+            lock.lock();
+            try {
+                pending.remove(boardId);
+                resyncs.add(boardId);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void publish(Long boardId, BoardDelta delta) {
+        afterCommit(() -> enqueue(boardId, delta));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    void enqueue(Long boardId, BoardDelta delta) {
+        queued.increment();
+        lock.lock();
+        try {
+            if (resyncs.contains(boardId)) {
+                coalesced.increment();
+                return;
+            }
+            Map<String, BoardDelta> deltas = pending.computeIfAbsent(boardId, id -> new LinkedHashMap<>());
+            // Replacing keeps the item's original position in the batch
+            BoardDelta previous = deltas.get(delta.key());
+            deltas.put(delta.key(), previous == null ? delta : previous.then(delta));
+            if (previous != null) {
+                coalesced.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.realtime.coalesce-window:PT0.1S}")
+    public void flush() {
+        Map<Long, Map<String, BoardDelta>> batch;
+        Set<Long> resyncBatch;
+        lock.lock();
+        try {
+            if (pending.isEmpty() && resyncs.isEmpty() && unrelayed.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            resyncBatch = resyncs;
+            resyncs = new HashSet<>();
+        } finally {
+            lock.unlock();
+        }
+
+        List<BoardUpdate> updates = new ArrayList<>(resyncBatch.size() + batch.size());
+        resyncBatch.forEach(boardId -> updates.add(BoardUpdate.resync(boardId)));
+        batch.forEach((boardId, deltas) -> updates.add(BoardUpdate.deltas(boardId, new ArrayList<>(deltas.values()))));
+        updates.forEach(this::send);
+        relay(updates);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Relay relay = objectMapper.readValue(message.getBody(), Relay.class);
+            if (!nodeId.equals(relay.origin())) {
+                relay.updates().forEach(this::send);
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring malformed board update relay: {}", e.getMessage());
+        }
+    }
+
+    private void relay(List<BoardUpdate> updates) {
+        List<BoardUpdate> relayed = new ArrayList<>(updates.size() + unrelayed.size());
+        // Boards the other nodes missed updates of are reloaded instead
+        unrelayed.forEach(boardId -> relayed.add(BoardUpdate.resync(boardId)));
+        updates.stream().filter(update -> !unrelayed.contains(update.boardId())).forEach(relayed::add);
+        try {
+            redisTemplate.convertAndSend(RELAY_CHANNEL, objectMapper.writeValueAsString(new Relay(nodeId, relayed)));
+            unrelayed.clear();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise board updates", e);
+        } catch (Exception e) {
+            relayErrors.increment();
+            relayed.forEach(update -> unrelayed.add(update.boardId()));
+            log.warn("Failed to relay updates of {} boards: {}", relayed.size(), e.getMessage());
+        }
+    }
+
+    private void send(BoardUpdate update) {
+        try {
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + update.boardId(), update);
+            sent.increment();
+        } catch (Exception e) {
+            log.warn("Failed to send {} update for board {}: {}", update.type(), update.boardId(), e.getMessage());
+        }
+    }
+}
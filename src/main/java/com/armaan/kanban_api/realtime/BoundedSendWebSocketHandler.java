@@ -0,0 +1,243 @@
+package com.armaan.kanban_api.realtime;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.*;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gives every WebSocket session its own bounded outbound buffer, drained by one task at a time, so
+ * the broker thread that fans out a board update never waits on a slow client.
+ * <p>
+ * When a session's buffer would exceed {@code bufferSizeLimit} bytes, its queued board messages are
+ * dropped and replaced by one {@link BoardUpdate#resync} message per subscription; until a
+ * subscription's resync message is written, further messages for it are dropped as well. Other frames
+ * (receipts, errors, heartbeats) are kept. A client that overflows again before the resync messages
+ * were written is disconnected, and so is one whose current write has taken longer than
+ * {@code sendTimeLimit}, which frees the drain thread it blocks.
+ */
+@Slf4j
+public class BoundedSendWebSocketHandler extends WebSocketHandlerDecorator {
+
+    private final TaskExecutor executor;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final Counter resyncs;
+    private final Counter disconnects;
+
+    public BoundedSendWebSocketHandler(WebSocketHandler delegate, TaskExecutor executor, int bufferSizeLimit,
+                                       Duration sendTimeLimit, Counter resyncs, Counter disconnects) {
+        super(delegate);
+        this.executor = executor;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+        this.resyncs = resyncs;
+        this.disconnects = disconnects;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        super.afterConnectionEstablished(new BoundedSendSession(session));
+    }
+
+    class BoundedSendSession extends WebSocketSessionDecorator {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+        private long queuedBytes;
+        private boolean draining;
+        // Start of the write in progress, 0 when none
+        private volatile long sendStartedAt;
+        // Subscription id -> its queued, not yet written resync message
+        private final Map<String, WebSocketMessage<?>> resyncing = new HashMap<>();
+
+        BoundedSendSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        /**
+         * Queues the message and returns without waiting for the client.
+         */
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            boolean startDrain = false;
+            boolean disconnect = false;
+            lock.lock();
+            try {
+                if (!resyncing.isEmpty() && resyncing.containsKey(boardSubscription(decode(message)))) {
+                    return;
+                }
+                long sendStarted = sendStartedAt;
+                if (sendStarted != 0 && System.nanoTime() - sendStarted > sendTimeLimitNanos) {
+                    queue.clear();
+                    queuedBytes = 0;
+                    disconnect = true;
+                } else if (queuedBytes + message.getPayloadLength() <= bufferSizeLimit) {
+                    offer(message);
+                } else if (!resyncing.isEmpty()) {
+                    queue.clear();
+                    queuedBytes = 0;
+                    disconnect = true;
+                } else {
+                    replaceWithResync(message);
+                }
+                if (!disconnect && !draining) {
+                    draining = true;
+                    startDrain = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (disconnect) {
+                disconnects.increment();
+                log.debug("Closing WebSocket session {}: client is not reading", getId());
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } else if (startDrain) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                WebSocketMessage<?> message;
+                lock.lock();
+                try {
+                    message = queue.poll();
+                    if (message == null) {
+                        draining = false;
+                        return;
+                    }
+                    queuedBytes -= message.getPayloadLength();
+                } finally {
+                    lock.unlock();
+                }
+
+                try {
+                    sendStartedAt = System.nanoTime();
+                    getDelegate().sendMessage(message);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping outbound messages of WebSocket session {}: {}", getId(), e.getMessage());
+                    lock.lock();
+                    try {
+                        queue.clear();
+                        queuedBytes = 0;
+                        resyncing.clear();
+                        draining = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                } finally {
+                    sendStartedAt = 0;
+                }
+
+                lock.lock();
+                try {
+                    // Updates of this subscription flow again once its resync message is out
+                    resyncing.values().remove(message);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void offer(WebSocketMessage<?> message) {
+            queue.add(message);
+            queuedBytes += message.getPayloadLength();
+        }
+
+        // Called with the lock held
+        private void replaceWithResync(WebSocketMessage<?> overflowing) {
+            resyncs.increment();
+            Deque<WebSocketMessage<?>> kept = new ArrayDeque<>();
+            // subscription id -> destination of every dropped board message
+            Map<String, String> dropped = new LinkedHashMap<>();
+            queue.add(overflowing);
+            for (WebSocketMessage<?> message : queue) {
+                StompHeaderAccessor frame = decode(message);
+                String subscriptionId = boardSubscription(frame);
+                if (subscriptionId != null) {
+                    dropped.putIfAbsent(subscriptionId, frame.getDestination());
+                } else {
+                    kept.add(message);
+                }
+            }
+
+            queue.clear();
+            queuedBytes = 0;
+            kept.forEach(this::offer);
+            dropped.forEach((subscriptionId, destination) -> {
+                TextMessage resync = resyncFrame(subscriptionId, destination);
+                offer(resync);
+                resyncing.put(subscriptionId, resync);
+            });
+            log.debug("WebSocket session {} fell behind, asked {} subscriptions to resync", getId(), dropped.size());
+        }
+    }
+
+    private static String boardSubscription(StompHeaderAccessor frame) {
+        return frame != null && frame.getCommand() == StompCommand.MESSAGE ? frame.getSubscriptionId() : null;
+    }
+
+    private static StompHeaderAccessor decode(WebSocketMessage<?> message) {
+        ByteBuffer payload;
+        if (message instanceof TextMessage text) {
+            payload = ByteBuffer.wrap(text.asBytes());
+        } else if (message instanceof BinaryMessage binary) {
+            payload = binary.getPayload().asReadOnlyBuffer();
+        } else {
+            return null;
+        }
+        try {
+            var frames = new StompDecoder().decode(payload);
+            return frames.size() == 1 ? StompHeaderAccessor.wrap(frames.get(0)) : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    static TextMessage resyncFrame(String subscriptionId, String destination) {
+        Long boardId = null;
+        if (destination != null && destination.startsWith(BoardUpdateBroadcaster.TOPIC_PREFIX)) {
+            try {
+                boardId = Long.valueOf(destination.substring(BoardUpdateBroadcaster.TOPIC_PREFIX.length()));
+            } catch (NumberFormatException ignored) {
+                // Not a board topic, the resync body just carries no id
+            }
+        }
+        String body = boardId == null
+                ? "{\"type\":\"" + BoardUpdate.RESYNC + "\"}"
+                : "{\"type\":\"" + BoardUpdate.RESYNC + "\",\"boardId\":" + boardId + "}";
+
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        headers.setMessageId(UUID.randomUUID().toString());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Message<byte[]> message = MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8),
+                headers.getMessageHeaders());
+        return new TextMessage(new StompEncoder().encode(message));
+    }
+}
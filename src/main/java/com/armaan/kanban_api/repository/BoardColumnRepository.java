@@ -0,0 +1,59 @@
+package com.armaan.kanban_api.repository;
+
+import com.armaan.kanban_api.dto.response.ColumnResponse;
+import com.armaan.kanban_api.entity.BoardColumn;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BoardColumnRepository extends JpaRepository<BoardColumn, Long> {
+
+    @Query("""
+            SELECT new com.armaan.kanban_api.dto.response.ColumnResponse(l.id, l.boardId, l.name, l.rankKey)
+            FROM BoardColumn l
+            WHERE l.boardId IN :boardIds
+            ORDER BY l.boardId, l.rankKey, l.id
+            """)
+    List<ColumnResponse> findSummaries(@Param("boardIds") Collection<Long> boardIds);
+
+    Optional<BoardColumn> findByIdAndBoardId(Long id, Long boardId);
+
+    // Serialises card re-ranking within one column (moves and rebalancing)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BoardColumn c WHERE c.id = :id")
+    Optional<BoardColumn> findByIdForUpdate(@Param("id") Long id);
+
+    // Cross-column card moves: waits for a running rebalance (or card creation) of the target column,
+    // without serialising the moves themselves
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM BoardColumn c WHERE c.id = :id")
+    Optional<BoardColumn> findByIdForShare(@Param("id") Long id);
+
+    // Bulk card changes: all target columns at once, in id order so concurrent requests cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BoardColumn c WHERE c.id IN :ids ORDER BY c.id")
+    List<BoardColumn> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    Optional<BoardColumn> findFirstByBoardIdOrderByRankKeyDesc(Long boardId);
+
+    Optional<BoardColumn> findFirstByBoardIdAndIdNotOrderByRankKeyDesc(Long boardId, Long excludedId);
+
+    Optional<BoardColumn> findFirstByBoardIdAndRankKeyGreaterThanAndIdNotOrderByRankKeyAsc(
+            Long boardId, String rankKey, Long excludedId);
+
+    Optional<BoardColumn> findFirstByBoardIdAndRankKeyLessThanAndIdNotOrderByRankKeyDesc(
+            Long boardId, String rankKey, Long excludedId);
+
+    @Modifying
+    @Query("DELETE FROM BoardColumn c WHERE c.boardId = :boardId")
+    int deleteByBoard(@Param("boardId") Long boardId);
+}
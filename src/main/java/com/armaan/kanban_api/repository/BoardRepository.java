@@ -0,0 +1,45 @@
+package com.armaan.kanban_api.repository;
+
+import com.armaan.kanban_api.dto.response.BoardResponse;
+import com.armaan.kanban_api.entity.Board;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BoardRepository extends JpaRepository<Board, Long> {
+
+    @Query("""
+            SELECT new com.armaan.kanban_api.dto.response.BoardResponse(
+                b.id, b.name, b.description, b.backgroundColor, b.isArchived, b.createdAt, b.updatedAt,
+                bc.cardCount, bc.completedCardCount, bc.archivedCardCount, bc.refreshedAt)
+            FROM Board b LEFT JOIN BoardCounters bc ON bc.boardId = b.id
+            WHERE b.ownerId = :ownerId AND b.isArchived = false
+            ORDER BY b.createdAt DESC, b.id DESC
+            """)
+    List<BoardResponse> findSummariesByOwner(@Param("ownerId") Long ownerId);
+
+    @Query("""
+            SELECT new com.armaan.kanban_api.dto.response.BoardResponse(
+                b.id, b.name, b.description, b.backgroundColor, b.isArchived, b.createdAt, b.updatedAt,
+                bc.cardCount, bc.completedCardCount, bc.archivedCardCount, bc.refreshedAt)
+            FROM Board b LEFT JOIN BoardCounters bc ON bc.boardId = b.id
+            WHERE b.id = :id AND b.ownerId = :ownerId
+            """)
+    Optional<BoardResponse> findSummary(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    Optional<Board> findByIdAndOwnerId(Long id, Long ownerId);
+
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    // Serialises column re-ranking within one board
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Board b WHERE b.id = :id AND b.ownerId = :ownerId")
+    Optional<Board> findByIdAndOwnerIdForUpdate(@Param("id") Long id, @Param("ownerId") Long ownerId);
+}
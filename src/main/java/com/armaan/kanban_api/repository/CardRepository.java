@@ -0,0 +1,128 @@
+package com.armaan.kanban_api.repository;
+
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.armaan.kanban_api.entity.Card;
+import com.armaan.kanban_api.repository.projection.ColumnRank;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CardRepository extends JpaRepository<Card, Long> {
+
+    @Query("SELECT c FROM Card c WHERE c.id = :cardId " +
+            "AND c.columnId IN (SELECT l.id FROM BoardColumn l WHERE l.boardId = :boardId)")
+    Optional<Card> findInBoard(@Param("cardId") Long cardId, @Param("boardId") Long boardId);
+
+    /**
+     * The cards, loaded read-only: changes to them are not flushed, bulk changes write them with JDBC batches.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT c FROM Card c WHERE c.id IN :cardIds " +
+            "AND c.columnId IN (SELECT l.id FROM BoardColumn l WHERE l.boardId = :boardId)")
+    List<Card> findAllInBoard(@Param("cardIds") Collection<Long> cardIds, @Param("boardId") Long boardId);
+
+    /**
+     * The highest rank key of each of the given columns (columns without cards are left out).
+     */
+    @Query("SELECT new com.armaan.kanban_api.repository.projection.ColumnRank(c.columnId, MAX(c.rankKey)) " +
+            "FROM Card c WHERE c.columnId IN :columnIds GROUP BY c.columnId")
+    List<ColumnRank> findLastRanks(@Param("columnIds") Collection<Long> columnIds);
+
+    /**
+     * The first {@code perColumn} cards of every column of the given boards, in rank order, as DTOs.
+     * One statement however many columns there are; each partition is read through (list_id, rank_key).
+     */
+    @Query("""
+            SELECT new com.armaan.kanban_api.dto.response.CardResponse(
+                r.id, r.columnId, r.name, r.description, r.rankKey, r.priority, r.dueDate,
+                r.isCompleted, r.completedAt, r.createdAt, r.updatedAt, r.version)
+            FROM (
+                SELECT c.id AS id, c.columnId AS columnId, c.name AS name, c.description AS description,
+                       c.rankKey AS rankKey, c.priority AS priority, c.dueDate AS dueDate,
+                       c.isCompleted AS isCompleted, c.completedAt AS completedAt,
+                       c.createdAt AS createdAt, c.updatedAt AS updatedAt, c.version AS version,
+                       row_number() OVER (PARTITION BY c.columnId ORDER BY c.rankKey, c.id) AS position
+                FROM Card c
+                WHERE c.columnId IN (SELECT l.id FROM BoardColumn l WHERE l.boardId IN :boardIds)
+                  AND c.isArchived IS NOT TRUE
+            ) r
+            WHERE r.position <= :perColumn
+            ORDER BY r.columnId, r.rankKey, r.id
+            """)
+    List<CardResponse> findFirstPages(@Param("boardIds") Collection<Long> boardIds, @Param("perColumn") long perColumn);
+
+    /**
+     * Keyset page of a column: unarchived cards after ({@code rankKey}, {@code id}) in rank order. Pass an empty
+     * rank key and id 0 for the first page.
+     */
+    @Query("""
+            SELECT new com.armaan.kanban_api.dto.response.CardResponse(
+                c.id, c.columnId, c.name, c.description, c.rankKey, c.priority, c.dueDate,
+                c.isCompleted, c.completedAt, c.createdAt, c.updatedAt, c.version)
+            FROM Card c
+            WHERE c.columnId = :columnId AND c.isArchived IS NOT TRUE
+              AND (c.rankKey > :rankKey OR (c.rankKey = :rankKey AND c.id > :id))
+            ORDER BY c.rankKey, c.id
+            """)
+    List<CardResponse> findPageAfter(@Param("columnId") Long columnId, @Param("rankKey") String rankKey,
+                                     @Param("id") Long id, Limit limit);
+
+    /**
+     * Current state of the cards as DTOs, read from the database whatever the persistence context holds.
+     */
+    @Query("""
+            SELECT new com.armaan.kanban_api.dto.response.CardResponse(
+                c.id, c.columnId, c.name, c.description, c.rankKey, c.priority, c.dueDate,
+                c.isCompleted, c.completedAt, c.createdAt, c.updatedAt, c.version)
+            FROM Card c
+            WHERE c.id IN :cardIds OR (c.columnId = :columnId AND c.rankKey = :rankKey)
+            ORDER BY c.id
+            """)
+    List<CardResponse> findCurrent(@Param("cardIds") Collection<Long> cardIds, @Param("columnId") Long columnId,
+                                   @Param("rankKey") String rankKey);
+
+    /**
+     * Compare-and-set move: applies only while the card still has {@code version}, and returns 0
+     * otherwise. A rank key another card of the column took meanwhile violates
+     * {@link Card#POSITION_CONSTRAINT}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Card c
+            SET c.columnId = :columnId, c.rankKey = :rankKey, c.version = c.version + 1, c.updatedAt = :updatedAt
+            WHERE c.id = :id AND c.version = :version
+            """)
+    int moveIfUnchanged(@Param("id") Long id, @Param("version") Long version, @Param("columnId") Long columnId,
+                        @Param("rankKey") String rankKey, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Neighbour lookups, all served by the (list_id, rank_key) index
+    Optional<Card> findFirstByColumnIdOrderByRankKeyDesc(Long columnId);
+
+    Optional<Card> findFirstByColumnIdAndIdNotOrderByRankKeyDesc(Long columnId, Long excludedId);
+
+    Optional<Card> findFirstByColumnIdAndRankKeyGreaterThanAndIdNotOrderByRankKeyAsc(
+            Long columnId, String rankKey, Long excludedId);
+
+    Optional<Card> findFirstByColumnIdAndRankKeyLessThanAndIdNotOrderByRankKeyDesc(
+            Long columnId, String rankKey, Long excludedId);
+
+    @Modifying
+    @Query("DELETE FROM Card c WHERE c.columnId = :columnId")
+    int deleteByColumn(@Param("columnId") Long columnId);
+
+    @Modifying
+    @Query("DELETE FROM Card c WHERE c.columnId IN (SELECT l.id FROM BoardColumn l WHERE l.boardId = :boardId)")
+    int deleteByBoard(@Param("boardId") Long boardId);
+}
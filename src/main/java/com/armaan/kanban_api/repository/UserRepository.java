@@ -1,6 +1,9 @@
 package com.armaan.kanban_api.repository;
 
 import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.repository.projection.UserCredentials;
+import com.armaan.kanban_api.repository.projection.UserProfile;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,11 +21,63 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    boolean existsByUsername(String username);
+    /**
+     * Case-insensitive lookup by username or email in one statement, backed by the unique
+     * {@code lower(username)} and {@code lower(email)} indexes. When one user's username matches another's
+     * email, an exact match wins.
+     */
+    @Query("""
+            SELECT new com.armaan.kanban_api.repository.projection.UserCredentials(
+                u.id, u.username, u.email, u.passwordHash, u.isActive, COALESCE(u.tokenVersion, 0))
+            FROM User u
+            WHERE lower(u.username) = lower(:login) OR lower(u.email) = lower(:login)
+            ORDER BY CASE WHEN u.username = :login OR u.email = :login THEN 0 ELSE 1 END, u.id
+            """)
+    List<UserCredentials> findCredentials(@Param("login") String usernameOrEmail, Limit limit);
+
+    default Optional<UserCredentials> findCredentials(String usernameOrEmail) {
+        return findCredentials(usernameOrEmail, Limit.of(1)).stream().findFirst();
+    }
+
+    /**
+     * The profile columns by primary key, without a managed entity.
+     */
+    @Query("""
+            SELECT new com.armaan.kanban_api.repository.projection.UserProfile(
+                u.id, u.username, u.email, u.firstName, u.lastName, u.avatarUrl, u.isActive, u.emailVerified,
+                u.createdAt, u.updatedAt, u.lastLoginAt)
+            FROM User u
+            WHERE u.id = :userId
+            """)
+    Optional<UserProfile> findProfileById(@Param("userId") Long userId);
+
+    boolean existsByUsernameIgnoreCase(String username);
 
     boolean existsByEmail(String email);
 
+    /**
+     * One page of usernames in key order, after {@code after}; pass an empty string for the first page.
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username > :after ORDER BY u.username")
+    List<String> findUsernamesAfter(@Param("after") String after, Limit limit);
+
     @Modifying
     @Query("UPDATE User u SET u.lastLoginAt = :loginTime WHERE u.id = :userId")
     void updateLastLoginTime(@Param("userId") Long userId, @Param("loginTime") LocalDateTime loginTime);
+
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :userId")
+    void updatePasswordHash(@Param("userId") Long userId, @Param("passwordHash") String passwordHash);
+
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.id = :userId")
+    Optional<Integer> findTokenVersionById(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = COALESCE(u.tokenVersion, 0) + 1, u.updatedAt = :now WHERE u.id = :userId")
+    int incrementTokenVersion(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = false, u.tokenVersion = COALESCE(u.tokenVersion, 0) + 1, " +
+            "u.updatedAt = :now WHERE u.id = :userId")
+    int deactivate(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.armaan.kanban_api.repository.projection;
+
+/**
+ * A column together with a rank key of one of its cards, e.g. the last one.
+ */
+public record ColumnRank(Long columnId, String rankKey) {
+}
@@ -0,0 +1,30 @@
+package com.armaan.kanban_api.repository.projection;
+
+import com.armaan.kanban_api.entity.User;
+
+/**
+ * Read-only view of the columns authentication needs, loaded without a managed entity. The email is
+ * carried because it is a login name and a cache key; profile columns are read by primary key, and
+ * only where a response needs them ({@link UserProfile}).
+ */
+public record UserCredentials(Long id,
+                              String username,
+                              String email,
+                              String passwordHash,
+                              Boolean isActive,
+                              Integer tokenVersion) {
+
+    /**
+     * A detached principal holding only these fields; profile fields are left empty.
+     */
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .passwordHash(passwordHash)
+                .isActive(isActive)
+                .tokenVersion(tokenVersion)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.armaan.kanban_api.repository.projection;
+
+import com.armaan.kanban_api.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of the profile columns, for the login and profile responses. Carries no credentials.
+ */
+public record UserProfile(Long id,
+                          String username,
+                          String email,
+                          String firstName,
+                          String lastName,
+                          String avatarUrl,
+                          Boolean isActive,
+                          Boolean emailVerified,
+                          LocalDateTime createdAt,
+                          LocalDateTime updatedAt,
+                          LocalDateTime lastLoginAt) {
+
+    /**
+     * A detached user holding only these fields; the password hash is left empty.
+     */
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .avatarUrl(avatarUrl)
+                .isActive(isActive)
+                .emailVerified(emailVerified)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .lastLoginAt(lastLoginAt)
+                .build();
+    }
+}
@@ -0,0 +1,360 @@
+package com.armaan.kanban_api.search;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the names and descriptions of one board's cards. Terms are kept sorted, so all
+ * terms starting with a query term form one range of the term map. A multi-word query is an AND of
+ * prefixes, except that its one-character words must match whole words. Among the newest
+ * {@value #RANKED_MATCHES} matches, cards whose name matches every query term come first; newest first
+ * within each group. Searches share a read lock; changes take the write lock for the duration of one
+ * card.
+ */
+public class CardSearchIndex {
+
+    static final int MAX_TERM_LENGTH = 32;
+    static final int MAX_QUERY_TERMS = 8;
+    static final int MAX_NARROW_TERMS = 64;
+    // Name matches are looked for among this many of the newest matches
+    static final int RANKED_MATCHES = 1000;
+    // Changes of fewer cards than this never make an index outgrow its weight
+    static final int MIN_WEIGHT_DRIFT = 100;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_TERMS = new String[0];
+
+    /**
+     * The texts hold the terms, each preceded by a space, so a word prefix is one {@code contains} on a
+     * compact string.
+     */
+    record IndexedCard(long id, long columnId, String name, String nameText, String[] terms, String text) {
+
+        IndexedCard(long id, long columnId, String name, String[] nameTerms, String[] terms) {
+            this(id, columnId, name, spaced(nameTerms), terms, spaced(terms));
+        }
+
+        IndexedCard inColumn(long newColumnId) {
+            return new IndexedCard(id, newColumnId, name, nameText, terms, text);
+        }
+
+        private static String spaced(String[] terms) {
+            return terms.length == 0 ? "" : " " + String.join(" ", terms);
+        }
+    }
+
+    public record Hit(Long cardId, Long columnId, String name) {
+    }
+
+    public record Result(int total, List<Hit> hits) {
+    }
+
+    private final Long ownerId;
+    private final long createdAt = System.nanoTime();
+    private volatile int weighedSize;
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, IndexedCard> cards = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public CardSearchIndex(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public Long ownerId() {
+        return ownerId;
+    }
+
+    /**
+     * Whether the index was created more than {@code maxAge} ago; changes applied since do not count.
+     */
+    public boolean isOlderThan(Duration maxAge) {
+        return System.nanoTime() - createdAt > maxAge.toNanos();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cards.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The index's cache weight: its card count plus one. The count is remembered, see
+     * {@link #outgrewWeight()}.
+     */
+    public int weigh() {
+        int size = size();
+        weighedSize = size;
+        return size + 1;
+    }
+
+    /**
+     * Whether changes applied since it was last weighed moved the card count by more than half.
+     */
+    public boolean outgrewWeight() {
+        return Math.abs(size() - weighedSize) > Math.max(MIN_WEIGHT_DRIFT, weighedSize / 2);
+    }
+
+    /**
+     * Adds the card or replaces its indexed text and column.
+     */
+    public void put(long cardId, long columnId, String name, String description) {
+        String[] nameTerms = terms(name);
+        Set<String> allTerms = new LinkedHashSet<>(Arrays.asList(nameTerms));
+        allTerms.addAll(Arrays.asList(terms(description)));
+        IndexedCard card = new IndexedCard(cardId, columnId, name, nameTerms, allTerms.toArray(NO_TERMS));
+
+        lock.writeLock().lock();
+        try {
+            IndexedCard previous = cards.put(cardId, card);
+            if (previous != null) {
+                unindex(previous);
+            }
+            for (String term : card.terms()) {
+                postings.computeIfAbsent(term, t -> new Postings()).add(cardId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void move(long cardId, long columnId) {
+        lock.writeLock().lock();
+        try {
+            cards.computeIfPresent(cardId, (id, card) -> card.inColumn(columnId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long cardId) {
+        lock.writeLock().lock();
+        try {
+            IndexedCard previous = cards.remove(cardId);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeColumn(long columnId) {
+        lock.writeLock().lock();
+        try {
+            List<IndexedCard> removed = cards.values().stream()
+                    .filter(card -> card.columnId() == columnId)
+                    .toList();
+            for (IndexedCard card : removed) {
+                cards.remove(card.id());
+                unindex(card);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cards matching every term of {@code query} by prefix; {@code total} counts all of them, {@code hits}
+     * holds at most {@code limit}.
+     */
+    public Result search(String query, int limit) {
+        String[] queryTerms = terms(query);
+        if (queryTerms.length == 0) {
+            return new Result(0, List.of());
+        }
+        if (queryTerms.length > MAX_QUERY_TERMS) {
+            queryTerms = Arrays.copyOf(queryTerms, MAX_QUERY_TERMS);
+        }
+
+        lock.readLock().lock();
+        try {
+            // Narrow terms (few distinct words with the prefix) are read from the term map, starting with the
+            // one with the fewest cards; wide ones like "re" are checked against each remaining candidate.
+            // Next to other words, a single character only matches that word, not every word it starts
+            List<TermRange> ranges = new ArrayList<>(queryTerms.length);
+            for (String term : queryTerms) {
+                ranges.add(queryTerms.length > 1 && term.length() == 1 ? exact(term) : range(term));
+            }
+            ranges.sort(Comparator.comparingLong(TermRange::cards));
+
+            long[] matches = null;
+            List<String> wide = new ArrayList<>();
+            for (TermRange range : ranges) {
+                if (matches == null) {
+                    matches = union(range.postings());
+                } else if (range.wide()) {
+                    wide.add(range.prefix());
+                } else if (range.postings().size() == 1) {
+                    matches = range.postings().values().iterator().next().retain(matches);
+                } else {
+                    matches = intersect(matches, union(range.postings()));
+                }
+                if (matches.length == 0) {
+                    return new Result(0, List.of());
+                }
+            }
+            if (!wide.isEmpty()) {
+                matches = filter(matches, wide);
+            }
+            return new Result(matches.length, rank(matches, queryTerms, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The terms starting with {@code prefix}; {@code cards} sums their postings, or is
+     * {@link Long#MAX_VALUE} when there are more than {@value #MAX_NARROW_TERMS} such terms.
+     */
+    private record TermRange(String prefix, SortedMap<String, Postings> postings, long cards) {
+
+        boolean wide() {
+            return cards == Long.MAX_VALUE;
+        }
+    }
+
+    private TermRange range(String prefix) {
+        SortedMap<String, Postings> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        long cards = 0;
+        int terms = 0;
+        for (Postings termPostings : range.values()) {
+            if (++terms > MAX_NARROW_TERMS) {
+                return new TermRange(prefix, range, Long.MAX_VALUE);
+            }
+            cards += termPostings.size();
+        }
+        return new TermRange(prefix, range, cards);
+    }
+
+    private TermRange exact(String term) {
+        Postings termPostings = postings.get(term);
+        SortedMap<String, Postings> range = termPostings == null
+                ? Collections.emptySortedMap()
+                : new TreeMap<>(Map.of(term, termPostings));
+        return new TermRange(term, range, termPostings == null ? 0 : termPostings.size());
+    }
+
+    private long[] filter(long[] candidates, List<String> prefixes) {
+        String[] wordStarts = prefixes.stream().map(prefix -> " " + prefix).toArray(String[]::new);
+        long[] matches = new long[candidates.length];
+        int count = 0;
+        for (long id : candidates) {
+            if (containsAll(cards.get(id).text(), wordStarts)) {
+                matches[count++] = id;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Ids present in both sorted arrays.
+     */
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long[] union(SortedMap<String, Postings> range) {
+        if (range.isEmpty()) {
+            return new long[0];
+        }
+        if (range.size() == 1) {
+            return range.values().iterator().next().toArray();
+        }
+        int total = 0;
+        for (Postings termPostings : range.values()) {
+            total += termPostings.size();
+        }
+        long[] ids = new long[total];
+        int offset = 0;
+        for (Postings termPostings : range.values()) {
+            termPostings.copyInto(ids, offset);
+            offset += termPostings.size();
+        }
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return distinct == ids.length ? ids : Arrays.copyOf(ids, distinct);
+    }
+
+    private List<Hit> rank(long[] matches, String[] queryTerms, int limit) {
+        String[] wordStarts = Arrays.stream(queryTerms).map(term -> " " + term).toArray(String[]::new);
+        List<Hit> nameMatches = new ArrayList<>(Math.min(limit, matches.length));
+        List<Hit> otherMatches = new ArrayList<>();
+        int last = Math.max(0, matches.length - RANKED_MATCHES);
+        for (int i = matches.length - 1; i >= last && nameMatches.size() < limit; i--) {
+            IndexedCard card = cards.get(matches[i]);
+            Hit hit = new Hit(card.id(), card.columnId(), card.name());
+            if (containsAll(card.nameText(), wordStarts)) {
+                nameMatches.add(hit);
+            } else if (otherMatches.size() < limit) {
+                otherMatches.add(hit);
+            }
+        }
+        for (int i = 0; i < otherMatches.size() && nameMatches.size() < limit; i++) {
+            nameMatches.add(otherMatches.get(i));
+        }
+        return nameMatches;
+    }
+
+    private static boolean containsAll(String text, String[] wordStarts) {
+        for (String wordStart : wordStarts) {
+            if (!text.contains(wordStart)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unindex(IndexedCard card) {
+        for (String term : card.terms()) {
+            Postings termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(card.id());
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lower-cased, distinct words of {@code text}, split on anything but letters and digits and cut
+     * to {@value #MAX_TERM_LENGTH} characters.
+     */
+    static String[] terms(String text) {
+        if (text == null || text.isBlank()) {
+            return NO_TERMS;
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                terms.add(word.length() > MAX_TERM_LENGTH ? word.substring(0, MAX_TERM_LENGTH) : word);
+            }
+        }
+        return terms.toArray(NO_TERMS);
+    }
+}
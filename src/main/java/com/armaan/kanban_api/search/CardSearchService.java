@@ -0,0 +1,388 @@
+package com.armaan.kanban_api.search;
+
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.armaan.kanban_api.dto.response.CardSearchHitResponse;
+import com.armaan.kanban_api.dto.response.CardSearchResponse;
+import com.armaan.kanban_api.exception.BoardNotFoundException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Card search per board, served from in-memory {@link CardSearchIndex}es. A board's index is built
+ * from the database on its first search and then kept current by the card changes of
+ * {@code BoardService}. Each change is applied locally after commit and broadcast over Redis, so every
+ * node holding the board's index applies it as well. Every node also applies its own broadcasts again,
+ * so all nodes converge on the order of the Redis channel. Searching a built index touches neither
+ * the database nor Redis.
+ * <p>
+ * A board is built once per node at a time, by the first searcher and outside any cache lock, after
+ * checking that the board is theirs; concurrent searchers wait for that build. Changes arriving while a
+ * build runs are applied to its result before it is used, since its snapshot may predate them.
+ * <p>
+ * Indexes are weighed by their card count and the total is bounded by {@code max-indexed-cards}. Changes
+ * are applied in place and count as neither a search nor a rebuild, but an index whose card count drifts
+ * by more than half is put again so that it is weighed anew. Boards not searched for {@code idle-timeout}
+ * are dropped, and indexes built more than {@code max-age} ago are rebuilt on their next search.
+ * <p>
+ * A change that cannot be broadcast leaves the other nodes' indexes of its board stale, so the board is
+ * remembered and a drop of the board is broadcast every {@code retry-interval} until Redis takes it.
+ */
+@Component
+@Slf4j
+public class CardSearchService implements MessageListener {
+
+    static final String CHANGES_CHANNEL = "card-search:changes";
+
+    private static final String OWNER_SQL = "SELECT owner_id FROM boards WHERE id = ?";
+    private static final String CARDS_SQL = """
+            SELECT c.id, c.list_id, c.name, c.description
+            FROM cards c JOIN lists l ON l.id = c.list_id
+            WHERE l.board_id = ? AND c.is_archived IS NOT TRUE
+            """;
+
+    enum Kind { PUT, MOVE, REMOVE, REMOVE_COLUMN, DROP }
+
+    /**
+     * One change to a board's index, as broadcast to the other nodes.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Change(Kind kind, Long boardId, Long cardId, Long columnId, String name, String description,
+                  List<Long> cardIds) {
+
+        void applyTo(CardSearchIndex index) {
+            switch (kind) {
+                case PUT -> index.put(cardId, columnId, name, description);
+                case MOVE -> index.move(cardId, columnId);
+                case REMOVE -> cardIds.forEach(index::remove);
+                case REMOVE_COLUMN -> index.removeColumn(columnId);
+                case DROP -> {
+                }
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final Duration maxAge;
+    private final Cache<Long, CardSearchIndex> indexes;
+    private final ConcurrentHashMap<Long, Build> builds = new ConcurrentHashMap<>();
+    private final Set<Long> unpublished = ConcurrentHashMap.newKeySet();
+    private final Timer searchTimer;
+    private final Timer buildTimer;
+    private final Counter publishErrors;
+
+    public CardSearchService(JdbcTemplate jdbcTemplate,
+                             StringRedisTemplate redisTemplate,
+                             RedisMessageListenerContainer listenerContainer,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${kanban.search.max-indexed-cards:1000000}") long maxIndexedCards,
+                             @Value("${kanban.search.idle-timeout:PT30M}") Duration idleTimeout,
+                             @Value("${kanban.search.max-age:PT6H}") Duration maxAge,
+                             @Value("${kanban.search.default-limit:20}") int defaultLimit,
+                             @Value("${kanban.search.max-limit:100}") int maxLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.maxAge = maxAge;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxIndexedCards)
+                .<Long, CardSearchIndex>weigher((boardId, index) -> index.weigh())
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "cardSearch.index");
+        this.searchTimer = Timer.builder("card.search").register(meterRegistry);
+        this.buildTimer = Timer.builder("card.search.index.build").register(meterRegistry);
+        this.publishErrors = Counter.builder("card.search.publish.errors").register(meterRegistry);
+        Gauge.builder("card.search.indexed.cards", indexes, this::indexedCards).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGES_CHANNEL));
+    }
+
+    /**
+     * Cards of the board matching every word of {@code query} by prefix.
+     *
+     * @throws BoardNotFoundException if the board does not exist or belongs to another user
+     */
+    public CardSearchResponse search(Long userId, Long boardId, String query, Integer limit) {
+        CardSearchIndex index = index(userId, boardId);
+        if (!index.ownerId().equals(userId)) {
+            throw new BoardNotFoundException(boardId);
+        }
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        CardSearchIndex.Result result = searchTimer.record(() -> index.search(query, size));
+        return CardSearchResponse.builder()
+                .query(query)
+                .total(result.total())
+                .cards(result.hits().stream()
+                        .map(hit -> new CardSearchHitResponse(hit.cardId(), hit.columnId(), hit.name()))
+                        .toList())
+                .build();
+    }
+
+    public void cardChanged(Long boardId, CardResponse card) {
+        afterCommit(new Change(Kind.PUT, boardId, card.getId(), card.getColumnId(), card.getName(),
+                card.getDescription(), null));
+    }
+
+    public void cardMoved(Long boardId, Long cardId, Long columnId) {
+        afterCommit(new Change(Kind.MOVE, boardId, cardId, columnId, null, null, null));
+    }
+
+    public void cardsRemoved(Long boardId, List<Long> cardIds) {
+        afterCommit(new Change(Kind.REMOVE, boardId, null, null, null, null, List.copyOf(cardIds)));
+    }
+
+    public void columnDeleted(Long boardId, Long columnId) {
+        afterCommit(new Change(Kind.REMOVE_COLUMN, boardId, null, columnId, null, null, null));
+    }
+
+    public void boardDeleted(Long boardId) {
+        afterCommit(new Change(Kind.DROP, boardId, null, null, null, null, null));
+    }
+
+    /**
+     * Drops the board's index everywhere, so it is rebuilt on the next search. Cheaper than
+     * broadcasting changes card by card when a request changed many cards.
+     */
+    public void invalidate(Long boardId) {
+        afterCommit(new Change(Kind.DROP, boardId, null, null, null, null, null));
+    }
+
+    /**
+     * Drops, on every node, the boards whose changes could not be broadcast.
+     */
+    @Scheduled(fixedDelayString = "${kanban.search.retry-interval:PT5S}")
+    public void republishDrops() {
+        for (Long boardId : unpublished) {
+            // Removed first, so a change that fails while this one is retried is not lost
+            unpublished.remove(boardId);
+            if (!publish(new Change(Kind.DROP, boardId, null, null, null, null, null))) {
+                // Redis is still unreachable; the rest would fail the same way
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            apply(objectMapper.readValue(message.getBody(), Change.class));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed search index change: {}", e.getMessage());
+        }
+    }
+
+    private double indexedCards(Cache<Long, CardSearchIndex> cache) {
+        // Weights are updated by Caffeine's maintenance, which may still be pending
+        cache.cleanUp();
+        return cache.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    private CardSearchIndex index(Long userId, Long boardId) {
+        CardSearchIndex index = indexes.getIfPresent(boardId);
+        if (index != null && index.isOlderThan(maxAge)) {
+            indexes.asMap().remove(boardId, index);
+            index = null;
+        }
+        return index != null ? index : buildOnce(userId, boardId);
+    }
+
+    private CardSearchIndex buildOnce(Long userId, Long boardId) {
+        // A user asking for someone else's board never causes a build
+        List<Long> owners = jdbcTemplate.queryForList(OWNER_SQL, Long.class, boardId);
+        if (owners.isEmpty() || !owners.getFirst().equals(userId)) {
+            throw new BoardNotFoundException(boardId);
+        }
+
+        Build mine = new Build();
+        Build running = builds.putIfAbsent(boardId, mine);
+        if (running != null) {
+            return running.await();
+        }
+        try {
+            CardSearchIndex index = build(boardId, userId);
+            indexes.put(boardId, index);
+            mine.finish(boardId, index);
+            return index;
+        } catch (RuntimeException e) {
+            mine.fail(e);
+            throw e;
+        } finally {
+            builds.remove(boardId, mine);
+        }
+    }
+
+    private CardSearchIndex build(Long boardId, Long ownerId) {
+        return buildTimer.record(() -> {
+            CardSearchIndex index = new CardSearchIndex(ownerId);
+            jdbcTemplate.query(CARDS_SQL, rs -> {
+                index.put(rs.getLong("id"), rs.getLong("list_id"), rs.getString("name"), rs.getString("description"));
+            }, boardId);
+            log.debug("Built search index of board {} with {} cards", boardId, index.size());
+            return index;
+        });
+    }
+
+    private void apply(Change change) {
+        Build build = builds.get(change.boardId());
+        if (build != null && build.defer(change)) {
+            return;
+        }
+        if (change.kind() == Kind.DROP) {
+            indexes.invalidate(change.boardId());
+            return;
+        }
+        // Quietly: a change is not a search and must not keep an idle board's index alive
+        CardSearchIndex index = indexes.policy().getIfPresentQuietly(change.boardId());
+        if (index != null) {
+            change.applyTo(index);
+            if (index.outgrewWeight()) {
+                // Caffeine weighs on writes only; this counts as an access, but happens only as a board
+                // grows or shrinks by half
+                indexes.asMap().replace(change.boardId(), index, index);
+            }
+        }
+    }
+
+    /**
+     * A build in progress. Changes arriving meanwhile are collected and applied to its result once
+     * it is cached; after that they go to the cached index directly.
+     */
+    private final class Build {
+
+        private final CompletableFuture<CardSearchIndex> result = new CompletableFuture<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Change> changes = new ArrayList<>();
+        private boolean finished;
+
+        /**
+         * Returns false once the build has finished.
+         */
+        boolean defer(Change change) {
+            lock.lock();
+            try {
+                if (!finished) {
+                    changes.add(change);
+                }
+                return !finished;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void finish(Long boardId, CardSearchIndex index) {
+            lock.lock();
+            try {
+                for (Change change : changes) {
+                    if (change.kind() == Kind.DROP) {
+                        indexes.asMap().remove(boardId, index);
+                    } else {
+                        change.applyTo(index);
+                    }
+                }
+                finished = true;
+            } finally {
+                lock.unlock();
+            }
+            result.complete(index);
+        }
+
+        void fail(RuntimeException e) {
+            lock.lock();
+            try {
+                finished = true;
+            } finally {
+                lock.unlock();
+            }
+            result.completeExceptionally(e);
+        }
+
+        CardSearchIndex await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void afterCommit(Change change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAndPublish(change);
+                }
+            });
+        } else {
+            applyAndPublish(change);
+        }
+    }
+
+    private void applyAndPublish(Change change) {
+        apply(change);
+        publish(change);
+    }
+
+    private boolean publish(Change change) {
+        try {
+            redisTemplate.convertAndSend(CHANGES_CHANNEL, objectMapper.writeValueAsString(change));
+            return true;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise search index change", e);
+        } catch (Exception e) {
+            publishErrors.increment();
+            unpublished.add(change.boardId());
+            log.warn("Failed to broadcast search index change of board {}, will drop it everywhere: {}",
+                    change.boardId(), e.getMessage());
+            return false;
+        }
+    }
+}
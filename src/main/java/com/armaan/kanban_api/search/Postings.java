@@ -0,0 +1,76 @@
+package com.armaan.kanban_api.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free card ids of one term, stored as a primitive array (8 bytes per entry).
+ */
+final class Postings {
+
+    private long[] ids = new long[2];
+    private int size;
+
+    void add(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    void copyInto(long[] target, int offset) {
+        System.arraycopy(ids, 0, target, offset, size);
+    }
+
+    /**
+     * The ids of the sorted {@code candidates} that are in this list, without copying it.
+     */
+    long[] retain(long[] candidates) {
+        long[] result = new long[candidates.length];
+        int count = 0;
+        if ((long) candidates.length * 20 < size) {
+            for (long id : candidates) {
+                if (Arrays.binarySearch(ids, 0, size, id) >= 0) {
+                    result[count++] = id;
+                }
+            }
+        } else {
+            int j = 0;
+            for (long id : candidates) {
+                while (j < size && ids[j] < id) {
+                    j++;
+                }
+                if (j < size && ids[j] == id) {
+                    result[count++] = id;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -1,13 +1,18 @@
 package com.armaan.kanban_api.security;
 
 
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.service.TokenRevocationService;
+import com.armaan.kanban_api.service.TokenVersionService;
 import com.armaan.kanban_api.util.JwtUtil;
+import com.armaan.kanban_api.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,6 +30,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${spring.security.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,7 +43,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
         final String requestPath = request.getRequestURI();
 
         // Skip JWT processing for auth endpoints
@@ -51,13 +60,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            username = jwtUtil.extractUsername(jwt);
-            log.debug("Extracted username from JWT: {}", username);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = authenticate(jwt);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -66,9 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("Successfully authenticated user: {}", username);
-                } else {
-                    log.warn("JWT token validation failed for user: {}", username);
+                    log.debug("Successfully authenticated user: {}", userDetails.getUsername());
                 }
             }
         } catch (Exception e) {
@@ -78,4 +82,51 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * The user a bearer token authenticates, or {@code null} when the token was revoked or no longer
+     * matches the user. Shared with the STOMP CONNECT handshake so both paths accept the same tokens.
+     *
+     * @throws io.jsonwebtoken.JwtException if the signature or expiry check fails
+     */
+    public UserDetails authenticate(String jwt) {
+        // Signature and expiry are checked once here; everything below reads the verified claims
+        VerifiedToken token = jwtUtil.verify(jwt);
+        String username = token.getSubject();
+        log.debug("Extracted username from JWT: {}", username);
+
+        if (username == null) {
+            return null;
+        }
+        if (tokenRevocationService.isRevoked(token)) {
+            log.debug("Rejected revoked token for user: {}", username);
+            return null;
+        }
+
+        UserDetails userDetails = resolveUserDetails(token);
+        if (userDetails == null || !token.isValidFor(userDetails)) {
+            log.warn("JWT token validation failed for user: {}", username);
+            return null;
+        }
+        return userDetails;
+    }
+
+    private UserDetails resolveUserDetails(VerifiedToken token) {
+        if (!stateless || !token.hasIdentityClaims()) {
+            return userDetailsService.loadUserByUsername(token.getSubject());
+        }
+
+        // Stateless mode: the principal comes from the signed claims, only the token version is looked up
+        if (!token.getEnabled() || !tokenVersionService.isCurrent(token.getUserId(), token.getTokenVersion())) {
+            log.debug("Token for user {} has been revoked or the account is disabled", token.getSubject());
+            return null;
+        }
+
+        return User.builder()
+                .id(token.getUserId())
+                .username(token.getSubject())
+                .isActive(token.getEnabled())
+                .tokenVersion(token.getTokenVersion())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.armaan.kanban_api.security;
+
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.repository.BoardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions with the bearer token sent in the CONNECT frame's
+ * {@code Authorization} header, exactly as {@link JwtAuthenticationFilter} does for HTTP, and only
+ * lets users subscribe to {@code /topic/boards/{id}} of their own boards.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String BOARD_TOPIC_PREFIX = "/topic/boards/";
+
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final BoardRepository boardRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor));
+            case SUBSCRIBE -> checkSubscription(accessor);
+            case SEND -> throw new AccessDeniedException("Clients cannot send to " + accessor.getDestination());
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new BadCredentialsException("Missing bearer token");
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = jwtAuthenticationFilter.authenticate(header.substring(7));
+        } catch (Exception e) {
+            log.debug("STOMP authentication failed: {}", e.getMessage());
+            userDetails = null;
+        }
+        if (userDetails == null) {
+            throw new BadCredentialsException("Invalid token");
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private void checkSubscription(StompHeaderAccessor accessor) {
+        if (!(accessor.getUser() instanceof UsernamePasswordAuthenticationToken authentication)
+                || !(authentication.getPrincipal() instanceof User user)) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+
+        String destination = accessor.getDestination();
+        Long boardId = null;
+        if (destination != null && destination.startsWith(BOARD_TOPIC_PREFIX)) {
+            try {
+                boardId = Long.valueOf(destination.substring(BOARD_TOPIC_PREFIX.length()));
+            } catch (NumberFormatException ignored) {
+                // Falls through to the denial below
+            }
+        }
+        if (boardId == null || !boardRepository.existsByIdAndOwnerId(boardId, user.getId())) {
+            throw new AccessDeniedException("Cannot subscribe to " + destination);
+        }
+    }
+}
@@ -2,15 +2,27 @@ package com.armaan.kanban_api.service;
 
 import com.armaan.kanban_api.dto.response.AuthResponse;
 import com.armaan.kanban_api.dto.request.LoginRequest;
+import com.armaan.kanban_api.dto.request.RefreshTokenRequest;
 import com.armaan.kanban_api.dto.request.RegisterRequest;
 import com.armaan.kanban_api.dto.response.UserProfileResponse;
 import com.armaan.kanban_api.entity.User;
 import com.armaan.kanban_api.exception.InvalidCredentialsException;
+import com.armaan.kanban_api.exception.InvalidTokenException;
+import com.armaan.kanban_api.exception.PasswordHashingUnavailableException;
 import com.armaan.kanban_api.exception.UserAlreadyExistsException;
+import com.armaan.kanban_api.exception.UserNotFoundException;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxService;
 import com.armaan.kanban_api.repository.UserRepository;
+import com.armaan.kanban_api.repository.projection.UserProfile;
 import com.armaan.kanban_api.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -19,6 +31,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -33,19 +46,22 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final LastLoginWriteBehind lastLoginWriteBehind;
+    private final UsernameAvailabilityService usernameAvailabilityService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenVersionService tokenVersionService;
+    private final LoginThrottleService loginThrottleService;
+    private final MeterRegistry meterRegistry;
+    private final OutboxService outboxService;
 
     public AuthResponse register(RegisterRequest request) {
-        log.info("Attempting to register user with username: {}", request.getUsername());
+        log.debug("Attempting to register user with username: {}", request.getUsername());
 
         try {
-            if (userRepository.existsByUsername(request.getUsername())) {
-                log.warn("Registration failed - Username already exists: {}", request.getUsername());
-                throw new UserAlreadyExistsException("Username '" + request.getUsername() + "' is already taken!");
-            }
-
-            if (userRepository.existsByEmail(request.getEmail())) {
-                log.warn("Registration failed - Email already exists: {}", request.getEmail());
-                throw new UserAlreadyExistsException("Email '" + request.getEmail() + "' is already in use!");
+            // In-memory check only, skips the BCrypt hash for obvious duplicates
+            if (usernameAvailabilityService.isKnownTaken(request.getUsername())) {
+                throw usernameTaken(request);
             }
 
             User user = User.builder()
@@ -59,14 +75,20 @@ public class AuthService {
                     .emailVerified(false)
                     .build();
 
-            User savedUser = userRepository.save(user);
+            // Single INSERT: the unique constraints are the real guard against duplicates
+            User savedUser = userRepository.saveAndFlush(user);
+            outboxService.append(DomainEvents.USER, savedUser.getId(), DomainEvents.USER_REGISTERED,
+                    new DomainEvents.UserEvent(savedUser.getId(), savedUser.getUsername()));
+            usernameAvailabilityService.markTaken(savedUser.getUsername());
             String token = jwtUtil.generateToken(savedUser);
+            String refreshToken = refreshTokenService.issue(savedUser);
 
             log.info("User registered successfully with ID: {} and username: {}",
                     savedUser.getId(), savedUser.getUsername());
 
             return AuthResponse.builder()
                     .token(token)
+                    .refreshToken(refreshToken)
                     .id(savedUser.getId())
                     .username(savedUser.getUsername())
                     .email(savedUser.getEmail())
@@ -77,8 +99,10 @@ public class AuthService {
                     .createdAt(savedUser.getCreatedAt())
                     .build();
 
-        } catch (UserAlreadyExistsException e) {
+        } catch (UserAlreadyExistsException | PasswordHashingUnavailableException e) {
             throw e;
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUser(request, e);
         } catch (Exception e) {
             log.error("Unexpected error during user registration for username: {}",
                     request.getUsername(), e);
@@ -86,40 +110,73 @@ public class AuthService {
         }
     }
 
-    public AuthResponse login(LoginRequest request) {
-        log.info("Attempting to authenticate user: {}", request.getUsernameOrEmail());
+    private RuntimeException duplicateUser(RegisterRequest request, DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : String.valueOf(e.getMostSpecificCause().getMessage());
+
+        // Matches both the named constraints and Postgres defaults (users_username_key / users_email_key)
+        if (constraint.toLowerCase().contains("email")) {
+            log.warn("Registration failed - Email already exists: {}", request.getEmail());
+            return new UserAlreadyExistsException("Email '" + request.getEmail() + "' is already in use!");
+        }
+        if (constraint.toLowerCase().contains("username")) {
+            return usernameTaken(request);
+        }
+
+        log.error("Registration failed on unexpected constraint: {}", constraint);
+        return new RuntimeException("Registration failed. Please try again later.", e);
+    }
+
+    private UserAlreadyExistsException usernameTaken(RegisterRequest request) {
+        log.warn("Registration failed - Username already exists: {}", request.getUsername());
+        return new UserAlreadyExistsException("Username '" + request.getUsername() + "' is already taken!");
+    }
+
+    /**
+     * Runs outside the class-level transaction: the credentials query and a password upgrade take a
+     * connection only for their own duration, never while waiting for or running BCrypt.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        log.debug("Attempting to authenticate user: {}", request.getUsernameOrEmail());
+
+        // Before any password hashing or database access
+        loginThrottleService.checkAllowed(request.getUsernameOrEmail(), clientIp);
 
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getUsernameOrEmail(),
-                            request.getPassword()
-                    )
-            );
+            Authentication authentication = authenticate(request);
 
             User user = (User) authentication.getPrincipal();
 
-            // Update last login time
-            userRepository.updateLastLoginTime(user.getId(), LocalDateTime.now());
+            // Written asynchronously in batches with the login event, keeps login free of database writes
+            lastLoginWriteBehind.record(user.getId(), user.getUsername(), LocalDateTime.now());
 
             String token = jwtUtil.generateToken(user);
+            String refreshToken = refreshTokenService.issue(user);
 
             log.info("User authenticated successfully: {} (ID: {})",
                     user.getUsername(), user.getId());
 
+            // The principal only holds credentials; the profile columns come from a primary-key read
+            User profile = userRepository.findProfileById(user.getId()).map(UserProfile::toUser).orElse(user);
+
             return AuthResponse.builder()
                     .token(token)
-                    .id(user.getId())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .firstName(user.getFirstName())
-                    .lastName(user.getLastName())
-                    .avatarUrl(user.getAvatarUrl())
-                    .emailVerified(user.getEmailVerified())
-                    .createdAt(user.getCreatedAt())
+                    .refreshToken(refreshToken)
+                    .id(profile.getId())
+                    .username(profile.getUsername())
+                    .email(profile.getEmail())
+                    .firstName(profile.getFirstName())
+                    .lastName(profile.getLastName())
+                    .avatarUrl(profile.getAvatarUrl())
+                    .emailVerified(profile.getEmailVerified())
+                    .createdAt(profile.getCreatedAt())
                     .build();
 
         } catch (BadCredentialsException e) {
+            loginThrottleService.recordFailure(request.getUsernameOrEmail(), clientIp);
             log.warn("Authentication failed for user: {} - Invalid credentials",
                     request.getUsernameOrEmail());
             throw new InvalidCredentialsException("Invalid username/email or password");
@@ -131,6 +188,8 @@ public class AuthService {
             log.warn("Authentication failed for user: {} - {}",
                     request.getUsernameOrEmail(), e.getMessage());
             throw new InvalidCredentialsException("Authentication failed");
+        } catch (PasswordHashingUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error during authentication for user: {}",
                     request.getUsernameOrEmail(), e);
@@ -138,15 +197,95 @@ public class AuthService {
         }
     }
 
-    public UserProfileResponse getUserProfile(String username) {
-        log.debug("Fetching profile for user: {}", username);
+    /**
+     * User lookup plus password verification, timed as one stage ({@code auth.login.authenticate}).
+     */
+    private Authentication authenticate(LoginRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsernameOrEmail(),
+                            request.getPassword()
+                    )
+            );
+            outcome = "success";
+            return authentication;
+        } finally {
+            sample.stop(Timer.builder("auth.login.authenticate").tag("outcome", outcome).register(meterRegistry));
+        }
+    }
+
+    /**
+     * Issues a new access token from a refresh token: one Redis call, a token version check and one
+     * HMAC signature, with no password hashing. The version check is served from a cache that expires
+     * after {@code spring.security.jwt.token-version-cache-ttl}, so a user refreshing less often than
+     * that costs one primary-key query per refresh. Runs outside the class-level transaction, so the
+     * query borrows a pooled connection only for its own duration.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        RefreshTokenService.RefreshedIdentity identity = rotation.identity();
+
+        if (!tokenVersionService.isCurrent(identity.userId(), identity.tokenVersion())) {
+            log.warn("Refresh rejected for user {} - tokens revoked or account disabled", identity.username());
+            refreshTokenService.revokeFamily(rotation.refreshToken());
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+
+        User user = User.builder()
+                .id(identity.userId())
+                .username(identity.username())
+                .isActive(true)
+                .tokenVersion(identity.tokenVersion())
+                .build();
 
-        User user = userRepository.findByUsername(username)
+        return AuthResponse.builder()
+                .token(jwtUtil.generateToken(user))
+                .refreshToken(rotation.refreshToken())
+                .id(identity.userId())
+                .username(identity.username())
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void logout(String token, String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revokeFamily(refreshToken);
+        }
+        if (token == null) {
+            return;
+        }
+        try {
+            tokenRevocationService.revoke(jwtUtil.verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Already expired or invalid, so there is nothing left to revoke
+            log.debug("Ignoring logout with invalid token: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The profile behind a principal, with the versions the ETag is built from. The principal only holds
+     * credentials in either authentication mode, so this is one primary-key read of the profile columns,
+     * outside the class-level transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public User getProfileUser(User principal) {
+        return userRepository.findProfileById(principal.getId())
+                .map(UserProfile::toUser)
                 .orElseThrow(() -> {
-                    log.warn("User profile not found: {}", username);
-                    return new RuntimeException("User not found");
+                    log.warn("User profile not found: {}", principal.getUsername());
+                    return new UserNotFoundException("User not found");
                 });
+    }
 
+    /**
+     * Built from the user returned by {@link #getProfileUser(User)}, which already holds every profile field.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserProfileResponse getUserProfile(User user) {
         return UserProfileResponse.builder()
                 .id(user.getId())
                 .username(user.getUsername())
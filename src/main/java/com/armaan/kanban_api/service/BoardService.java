@@ -0,0 +1,802 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.BoardSnapshotCache;
+import com.armaan.kanban_api.dto.request.*;
+import com.armaan.kanban_api.dto.response.BoardDetailResponse;
+import com.armaan.kanban_api.dto.response.BoardResponse;
+import com.armaan.kanban_api.dto.response.BulkCardResponse;
+import com.armaan.kanban_api.dto.response.CardPageResponse;
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.armaan.kanban_api.dto.response.ColumnResponse;
+import com.armaan.kanban_api.entity.Board;
+import com.armaan.kanban_api.entity.BoardColumn;
+import com.armaan.kanban_api.entity.Card;
+import com.armaan.kanban_api.entity.OutboxEvent;
+import com.armaan.kanban_api.exception.BoardNotFoundException;
+import com.armaan.kanban_api.exception.CardConflictException;
+import com.armaan.kanban_api.exception.CardNotFoundException;
+import com.armaan.kanban_api.exception.ColumnNotFoundException;
+import com.armaan.kanban_api.exception.InvalidCursorException;
+import com.armaan.kanban_api.exception.InvalidMoveException;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.DomainEvents.BoardEvent;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.realtime.BoardUpdateBroadcaster;
+import com.armaan.kanban_api.repository.BoardColumnRepository;
+import com.armaan.kanban_api.repository.BoardRepository;
+import com.armaan.kanban_api.repository.CardRepository;
+import com.armaan.kanban_api.search.CardSearchService;
+import com.armaan.kanban_api.util.RankKey;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Boards, columns and cards of one owner. Positions are rank keys ({@link RankKey}): creating or
+ * moving an item computes a key between its new neighbours and writes only that row, so the cost of
+ * a move does not depend on the size of the column. Moving a column takes a row lock on the board,
+ * creating cards a row lock on the column, so neither can pick a key twice.
+ * <p>
+ * Card moves take no exclusive lock: the card is read in one short transaction and written in another
+ * with a compare-and-set on its version, and the {@link Card#POSITION_CONSTRAINT} rejects a key another
+ * card took meanwhile. A move into another column share-locks that column for the write only. A lost
+ * race is reported as {@link CardConflictException} with the current state.
+ * <p>
+ * Every mutation is pushed to the board's WebSocket subscribers after commit ({@link BoardUpdateBroadcaster})
+ * and recorded as a domain event in the outbox, in the same transaction ({@link OutboxService}). Board
+ * views are served from {@link BoardSnapshotCache}, which every mutation invalidates. Card changes
+ * are also applied to the board's search index ({@link CardSearchService}).
+ * <p>
+ * Transactions are declared per method: reads are read-only and card moves run their own short ones.
+ */
+@Service
+@Slf4j
+public class BoardService {
+
+    // Bulk changes write whole rows, so every row of a batch shares one statement
+    private static final String BULK_UPDATE_SQL = """
+            UPDATE cards SET list_id = ?, name = ?, description = ?, rank_key = ?, due_date = ?, is_completed = ?,
+                             completed_at = ?, priority = ?, is_archived = ?, updated_at = ?, version = version + 1
+            WHERE id = ? AND version = ?
+            """;
+    private static final int[] BULK_UPDATE_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.BOOLEAN, Types.TIMESTAMP, Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP, Types.BIGINT,
+            Types.BIGINT};
+
+    private final BoardRepository boardRepository;
+    private final BoardColumnRepository columnRepository;
+    private final CardRepository cardRepository;
+    private final RankRebalancer rankRebalancer;
+    private final BoardUpdateBroadcaster boardUpdates;
+    private final OutboxService outboxService;
+    private final BoardSnapshotCache boardSnapshots;
+    private final CardSearchService cardSearch;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int cardPageSize;
+    private final int maxCardPageSize;
+
+    public BoardService(BoardRepository boardRepository,
+                        BoardColumnRepository columnRepository,
+                        CardRepository cardRepository,
+                        RankRebalancer rankRebalancer,
+                        BoardUpdateBroadcaster boardUpdates,
+                        OutboxService outboxService,
+                        BoardSnapshotCache boardSnapshots,
+                        CardSearchService cardSearch,
+                        JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${kanban.board.card-page-size:50}") int cardPageSize,
+                        @Value("${kanban.board.max-card-page-size:200}") int maxCardPageSize) {
+        this.boardRepository = boardRepository;
+        this.columnRepository = columnRepository;
+        this.cardRepository = cardRepository;
+        this.rankRebalancer = rankRebalancer;
+        this.boardUpdates = boardUpdates;
+        this.outboxService = outboxService;
+        this.boardSnapshots = boardSnapshots;
+        this.cardSearch = cardSearch;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.cardPageSize = cardPageSize;
+        this.maxCardPageSize = maxCardPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public List<BoardResponse> getBoards(Long userId) {
+        return boardRepository.findSummariesByOwner(userId);
+    }
+
+    /**
+     * All active boards of the user with their columns and the first page of every column's cards.
+     * Always three statements (boards, columns, cards), read straight into DTOs.
+     */
+    @Transactional(readOnly = true)
+    public List<BoardDetailResponse> getDashboard(Long userId) {
+        return withColumnsAndCards(boardRepository.findSummariesByOwner(userId));
+    }
+
+    @Transactional
+    public BoardResponse createBoard(Long userId, CreateBoardRequest request) {
+        Board board = Board.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .ownerId(userId)
+                .build();
+        if (request.getBackgroundColor() != null) {
+            board.setBackgroundColor(request.getBackgroundColor());
+        }
+        Board saved = boardRepository.save(board);
+        outboxService.append(DomainEvents.BOARD, saved.getId(), DomainEvents.BOARD_CREATED, BoardEvent.board(userId));
+        log.debug("Created board {} for user {}", saved.getId(), userId);
+        return toResponse(saved);
+    }
+
+    /**
+     * Cached snapshot of the board; a hit needs no database connection at all. Misses read the board
+     * in one read-only transaction.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BoardDetailResponse getBoard(Long userId, Long boardId) {
+        return boardSnapshots.get(userId, boardId, () -> readTransaction.execute(status -> {
+            BoardResponse board = boardRepository.findSummary(boardId, userId)
+                    .orElseThrow(() -> new BoardNotFoundException(boardId));
+            return withColumnsAndCards(List.of(board)).get(0);
+        }));
+    }
+
+    /**
+     * Keyset page of a column's cards, continuing after {@code cursor} (first page when null).
+     */
+    @Transactional(readOnly = true)
+    public CardPageResponse getCards(Long userId, Long boardId, Long columnId, String cursor, Integer limit) {
+        requireBoard(userId, boardId);
+        requireColumn(boardId, columnId);
+
+        int pageSize = limit == null ? cardPageSize : Math.clamp(limit, 1, maxCardPageSize);
+        String afterRank = "";
+        long afterId = 0;
+        if (cursor != null) {
+            int separator = cursor.indexOf('.');
+            if (separator <= 0 || !RankKey.isValid(cursor.substring(0, separator))) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            afterRank = cursor.substring(0, separator);
+            try {
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        }
+
+        List<CardResponse> cards = cardRepository.findPageAfter(columnId, afterRank, afterId, Limit.of(pageSize + 1));
+        String nextCursor = null;
+        if (cards.size() > pageSize) {
+            cards = cards.subList(0, pageSize);
+            nextCursor = cursorAfter(cards.get(pageSize - 1));
+        }
+        return CardPageResponse.builder()
+                .cards(cards)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional
+    public void deleteBoard(Long userId, Long boardId) {
+        requireBoard(userId, boardId);
+        cardRepository.deleteByBoard(boardId);
+        columnRepository.deleteByBoard(boardId);
+        boardRepository.deleteById(boardId);
+        outboxService.append(DomainEvents.BOARD, boardId, DomainEvents.BOARD_DELETED, BoardEvent.board(userId));
+        boardSnapshots.invalidate(boardId);
+        cardSearch.boardDeleted(boardId);
+        boardUpdates.boardDeleted(boardId);
+    }
+
+    @Transactional
+    public ColumnResponse createColumn(Long userId, Long boardId, CreateColumnRequest request) {
+        boardRepository.findByIdAndOwnerIdForUpdate(boardId, userId)
+                .orElseThrow(() -> new BoardNotFoundException(boardId));
+
+        String last = columnRepository.findFirstByBoardIdOrderByRankKeyDesc(boardId)
+                .map(BoardColumn::getRankKey)
+                .orElse(null);
+        BoardColumn column = columnRepository.save(BoardColumn.builder()
+                .boardId(boardId)
+                .name(request.getName())
+                .rankKey(RankKey.between(last, null))
+                .build());
+        rankRebalancer.columnRanked(boardId, column.getRankKey());
+        ColumnResponse response = toResponse(column, List.of());
+        outboxService.append(DomainEvents.BOARD, boardId, DomainEvents.COLUMN_CREATED,
+                BoardEvent.column(userId, column.getId(), column.getRankKey()));
+        boardSnapshots.invalidate(boardId);
+        boardUpdates.columnChanged(boardId, response);
+        return response;
+    }
+
+    @Transactional
+    public ColumnResponse moveColumn(Long userId, Long boardId, Long columnId, MoveColumnRequest request) {
+        boardRepository.findByIdAndOwnerIdForUpdate(boardId, userId)
+                .orElseThrow(() -> new BoardNotFoundException(boardId));
+        BoardColumn column = requireColumn(boardId, columnId);
+
+        BoardColumn previous = neighbourColumn(boardId, columnId, request.getPreviousColumnId());
+        BoardColumn next = neighbourColumn(boardId, columnId, request.getNextColumnId());
+        if (previous == null && next == null) {
+            previous = columnRepository.findFirstByBoardIdAndIdNotOrderByRankKeyDesc(boardId, columnId).orElse(null);
+        } else if (next == null) {
+            next = columnRepository.findFirstByBoardIdAndRankKeyGreaterThanAndIdNotOrderByRankKeyAsc(
+                    boardId, previous.getRankKey(), columnId).orElse(null);
+        } else if (previous == null) {
+            previous = columnRepository.findFirstByBoardIdAndRankKeyLessThanAndIdNotOrderByRankKeyDesc(
+                    boardId, next.getRankKey(), columnId).orElse(null);
+        }
+
+        column.setRankKey(rankBetween(rankOf(previous), rankOf(next)));
+        rankRebalancer.columnRanked(boardId, column.getRankKey());
+        outboxService.append(DomainEvents.BOARD, boardId, DomainEvents.COLUMN_MOVED,
+                BoardEvent.column(userId, columnId, column.getRankKey()));
+        boardSnapshots.invalidate(boardId);
+        boardUpdates.columnMoved(boardId, columnId, column.getRankKey());
+        return toResponse(column, null);
+    }
+
+    @Transactional
+    public void deleteColumn(Long userId, Long boardId, Long columnId) {
+        requireBoard(userId, boardId);
+        requireColumn(boardId, columnId);
+        cardRepository.deleteByColumn(columnId);
+        columnRepository.deleteById(columnId);
+        outboxService.append(DomainEvents.BOARD, boardId, DomainEvents.COLUMN_DELETED,
+                BoardEvent.column(userId, columnId, null));
+        boardSnapshots.invalidate(boardId);
+        cardSearch.columnDeleted(boardId, columnId);
+        boardUpdates.columnDeleted(boardId, columnId);
+    }
+
+    @Transactional
+    public CardResponse createCard(Long userId, Long boardId, Long columnId, CreateCardRequest request) {
+        requireBoard(userId, boardId);
+        lockColumn(boardId, columnId);
+
+        String last = cardRepository.findFirstByColumnIdOrderByRankKeyDesc(columnId)
+                .map(Card::getRankKey)
+                .orElse(null);
+        Card card = Card.builder()
+                .columnId(columnId)
+                .name(request.getName())
+                .description(request.getDescription())
+                .dueDate(request.getDueDate())
+                .rankKey(RankKey.between(last, null))
+                .build();
+        if (request.getPriority() != null) {
+            card.setPriority(request.getPriority());
+        }
+        Card saved;
+        try {
+            saved = cardRepository.saveAndFlush(card);
+        } catch (DataIntegrityViolationException e) {
+            // A move took the last position without the column lock
+            throw positionConflict(e, List.of());
+        }
+        rankRebalancer.cardRanked(columnId, saved.getRankKey());
+        CardResponse response = toResponse(saved);
+        outboxService.append(DomainEvents.BOARD, boardId, DomainEvents.CARD_CREATED,
+                BoardEvent.card(userId, columnId, saved.getId()));
+        boardSnapshots.invalidate(boardId);
+        cardSearch.cardChanged(boardId, response);
+        boardUpdates.cardChanged(boardId, response);
+        return response;
+    }
+
+    @Transactional
+    public CardResponse updateCard(Long userId, Long boardId, Long cardId, UpdateCardRequest request) {
+        requireBoard(userId, boardId);
+        Card card = requireCard(boardId, cardId);
+
+        applyUpdate(card, request.getName(), request.getDescription(), request.getPriority(), request.getDueDate(),
+                request.getCompleted());
+        // Writes the row now, so the response carries the version and updatedAt the next change must send
+        cardRepository.flush();
+        CardResponse response = toResponse(card);
+        outboxService.append(DomainEvents.BOARD, boardId, DomainEvents.CARD_UPDATED,
+                BoardEvent.card(userId, card.getColumnId(), cardId));
+        boardSnapshots.invalidate(boardId);
+        cardSearch.cardChanged(boardId, response);
+        boardUpdates.cardChanged(boardId, response);
+        return response;
+    }
+
+    /**
+     * Moves a card within or across columns without taking a lock: the neighbours are read in one
+     * read-only transaction, and a single conditional UPDATE writes the card only if its version is
+     * still the one read (or the one in the request). A concurrent change of the card, or another card
+     * taking the same key first, ends in a {@link CardConflictException} carrying the current state.
+     * <p>
+     * A move into another column also share-locks that column for the write and checks its version, so
+     * a rebalance of the target column since the read ({@link RankRebalancer}) is a conflict as well.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CardResponse moveCard(Long userId, Long boardId, Long cardId, MoveCardRequest request) {
+        Long columnId = request.getColumnId();
+        PlannedMove move = readTransaction.execute(status -> planMove(userId, boardId, cardId, request));
+        Card card = move.card();
+        if (request.getVersion() != null && !request.getVersion().equals(card.getVersion())) {
+            throw new CardConflictException("Card " + cardId + " was changed since version " + request.getVersion(),
+                    List.of(toResponse(card)));
+        }
+
+        Long fromColumnId = card.getColumnId();
+        LocalDateTime now = LocalDateTime.now();
+        int written;
+        try {
+            written = writeTransaction.execute(status -> {
+                if (move.columnVersion() != null && !columnUnchanged(columnId, move.columnVersion())) {
+                    return -1;
+                }
+                if (cardRepository.moveIfUnchanged(cardId, card.getVersion(), columnId, move.rankKey(), now) == 0) {
+                    return 0;
+                }
+                rankRebalancer.cardRanked(columnId, move.rankKey());
+                outboxService.append(DomainEvents.BOARD, boardId, DomainEvents.CARD_MOVED,
+                        BoardEvent.cardMoved(userId, fromColumnId, columnId, cardId, move.rankKey()));
+                boardSnapshots.invalidate(boardId);
+                cardSearch.cardMoved(boardId, cardId, columnId);
+                boardUpdates.cardMoved(boardId, cardId, columnId, move.rankKey());
+                return 1;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw positionConflict(e, currentCards(List.of(cardId), columnId, move.rankKey()));
+        }
+        if (written == 0) {
+            List<CardResponse> current = currentCards(List.of(cardId), null, null);
+            if (current.isEmpty()) {
+                throw new CardNotFoundException(cardId);
+            }
+            throw new CardConflictException("Card " + cardId + " was changed concurrently", current);
+        }
+        if (written < 0) {
+            throw new CardConflictException("Column " + columnId + " was reordered; retry with its current neighbours",
+                    currentCards(List.of(cardId), null, null));
+        }
+
+        CardResponse response = toResponse(card);
+        response.setColumnId(columnId);
+        response.setRank(move.rankKey());
+        response.setVersion(card.getVersion() + 1);
+        response.setUpdatedAt(now);
+        return response;
+    }
+
+    private PlannedMove planMove(Long userId, Long boardId, Long cardId, MoveCardRequest request) {
+        requireBoard(userId, boardId);
+        Card card = requireCard(boardId, cardId);
+        Long columnId = request.getColumnId();
+        BoardColumn column = requireColumn(boardId, columnId);
+
+        Card previous = neighbourCard(columnId, cardId, request.getPreviousCardId());
+        Card next = neighbourCard(columnId, cardId, request.getNextCardId());
+        if (previous == null && next == null) {
+            previous = cardRepository.findFirstByColumnIdAndIdNotOrderByRankKeyDesc(columnId, cardId).orElse(null);
+        } else if (next == null) {
+            next = cardRepository.findFirstByColumnIdAndRankKeyGreaterThanAndIdNotOrderByRankKeyAsc(
+                    columnId, previous.getRankKey(), cardId).orElse(null);
+        } else if (previous == null) {
+            previous = cardRepository.findFirstByColumnIdAndRankKeyLessThanAndIdNotOrderByRankKeyDesc(
+                    columnId, next.getRankKey(), cardId).orElse(null);
+        }
+        return new PlannedMove(card, rankBetween(previous == null ? null : previous.getRankKey(),
+                next == null ? null : next.getRankKey()),
+                card.getColumnId().equals(columnId) ? null : column.getVersion());
+    }
+
+    /**
+     * The card as read before the move, the rank key computed for it and, for a move into another
+     * column, the version of that column when its neighbours were read.
+     */
+    private record PlannedMove(Card card, String rankKey, Long columnVersion) {
+    }
+
+    private boolean columnUnchanged(Long columnId, Long version) {
+        return columnRepository.findByIdForShare(columnId)
+                .map(column -> column.getVersion().equals(version))
+                .orElse(false);
+    }
+
+    @Transactional
+    public void deleteCard(Long userId, Long boardId, Long cardId) {
+        requireBoard(userId, boardId);
+        Card card = requireCard(boardId, cardId);
+        cardRepository.delete(card);
+        outboxService.append(DomainEvents.BOARD, boardId, DomainEvents.CARD_DELETED,
+                BoardEvent.card(userId, card.getColumnId(), cardId));
+        boardSnapshots.invalidate(boardId);
+        cardSearch.cardsRemoved(boardId, List.of(cardId));
+        boardUpdates.cardDeleted(boardId, cardId);
+    }
+
+    /**
+     * Creates, updates, moves and archives many cards of a board in one transaction. The number of
+     * round trips does not grow per card: target columns are locked and their last ranks read in one
+     * statement each, and the existing cards are loaded in one. Hibernate writes the new cards in JDBC
+     * batches of {@code hibernate.jdbc.batch_size} (ids come from pooled sequences). Changed cards are
+     * written in one JDBC batch of their own, because Hibernate never batches {@code @DynamicUpdate}
+     * entities. The domain events go to the outbox as one batch, and subscribers get a single resync
+     * instead of a delta per card.
+     */
+    @Transactional
+    public BulkCardResponse bulkUpdateCards(Long userId, Long boardId, BulkCardRequest request) {
+        requireBoard(userId, boardId);
+        List<BulkCardRequest.Create> creates = orEmpty(request.getCreate());
+        List<BulkCardRequest.Update> updates = orEmpty(request.getUpdate());
+        List<BulkCardRequest.Move> moves = orEmpty(request.getMove());
+        List<Long> archives = orEmpty(request.getArchive());
+
+        Set<Long> targetColumns = new HashSet<>();
+        creates.forEach(create -> targetColumns.add(create.getColumnId()));
+        moves.forEach(move -> targetColumns.add(move.getColumnId()));
+        Map<Long, String> lastRanks = lockColumns(boardId, targetColumns);
+
+        Set<Long> cardIds = new HashSet<>(archives);
+        updates.forEach(update -> cardIds.add(update.getCardId()));
+        moves.forEach(move -> cardIds.add(move.getCardId()));
+        Map<Long, Card> cards = requireCards(boardId, cardIds);
+        Map<Long, Card> changed = new LinkedHashMap<>();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>();
+
+        List<Card> created = new ArrayList<>(creates.size());
+        for (BulkCardRequest.Create create : creates) {
+            Card card = Card.builder()
+                    .columnId(create.getColumnId())
+                    .name(create.getName())
+                    .description(create.getDescription())
+                    .dueDate(create.getDueDate())
+                    .rankKey(nextRank(lastRanks, create.getColumnId()))
+                    .build();
+            if (create.getPriority() != null) {
+                card.setPriority(create.getPriority());
+            }
+            created.add(card);
+        }
+        // Ids are assigned here, the INSERTs are batched at flush
+        cardRepository.saveAll(created);
+        for (Card card : created) {
+            events.add(outboxService.event(DomainEvents.BOARD, boardId, DomainEvents.CARD_CREATED,
+                    BoardEvent.card(userId, card.getColumnId(), card.getId()), now));
+        }
+
+        List<Card> updated = new ArrayList<>(updates.size());
+        for (BulkCardRequest.Update update : updates) {
+            Card card = cards.get(update.getCardId());
+            applyUpdate(card, update.getName(), update.getDescription(), update.getPriority(), update.getDueDate(),
+                    update.getCompleted());
+            updated.add(card);
+            changed.put(card.getId(), card);
+            events.add(outboxService.event(DomainEvents.BOARD, boardId, DomainEvents.CARD_UPDATED,
+                    BoardEvent.card(userId, card.getColumnId(), card.getId()), now));
+        }
+
+        List<Card> moved = new ArrayList<>(moves.size());
+        for (BulkCardRequest.Move move : moves) {
+            Card card = cards.get(move.getCardId());
+            Long fromColumnId = card.getColumnId();
+            card.setColumnId(move.getColumnId());
+            card.setRankKey(nextRank(lastRanks, move.getColumnId()));
+            moved.add(card);
+            changed.put(card.getId(), card);
+            events.add(outboxService.event(DomainEvents.BOARD, boardId, DomainEvents.CARD_MOVED,
+                    BoardEvent.cardMoved(userId, fromColumnId, card.getColumnId(), card.getId(), card.getRankKey()), now));
+        }
+
+        for (Long cardId : archives) {
+            Card card = cards.get(cardId);
+            card.setIsArchived(true);
+            changed.put(cardId, card);
+            events.add(outboxService.event(DomainEvents.BOARD, boardId, DomainEvents.CARD_ARCHIVED,
+                    BoardEvent.card(userId, card.getColumnId(), cardId), now));
+        }
+
+        if (!changed.isEmpty()) {
+            changed.values().forEach(card -> card.setUpdatedAt(now));
+            writeChanged(changed);
+            // Bumped by the UPDATE; responses carry the versions the next change must send
+            changed.values().forEach(card -> card.setVersion(card.getVersion() + 1));
+        }
+        outboxService.appendAll(events);
+        lastRanks.forEach(rankRebalancer::cardRanked);
+        boardSnapshots.invalidate(boardId);
+        cardSearch.invalidate(boardId);
+        boardUpdates.resync(boardId);
+        log.debug("Bulk change of board {}: {} created, {} updated, {} moved, {} archived",
+                boardId, created.size(), updated.size(), moved.size(), archives.size());
+        return BulkCardResponse.builder()
+                .created(created.stream().map(BoardService::toResponse).toList())
+                .updated(updated.stream().map(BoardService::toResponse).toList())
+                .moved(moved.stream().map(BoardService::toResponse).toList())
+                .archived(archives)
+                .build();
+    }
+
+    /**
+     * Writes the changed cards in one batch, each only if its version is still the one loaded. The new
+     * cards are flushed first, so that a rank key a lock-free move took meanwhile fails here as well.
+     */
+    private void writeChanged(Map<Long, Card> changed) {
+        int[] counts;
+        try {
+            cardRepository.flush();
+            counts = jdbcTemplate.batchUpdate(BULK_UPDATE_SQL,
+                    changed.values().stream().map(BoardService::bulkUpdateRow).toList(), BULK_UPDATE_TYPES);
+        } catch (DataIntegrityViolationException e) {
+            throw positionConflict(e, List.of());
+        }
+        List<Long> stale = new ArrayList<>();
+        int row = 0;
+        for (Long cardId : changed.keySet()) {
+            if (counts[row++] == 0) {
+                stale.add(cardId);
+            }
+        }
+        if (!stale.isEmpty()) {
+            throw new CardConflictException(stale.size() + " cards were changed concurrently",
+                    cardRepository.findCurrent(stale, null, null));
+        }
+    }
+
+    private List<BoardDetailResponse> withColumnsAndCards(List<BoardResponse> boards) {
+        if (boards.isEmpty()) {
+            return List.of();
+        }
+        List<Long> boardIds = boards.stream().map(BoardResponse::getId).toList();
+
+        // One card more than a page per column tells whether the column continues
+        Map<Long, List<CardResponse>> cardsByColumn = new HashMap<>();
+        for (CardResponse card : cardRepository.findFirstPages(boardIds, cardPageSize + 1L)) {
+            cardsByColumn.computeIfAbsent(card.getColumnId(), id -> new ArrayList<>()).add(card);
+        }
+
+        Map<Long, List<ColumnResponse>> columnsByBoard = new HashMap<>();
+        for (ColumnResponse column : columnRepository.findSummaries(boardIds)) {
+            List<CardResponse> cards = cardsByColumn.getOrDefault(column.getId(), List.of());
+            if (cards.size() > cardPageSize) {
+                cards = cards.subList(0, cardPageSize);
+                column.setNextCursor(cursorAfter(cards.get(cardPageSize - 1)));
+            }
+            column.setCards(cards);
+            columnsByBoard.computeIfAbsent(column.getBoardId(), id -> new ArrayList<>()).add(column);
+        }
+
+        return boards.stream()
+                .map(board -> BoardDetailResponse.builder()
+                        .board(board)
+                        .columns(columnsByBoard.getOrDefault(board.getId(), List.of()))
+                        .build())
+                .toList();
+    }
+
+    private static String cursorAfter(CardResponse card) {
+        return card.getRank() + "." + card.getId();
+    }
+
+    private Board requireBoard(Long userId, Long boardId) {
+        // Boards of other users are reported as missing, not as forbidden
+        return boardRepository.findByIdAndOwnerId(boardId, userId)
+                .orElseThrow(() -> new BoardNotFoundException(boardId));
+    }
+
+    private BoardColumn requireColumn(Long boardId, Long columnId) {
+        return columnRepository.findByIdAndBoardId(columnId, boardId)
+                .orElseThrow(() -> new ColumnNotFoundException(columnId));
+    }
+
+    private void lockColumn(Long boardId, Long columnId) {
+        columnRepository.findByIdForUpdate(columnId)
+                .filter(column -> column.getBoardId().equals(boardId))
+                .orElseThrow(() -> new ColumnNotFoundException(columnId));
+    }
+
+    private Card requireCard(Long boardId, Long cardId) {
+        return cardRepository.findInBoard(cardId, boardId)
+                .orElseThrow(() -> new CardNotFoundException(cardId));
+    }
+
+    /**
+     * Locks the columns and returns the last rank key of each (null for an empty column).
+     */
+    private Map<Long, String> lockColumns(Long boardId, Set<Long> columnIds) {
+        Map<Long, String> lastRanks = new HashMap<>();
+        if (columnIds.isEmpty()) {
+            return lastRanks;
+        }
+        for (BoardColumn column : columnRepository.findAllByIdForUpdate(columnIds)) {
+            if (column.getBoardId().equals(boardId)) {
+                lastRanks.put(column.getId(), null);
+            }
+        }
+        for (Long columnId : columnIds) {
+            if (!lastRanks.containsKey(columnId)) {
+                throw new ColumnNotFoundException(columnId);
+            }
+        }
+        cardRepository.findLastRanks(columnIds).forEach(last -> lastRanks.put(last.columnId(), last.rankKey()));
+        return lastRanks;
+    }
+
+    private static String nextRank(Map<Long, String> lastRanks, Long columnId) {
+        String rank = RankKey.between(lastRanks.get(columnId), null);
+        lastRanks.put(columnId, rank);
+        return rank;
+    }
+
+    private Map<Long, Card> requireCards(Long boardId, Set<Long> cardIds) {
+        Map<Long, Card> cards = new HashMap<>();
+        if (cardIds.isEmpty()) {
+            return cards;
+        }
+        for (Card card : cardRepository.findAllInBoard(cardIds, boardId)) {
+            cards.put(card.getId(), card);
+        }
+        for (Long cardId : cardIds) {
+            if (!cards.containsKey(cardId)) {
+                throw new CardNotFoundException(cardId);
+            }
+        }
+        return cards;
+    }
+
+    private static Object[] bulkUpdateRow(Card card) {
+        return new Object[]{card.getColumnId(), card.getName(), card.getDescription(), card.getRankKey(),
+                timestamp(card.getDueDate()), card.getIsCompleted(), timestamp(card.getCompletedAt()),
+                card.getPriority(), card.getIsArchived(), timestamp(card.getUpdatedAt()), card.getId(),
+                card.getVersion()};
+    }
+
+    /**
+     * Current state of the cards, and of the card holding {@code rankKey} in the column, read in a
+     * transaction of its own: the one that failed may no longer accept statements.
+     */
+    private List<CardResponse> currentCards(List<Long> cardIds, Long columnId, String rankKey) {
+        return readTransaction.execute(status -> cardRepository.findCurrent(cardIds, columnId, rankKey));
+    }
+
+    private static CardConflictException positionConflict(DataIntegrityViolationException e,
+                                                          List<CardResponse> current) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : String.valueOf(e.getMostSpecificCause().getMessage());
+        if (!constraint.toLowerCase().contains(Card.POSITION_CONSTRAINT)) {
+            throw e;
+        }
+        return new CardConflictException("Another card took this position; retry with its current neighbours",
+                current);
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+
+    private static void applyUpdate(Card card, String name, String description, String priority,
+                                    LocalDateTime dueDate, Boolean completed) {
+        if (name != null) {
+            card.setName(name);
+        }
+        if (description != null) {
+            card.setDescription(description);
+        }
+        if (priority != null) {
+            card.setPriority(priority);
+        }
+        if (dueDate != null) {
+            card.setDueDate(dueDate);
+        }
+        if (completed != null && !completed.equals(card.getIsCompleted())) {
+            card.setIsCompleted(completed);
+            card.setCompletedAt(completed ? LocalDateTime.now() : null);
+        }
+    }
+
+    private static <T> List<T> orEmpty(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+
+    private BoardColumn neighbourColumn(Long boardId, Long movedId, Long neighbourId) {
+        if (neighbourId == null) {
+            return null;
+        }
+        if (neighbourId.equals(movedId)) {
+            throw new InvalidMoveException("A column cannot be its own neighbour");
+        }
+        return requireColumn(boardId, neighbourId);
+    }
+
+    private Card neighbourCard(Long columnId, Long movedId, Long neighbourId) {
+        if (neighbourId == null) {
+            return null;
+        }
+        if (neighbourId.equals(movedId)) {
+            throw new InvalidMoveException("A card cannot be its own neighbour");
+        }
+        Card neighbour = cardRepository.findById(neighbourId)
+                .orElseThrow(() -> new CardNotFoundException(neighbourId));
+        if (!neighbour.getColumnId().equals(columnId)) {
+            throw new InvalidMoveException("Card " + neighbourId + " is not in column " + columnId);
+        }
+        return neighbour;
+    }
+
+    private static String rankBetween(String previous, String next) {
+        if (previous != null && next != null && previous.compareTo(next) >= 0) {
+            throw new InvalidMoveException("The previous item must come before the next item");
+        }
+        return RankKey.between(previous, next);
+    }
+
+    private static String rankOf(BoardColumn column) {
+        return column == null ? null : column.getRankKey();
+    }
+
+    private static BoardResponse toResponse(Board board) {
+        return BoardResponse.builder()
+                .id(board.getId())
+                .name(board.getName())
+                .description(board.getDescription())
+                .backgroundColor(board.getBackgroundColor())
+                .isArchived(board.getIsArchived())
+                .createdAt(board.getCreatedAt())
+                .updatedAt(board.getUpdatedAt())
+                .build();
+    }
+
+    private static ColumnResponse toResponse(BoardColumn column, List<CardResponse> cards) {
+        return ColumnResponse.builder()
+                .id(column.getId())
+                .boardId(column.getBoardId())
+                .name(column.getName())
+                .rank(column.getRankKey())
+                .cards(cards)
+                .build();
+    }
+
+    private static CardResponse toResponse(Card card) {
+        return CardResponse.builder()
+                .id(card.getId())
+                .columnId(card.getColumnId())
+                .name(card.getName())
+                .description(card.getDescription())
+                .rank(card.getRankKey())
+                .priority(card.getPriority())
+                .dueDate(card.getDueDate())
+                .isCompleted(card.getIsCompleted())
+                .completedAt(card.getCompletedAt())
+                .createdAt(card.getCreatedAt())
+                .updatedAt(card.getUpdatedAt())
+                .version(card.getVersion())
+                .build();
+    }
+}
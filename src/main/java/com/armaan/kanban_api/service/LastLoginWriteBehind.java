@@ -0,0 +1,192 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.UserDetailsCache;
+import com.armaan.kanban_api.entity.OutboxEvent;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers last-login timestamps so that login performs no database write. Updates are coalesced
+ * per user (latest timestamp wins) and written as one JDBC batch on a fixed interval, as soon as
+ * the buffer reaches the size threshold, and once more on shutdown.
+ * <p>
+ * {@code user.logged_in} domain events ride along: every login is queued (not coalesced) and the
+ * events are appended to the outbox in the same transaction as the timestamp batch. When the queue is
+ * full, further login events are dropped and counted rather than slowing down login.
+ * <p>
+ * Cached user details of the flushed users are evicted once the batch commits, so no node keeps
+ * serving a principal read before the flush.
+ */
+@Component
+@Slf4j
+public class LastLoginWriteBehind {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+    private static final String CACHE_KEYS_SQL = "SELECT username, email FROM users WHERE id IN (%s)";
+    // Bind parameters per lookup; a backlog after an outage can exceed the driver's limit otherwise
+    static final int CACHE_KEYS_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskExecutor taskExecutor;
+    private final OutboxService outboxService;
+    private final UserDetailsCache userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushThreshold;
+    private final Timer flushTimer;
+    private final Counter droppedEvents;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final LinkedBlockingDeque<OutboxEvent> pendingEvents;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean thresholdFlushQueued = new AtomicBoolean();
+
+    public LastLoginWriteBehind(JdbcTemplate jdbcTemplate,
+                                @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                OutboxService outboxService,
+                                UserDetailsCache userDetailsCache,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${kanban.last-login.flush-threshold:500}") int flushThreshold,
+                                @Value("${kanban.last-login.max-pending-events:10000}") int maxPendingEvents) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskExecutor = taskExecutor;
+        this.outboxService = outboxService;
+        this.userDetailsCache = userDetailsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushThreshold = flushThreshold;
+        this.pendingEvents = new LinkedBlockingDeque<>(maxPendingEvents);
+        this.flushTimer = Timer.builder("auth.lastlogin.flush").register(meterRegistry);
+        this.droppedEvents = Counter.builder("auth.lastlogin.events.dropped").register(meterRegistry);
+        Gauge.builder("auth.lastlogin.pending", pending, Map::size).register(meterRegistry);
+        Gauge.builder("auth.lastlogin.pending_events", pendingEvents, LinkedBlockingDeque::size).register(meterRegistry);
+    }
+
+    public void record(Long userId, LocalDateTime loginTime) {
+        record(userId, null, loginTime);
+    }
+
+    /**
+     * Records the login time and queues a {@code user.logged_in} event for the outbox.
+     */
+    public void record(Long userId, String username, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+        if (username != null && !pendingEvents.offerLast(outboxService.event(DomainEvents.USER, userId,
+                DomainEvents.USER_LOGGED_IN, new DomainEvents.UserEvent(userId, username), loginTime))) {
+            droppedEvents.increment();
+        }
+
+        if (pending.size() >= flushThreshold && thresholdFlushQueued.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                thresholdFlushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.last-login.flush-interval:PT5S}")
+    public void flush() {
+        if ((pending.isEmpty() && pendingEvents.isEmpty()) || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drainAndWrite();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        // Waits for an in-flight flush instead of skipping
+        flushLock.lock();
+        try {
+            drainAndWrite();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drainAndWrite() {
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        Map<Long, LocalDateTime> drained = new HashMap<>();
+        for (Long userId : new ArrayList<>(pending.keySet())) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                drained.put(userId, loginTime);
+                Timestamp timestamp = Timestamp.valueOf(loginTime);
+                batch.add(new Object[]{timestamp, userId, timestamp});
+            }
+        }
+        List<OutboxEvent> events = new ArrayList<>(pendingEvents.size());
+        pendingEvents.drainTo(events);
+        if (batch.isEmpty() && events.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+                    evictCachedUsers(drained.keySet());
+                }
+                outboxService.appendAll(events);
+            }));
+            log.debug("Flushed {} last-login updates and {} login events", batch.size(), events.size());
+        } catch (Exception e) {
+            // Put them back; a newer login recorded meanwhile still wins
+            drained.forEach((userId, loginTime) ->
+                    pending.merge(userId, loginTime, (current, old) -> current.isAfter(old) ? current : old));
+            // Ahead of the events queued meanwhile, in their original order
+            for (int i = events.size() - 1; i >= 0; i--) {
+                if (!pendingEvents.offerFirst(events.get(i))) {
+                    droppedEvents.increment();
+                }
+            }
+            log.warn("Failed to flush {} last-login updates: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Registered within the flush transaction, so the eviction happens after commit.
+     */
+    private void evictCachedUsers(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        List<String> keys = new ArrayList<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += CACHE_KEYS_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CACHE_KEYS_CHUNK, ids.size()));
+            jdbcTemplate.query(CACHE_KEYS_SQL.formatted(String.join(",", Collections.nCopies(chunk.size(), "?"))),
+                    rs -> {
+                        keys.add(rs.getString("username"));
+                        keys.add(rs.getString("email"));
+                    }, chunk.toArray());
+        }
+        userDetailsCache.evict(keys.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,347 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.exception.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Throttles failed logins per account and per client IP before any password hashing happens.
+ * <p>
+ * Each node keeps a token bucket per key that is drained by failed attempts, so a throttled attempt
+ * is rejected from memory. Failures are also counted cluster-wide in Redis sliding-window counters:
+ * a periodic sync pushes the local deltas, drains the local buckets to the cluster-wide count and
+ * blocks keys that went over the limit. Blocks are broadcast over pub/sub to the other nodes.
+ * If Redis is unavailable the local buckets keep working on their own.
+ * <p>
+ * Both window counters of a throttle key are hash-tagged on that key, so they share a cluster slot
+ * and each key is synced with a script call of its own.
+ */
+@Service
+@Slf4j
+public class LoginThrottleService implements MessageListener {
+
+    static final String COUNTER_PREFIX = "login-throttle:";
+    static final String BLOCKED_CHANNEL = "login-throttle:blocked";
+
+    // KEYS: current window, previous window. ARGV: ttl millis, delta. Returns current and previous counts.
+    private static final RedisScript<List> SYNC_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('INCRBY', KEYS[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return {current, tonumber(redis.call('GET', KEYS[2]) or '0')}
+            """, List.class);
+
+    public enum Scope {
+        ACCOUNT, IP;
+
+        String key(String value) {
+            return name().toLowerCase(Locale.ROOT) + ":" + value;
+        }
+    }
+
+    /**
+     * A throttled key as shown on the admin endpoint.
+     */
+    public record ThrottledKey(String key, long retryAfterSeconds) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final int maxAccountFailures;
+    private final int maxIpFailures;
+    private final Duration window;
+    private final Duration blockDuration;
+
+    private final Cache<String, TokenBucket> buckets;
+    // Key -> blocked until (epoch millis)
+    private final Map<String, Long> blockedUntil = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> pendingFailures = new ConcurrentHashMap<>();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final Counter accountRejections;
+    private final Counter ipRejections;
+    private final Counter blocks;
+
+    public LoginThrottleService(StringRedisTemplate redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                MeterRegistry meterRegistry,
+                                @Value("${kanban.login-throttle.account.max-failures:10}") int maxAccountFailures,
+                                @Value("${kanban.login-throttle.ip.max-failures:100}") int maxIpFailures,
+                                @Value("${kanban.login-throttle.window:PT15M}") Duration window,
+                                @Value("${kanban.login-throttle.block-duration:PT15M}") Duration blockDuration,
+                                @Value("${kanban.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.maxAccountFailures = maxAccountFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.window = window;
+        this.blockDuration = blockDuration;
+        // Idle buckets are full again after one window, so they can be dropped
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(window)
+                .build();
+
+        this.accountRejections = Counter.builder("auth.login.throttle.rejected").tag("scope", "account").register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.throttle.rejected").tag("scope", "ip").register(meterRegistry);
+        this.blocks = Counter.builder("auth.login.throttle.blocks").register(meterRegistry);
+        Gauge.builder("auth.login.throttle.blocked", blockedUntil, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(BLOCKED_CHANNEL));
+    }
+
+    /**
+     * Rejects the attempt if either the account or the client IP is throttled. Memory only.
+     *
+     * @throws TooManyLoginAttemptsException with the seconds until the next attempt is allowed
+     */
+    public void checkAllowed(String account, String clientIp) {
+        check(Scope.ACCOUNT.key(normalize(account)), accountRejections);
+        if (clientIp != null) {
+            check(Scope.IP.key(clientIp), ipRejections);
+        }
+    }
+
+    public void recordFailure(String account, String clientIp) {
+        recordFailure(Scope.ACCOUNT.key(normalize(account)), maxAccountFailures);
+        if (clientIp != null) {
+            recordFailure(Scope.IP.key(clientIp), maxIpFailures);
+        }
+    }
+
+    public List<ThrottledKey> throttledKeys() {
+        long now = System.currentTimeMillis();
+        List<ThrottledKey> throttled = new ArrayList<>();
+        blockedUntil.forEach((key, until) -> {
+            if (until > now) {
+                throttled.add(new ThrottledKey(key, retryAfterSeconds(until - now)));
+            }
+        });
+        buckets.asMap().forEach((key, bucket) -> {
+            long waitNanos = bucket.waitNanos(System.nanoTime());
+            if (waitNanos > 0 && !blockedUntil.containsKey(key)) {
+                throttled.add(new ThrottledKey(key, retryAfterSeconds(Duration.ofNanos(waitNanos).toMillis())));
+            }
+        });
+        return throttled;
+    }
+
+    /**
+     * Lifts a throttle on this node and resets the key's counters in Redis.
+     */
+    public void unblock(String key) {
+        blockedUntil.remove(key);
+        buckets.invalidate(key);
+        pendingFailures.remove(key);
+        try {
+            long windowIndex = windowIndex(System.currentTimeMillis());
+            redisTemplate.delete(List.of(counterKey(key, windowIndex), counterKey(key, windowIndex - 1)));
+        } catch (Exception e) {
+            log.warn("Could not reset login throttle counters for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void check(String key, Counter rejections) {
+        Long until = blockedUntil.get(key);
+        long now = System.currentTimeMillis();
+        if (until != null) {
+            if (until > now) {
+                rejections.increment();
+                throw new TooManyLoginAttemptsException("Too many failed login attempts", retryAfterSeconds(until - now));
+            }
+            blockedUntil.remove(key, until);
+        }
+
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            long waitNanos = bucket.waitNanos(System.nanoTime());
+            if (waitNanos > 0) {
+                rejections.increment();
+                throw new TooManyLoginAttemptsException("Too many failed login attempts",
+                        retryAfterSeconds(Duration.ofNanos(waitNanos).toMillis()));
+            }
+        }
+    }
+
+    private void recordFailure(String key, int limit) {
+        bucket(key, limit).consume(System.nanoTime());
+        pendingFailures.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private TokenBucket bucket(String key, int limit) {
+        return buckets.get(key, k -> new TokenBucket(limit, window.toNanos() / limit));
+    }
+
+    /**
+     * Pushes local failure counts to Redis and applies the cluster-wide counts to the local buckets.
+     */
+    @Scheduled(fixedDelayString = "${kanban.login-throttle.sync-interval:PT1S}")
+    public void sync() {
+        if (pendingFailures.isEmpty() || !syncLock.tryLock()) {
+            return;
+        }
+        try {
+            syncPending();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void syncPending() {
+        Map<String, Long> deltas = new HashMap<>();
+        for (String key : new ArrayList<>(pendingFailures.keySet())) {
+            LongAdder adder = pendingFailures.remove(key);
+            if (adder != null) {
+                deltas.put(key, adder.sum());
+            }
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        long windowMillis = window.toMillis();
+        long windowIndex = windowIndex(nowMillis);
+        String ttlMillis = String.valueOf(windowMillis * 2);
+        // Sliding window estimate: the previous window's count, weighted by how much of it still overlaps
+        double previousWeight = 1.0 - (double) (nowMillis % windowMillis) / windowMillis;
+
+        int failed = 0;
+        String lastError = null;
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            String key = delta.getKey();
+            List<Long> counts;
+            try {
+                counts = redisTemplate.execute(SYNC_SCRIPT,
+                        List.of(counterKey(key, windowIndex), counterKey(key, windowIndex - 1)),
+                        ttlMillis, String.valueOf(delta.getValue()));
+            } catch (Exception e) {
+                // The local bucket already counted these failures; the cluster view is skipped for this round
+                failed++;
+                lastError = e.getMessage();
+                continue;
+            }
+            if (counts == null) {
+                continue;
+            }
+
+            double estimate = counts.get(0) + counts.get(1) * previousWeight;
+            int limit = key.startsWith(Scope.IP.key("")) ? maxIpFailures : maxAccountFailures;
+            bucket(key, limit).drainTo(System.nanoTime(), (long) estimate);
+            if (estimate >= limit) {
+                block(key, nowMillis + blockDuration.toMillis());
+            }
+        }
+        if (failed > 0) {
+            log.warn("Failed to sync {} of {} login throttle counters: {}", failed, deltas.size(), lastError);
+        }
+    }
+
+    private void block(String key, long until) {
+        if (blockedUntil.merge(key, until, Math::max) == until) {
+            blocks.increment();
+            log.warn("Throttling logins for {} until {}", key, Instant.ofEpochMilli(until));
+            try {
+                redisTemplate.convertAndSend(BLOCKED_CHANNEL, until + "|" + key);
+            } catch (Exception e) {
+                log.warn("Could not broadcast login throttle for {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator > 0) {
+            blockedUntil.merge(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)), Math::max);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.login-throttle.sync-interval:PT1S}")
+    public void purgeExpiredBlocks() {
+        long now = System.currentTimeMillis();
+        blockedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private long windowIndex(long epochMillis) {
+        return epochMillis / window.toMillis();
+    }
+
+    private static String counterKey(String key, long windowIndex) {
+        return COUNTER_PREFIX + "{" + key + "}:" + windowIndex;
+    }
+
+    private static String normalize(String account) {
+        return account == null ? "" : account.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long retryAfterSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    /**
+     * Token bucket in its GCRA form: a single timestamp of when the bucket will be full again.
+     * Each failure pushes it forward by one emission interval; the bucket is empty once that
+     * timestamp is a full window ahead of now. Lock-free.
+     */
+    static final class TokenBucket {
+
+        private final long emissionIntervalNanos;
+        private final long capacityNanos;
+        private final AtomicLong fullAt;
+
+        TokenBucket(int capacity, long emissionIntervalNanos) {
+            this.emissionIntervalNanos = emissionIntervalNanos;
+            this.capacityNanos = emissionIntervalNanos * capacity;
+            this.fullAt = new AtomicLong(System.nanoTime());
+        }
+
+        void consume(long now) {
+            fullAt.getAndUpdate(current -> Math.max(current, now) + emissionIntervalNanos);
+        }
+
+        /**
+         * Makes the bucket hold no more tokens than {@code used} failures leave.
+         */
+        void drainTo(long now, long used) {
+            long target = now + Math.min(used, capacityNanos / emissionIntervalNanos) * emissionIntervalNanos;
+            fullAt.getAndUpdate(current -> Math.max(current, target));
+        }
+
+        /**
+         * Nanos until a token is available again, zero if one is available now.
+         */
+        long waitNanos(long now) {
+            return Math.max(0, fullAt.get() - now - capacityNanos + emissionIntervalNanos);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.BoardSnapshotCache;
+import com.armaan.kanban_api.entity.BoardColumn;
+import com.armaan.kanban_api.realtime.BoardUpdateBroadcaster;
+import com.armaan.kanban_api.repository.BoardColumnRepository;
+import com.armaan.kanban_api.util.RankKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rewrites the rank keys of a column's cards (or a board's columns) to short, evenly spaced keys once
+ * a key grows past {@code kanban.ranking.max-key-length}. Containers are flagged when such a key is
+ * written and rebalanced in the background, one transaction each, under the column's (board's) row
+ * lock that card creates and bulk changes (column moves) also take. Only {@code rank_key} and
+ * {@code version} are written, and only for rows still in that container. A card move within the
+ * column that read the old keys fails the version check on the card itself. A card moved in from
+ * another column keeps its version, so rebalancing a column also bumps the column's version: such a
+ * move share-locks the target column and checks that version, so it cannot land on a key computed
+ * from parked neighbours. Subscribers of the board are asked to resync, since every key they hold
+ * changed.
+ * <p>
+ * Flags live in memory: after a restart a container is picked up again with its next long key.
+ */
+@Component
+@Slf4j
+public class RankRebalancer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoardColumnRepository columnRepository;
+    private final BoardUpdateBroadcaster boardUpdates;
+    private final BoardSnapshotCache boardSnapshots;
+    private final int maxKeyLength;
+
+    private final Set<Long> pendingColumns = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingBoards = ConcurrentHashMap.newKeySet();
+
+    public RankRebalancer(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          BoardColumnRepository columnRepository,
+                          BoardUpdateBroadcaster boardUpdates,
+                          BoardSnapshotCache boardSnapshots,
+                          @Value("${kanban.ranking.max-key-length:24}") int maxKeyLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.columnRepository = columnRepository;
+        this.boardUpdates = boardUpdates;
+        this.boardSnapshots = boardSnapshots;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    public void cardRanked(Long columnId, String rankKey) {
+        if (rankKey.length() > maxKeyLength) {
+            pendingColumns.add(columnId);
+        }
+    }
+
+    public void columnRanked(Long boardId, String rankKey) {
+        if (rankKey.length() > maxKeyLength) {
+            pendingBoards.add(boardId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.ranking.rebalance-interval:PT1M}")
+    public void rebalancePending() {
+        for (Long columnId : drain(pendingColumns)) {
+            run(() -> rebalanceColumn(columnId), "column", columnId);
+        }
+        for (Long boardId : drain(pendingBoards)) {
+            run(() -> rebalanceBoard(boardId), "board", boardId);
+        }
+    }
+
+    void rebalanceColumn(Long columnId) {
+        Optional<BoardColumn> column = columnRepository.findByIdForUpdate(columnId);
+        if (column.isEmpty()) {
+            return;
+        }
+        // Cards moved in from other columns check this version (see the class comment)
+        jdbcTemplate.update("UPDATE lists SET version = version + 1 WHERE id = ?", columnId);
+        List<Long> cardIds = jdbcTemplate.queryForList(
+                "SELECT id FROM cards WHERE list_id = ? ORDER BY rank_key, id", Long.class, columnId);
+        // Park the old keys outside the key alphabet first, so no new key collides with an old one
+        // under the (list_id, rank_key) unique constraint
+        jdbcTemplate.batchUpdate("UPDATE cards SET rank_key = rank_key || '~' WHERE id = ? AND list_id = ?",
+                cardIds.stream().map(id -> new Object[]{id, columnId}).toList());
+        rewrite("UPDATE cards SET rank_key = ?, version = version + 1 WHERE id = ? AND list_id = ?",
+                cardIds, columnId);
+        boardSnapshots.invalidate(column.get().getBoardId());
+        boardUpdates.resync(column.get().getBoardId());
+        log.info("Rebalanced {} card ranks in column {}", cardIds.size(), columnId);
+    }
+
+    void rebalanceBoard(Long boardId) {
+        // Same row lock as column moves
+        if (jdbcTemplate.queryForList("SELECT id FROM boards WHERE id = ? FOR UPDATE", Long.class, boardId).isEmpty()) {
+            return;
+        }
+        List<Long> columnIds = jdbcTemplate.queryForList(
+                "SELECT id FROM lists WHERE board_id = ? ORDER BY rank_key, id", Long.class, boardId);
+        rewrite("UPDATE lists SET rank_key = ?, version = version + 1 WHERE id = ? AND board_id = ?",
+                columnIds, boardId);
+        boardSnapshots.invalidate(boardId);
+        boardUpdates.resync(boardId);
+        log.info("Rebalanced {} column ranks in board {}", columnIds.size(), boardId);
+    }
+
+    private void rewrite(String sql, List<Long> ids, Long containerId) {
+        String[] keys = RankKey.evenlySpaced(ids.size());
+        List<Object[]> batch = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            batch.add(new Object[]{keys[i], ids.get(i), containerId});
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    private void run(Runnable rebalance, String kind, Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> rebalance.run());
+        } catch (Exception e) {
+            log.warn("Failed to rebalance ranks of {} {}: {}", kind, id, e.getMessage());
+        }
+    }
+
+    private static List<Long> drain(Set<Long> pending) {
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        return ids;
+    }
+}
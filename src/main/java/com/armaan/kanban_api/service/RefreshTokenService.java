@@ -0,0 +1,151 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.exception.InvalidTokenException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens stored in Redis. Each login starts a token family; every refresh
+ * rotates the token inside the family with one atomic script call. Presenting a token that was already
+ * rotated away means it leaked, so the whole family is revoked.
+ * <p>
+ * A family is a single key, {@code refresh-family:{<family id>}}, holding the SHA-256 hash of its one
+ * valid token followed by the identity; the tokens themselves are never stored. With one key per family
+ * the script touches only keys it is given, all in one cluster slot. The family's TTL is extended on
+ * every rotation, which gives sliding sessions.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final String FAMILY_PREFIX = "refresh-family:";
+    private static final String REUSED = "REUSED";
+    private static final char SEPARATOR = '|';
+
+    // KEYS: family. ARGV: presented hash, rotated hash, ttl millis. Value: <current hash>|<identity>
+    private static final RedisScript<String> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local value = redis.call('GET', KEYS[1])
+            if not value then
+              return false
+            end
+            local separator = string.find(value, '|', 1, true)
+            if string.sub(value, 1, separator - 1) ~= ARGV[1] then
+              redis.call('DEL', KEYS[1])
+              return 'REUSED'
+            end
+            local identity = string.sub(value, separator + 1)
+            redis.call('SET', KEYS[1], ARGV[2] .. '|' .. identity, 'PX', ARGV[3])
+            return identity
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(StringRedisTemplate redisTemplate,
+                               @Value("${kanban.refresh-token.ttl:P14D}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Identity carried by a refresh token, enough to sign a new access token without a database read.
+     */
+    public record RefreshedIdentity(Long userId, int tokenVersion, String username) {
+    }
+
+    public String issue(User user) {
+        String familyId = UUID.randomUUID().toString();
+        String token = newToken(familyId);
+
+        redisTemplate.opsForValue().set(familyKey(familyId), hash(token) + SEPARATOR + encode(user), ttl);
+        return token;
+    }
+
+    /**
+     * Consumes the presented token and returns its identity together with its single-use successor.
+     *
+     * @throws InvalidTokenException if the token is unknown, expired or was already used
+     */
+    public Rotation rotate(String refreshToken) {
+        String familyId = familyId(refreshToken);
+        String rotated = newToken(familyId);
+
+        String result = redisTemplate.execute(ROTATE_SCRIPT, List.of(familyKey(familyId)),
+                hash(refreshToken), hash(rotated), String.valueOf(ttl.toMillis()));
+
+        if (result == null) {
+            throw new InvalidTokenException("Refresh token is invalid or expired");
+        }
+        if (REUSED.equals(result)) {
+            log.warn("Refresh token reuse detected, revoked token family {}", familyId);
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+        return new Rotation(decode(result), rotated);
+    }
+
+    public void revokeFamily(String refreshToken) {
+        String familyId;
+        try {
+            familyId = familyId(refreshToken);
+        } catch (InvalidTokenException e) {
+            return;
+        }
+        redisTemplate.delete(familyKey(familyId));
+    }
+
+    public record Rotation(RefreshedIdentity identity, String refreshToken) {
+    }
+
+    // Hash-tagged on the family id, see the class comment
+    private static String familyKey(String familyId) {
+        return FAMILY_PREFIX + "{" + familyId + "}";
+    }
+
+    private String newToken(String familyId) {
+        byte[] secret = new byte[32];
+        secureRandom.nextBytes(secret);
+        return familyId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    private static String familyId(String refreshToken) {
+        int separator = refreshToken.indexOf('.');
+        if (separator <= 0) {
+            throw new InvalidTokenException("Malformed refresh token");
+        }
+        return refreshToken.substring(0, separator);
+    }
+
+    private static String encode(User user) {
+        return user.getId() + "|" + user.currentTokenVersion() + "|" + user.getUsername();
+    }
+
+    private static RefreshedIdentity decode(String value) {
+        String[] parts = value.split("\\|", 3);
+        return new RefreshedIdentity(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), parts[2]);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.exception.RevocationUnavailableException;
+import com.armaan.kanban_api.util.BloomFilter;
+import com.armaan.kanban_api.util.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Revoked token ids (JTI) live in Redis with a TTL equal to the token's remaining lifetime.
+ * Every node mirrors them into an in-memory Bloom filter, kept current through Redis pub/sub,
+ * so checking a token that was never revoked does not leave the JVM. Only Bloom-filter hits
+ * are confirmed against Redis.
+ * <p>
+ * Bloom filters cannot forget, so the filter is periodically rebuilt from the keys that are
+ * still alive in Redis.
+ * <p>
+ * Revocations are published as {@code <node id>\n<token id>}, so a node skips its own messages.
+ * A Redis failure while revoking is counted and surfaces as {@link RevocationUnavailableException}:
+ * the token would otherwise stay valid on every other node, so the logout must not report success.
+ * Storing and publishing the same token id again is harmless, so the client can simply retry.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService implements MessageListener {
+
+    static final String KEY_PREFIX = "revoked-token:";
+    static final String REVOCATION_CHANNEL = "revoked-tokens";
+    private static final char ORIGIN_SEPARATOR = '\n';
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile BloomFilter bloomFilter;
+    // Filter being rebuilt, receives concurrent revocations so none are lost on swap
+    private volatile BloomFilter pendingFilter;
+
+    private final Counter bloomNegatives;
+    private final Counter falsePositives;
+    private final Counter revokedHits;
+    private final Counter redisErrors;
+
+    public TokenRevocationService(StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${kanban.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${kanban.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+
+        this.bloomNegatives = Counter.builder("token.revocation.checks").tag("result", "bloom_negative").register(meterRegistry);
+        this.falsePositives = Counter.builder("token.revocation.checks").tag("result", "false_positive").register(meterRegistry);
+        this.revokedHits = Counter.builder("token.revocation.checks").tag("result", "revoked").register(meterRegistry);
+        this.redisErrors = Counter.builder("token.revocation.redis").tag("result", "error").register(meterRegistry);
+        Gauge.builder("token.revocation.bloom.expected_fpp", this, s -> s.bloomFilter.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        Gauge.builder("token.revocation.bloom.insertions", this, s -> s.bloomFilter.insertions())
+                .register(meterRegistry);
+        Gauge.builder("token.revocation.bloom.memory", this, s -> s.bloomFilter.memoryBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    public void revoke(VerifiedToken token) {
+        if (token.getTokenId() == null || token.getExpiresAt() == null) {
+            log.debug("Token for {} has no id or expiry, nothing to revoke", token.getSubject());
+            return;
+        }
+
+        Duration remaining = Duration.between(Instant.now(), token.getExpiresAt());
+        if (remaining.isNegative() || remaining.isZero()) {
+            return;
+        }
+
+        addToFilter(token.getTokenId());
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + token.getTokenId(), token.getSubject(), remaining);
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, nodeId + ORIGIN_SEPARATOR + token.getTokenId());
+            log.debug("Revoked token {} for user {}", token.getTokenId(), token.getSubject());
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Failed to store revocation of token {} in Redis: {}", token.getTokenId(), e.getMessage());
+            throw new RevocationUnavailableException("Token revocation is temporarily unavailable", e);
+        }
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        String tokenId = token.getTokenId();
+        if (tokenId == null) {
+            return false;
+        }
+        if (!bloomFilter.mightContain(tokenId)) {
+            bloomNegatives.increment();
+            return false;
+        }
+
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId))) {
+                revokedHits.increment();
+                return true;
+            }
+            falsePositives.increment();
+            return false;
+        } catch (Exception e) {
+            // The filter says this token was very likely revoked, so fail closed
+            log.warn("Could not confirm revocation of token {}: {}", tokenId, e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(ORIGIN_SEPARATOR);
+        if (separator < 0) {
+            addToFilter(body);
+        } else if (!nodeId.equals(body.substring(0, separator))) {
+            addToFilter(body.substring(separator + 1));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${kanban.revocation.rebuild-interval:PT1H}",
+            fixedDelayString = "${kanban.revocation.rebuild-interval:PT1H}")
+    public void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+        pendingFilter = rebuilt;
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build())) {
+            keys.forEachRemaining(key -> rebuilt.put(key.substring(KEY_PREFIX.length())));
+            bloomFilter = rebuilt;
+            log.info("Rebuilt token revocation filter with {} entries", rebuilt.insertions());
+        } catch (Exception e) {
+            log.warn("Failed to rebuild token revocation filter: {}", e.getMessage());
+        } finally {
+            pendingFilter = null;
+        }
+    }
+
+    private void addToFilter(String tokenId) {
+        bloomFilter.put(tokenId);
+        BloomFilter pending = pendingFilter;
+        if (pending != null) {
+            pending.put(tokenId);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.UserDetailsCache;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Tracks the per-user token version used to revoke tokens without loading the whole user.
+ * Versions are cached briefly, so a revocation takes effect on every node within the cache TTL.
+ */
+@Service
+@Slf4j
+public class TokenVersionService {
+
+    private static final int UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final OutboxService outboxService;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionService(UserRepository userRepository,
+                               UserDetailsCache userDetailsCache,
+                               OutboxService outboxService,
+                               @Value("${spring.security.jwt.token-version-cache-ttl:5s}") Duration cacheTtl) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.outboxService = outboxService;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        return currentVersion(userId) == tokenVersion.intValue();
+    }
+
+    private int currentVersion(Long userId) {
+        Integer version = versions.getIfPresent(userId);
+        if (version == null) {
+            // Loaded outside the cache: a loading Caffeine cache computes under a synchronized bin lock,
+            // which would pin a virtual thread for the duration of the query
+            version = userRepository.findTokenVersionById(userId).orElse(UNKNOWN_USER);
+            versions.put(userId, version);
+        }
+        return version;
+    }
+
+    @Transactional
+    public void revokeAllTokens(Long userId) {
+        userRepository.incrementTokenVersion(userId, LocalDateTime.now());
+        versions.invalidate(userId);
+        userRepository.findById(userId).ifPresent(userDetailsCache::evict);
+        outboxService.append(DomainEvents.USER, userId, DomainEvents.USER_SESSIONS_REVOKED,
+                new DomainEvents.UserEvent(userId, null));
+        log.info("Revoked all tokens for user ID: {}", userId);
+    }
+
+    @Transactional
+    public void deactivateUser(Long userId) {
+        userRepository.deactivate(userId, LocalDateTime.now());
+        versions.invalidate(userId);
+        userRepository.findById(userId).ifPresent(userDetailsCache::evict);
+        outboxService.append(DomainEvents.USER, userId, DomainEvents.USER_DEACTIVATED,
+                new DomainEvents.UserEvent(userId, null));
+        log.info("Deactivated user ID: {}", userId);
+    }
+}
@@ -1,22 +1,90 @@
 package com.armaan.kanban_api.service;
 
+import com.armaan.kanban_api.cache.UserDetailsCache;
+import com.armaan.kanban_api.entity.User;
 import com.armaan.kanban_api.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.armaan.kanban_api.repository.projection.UserCredentials;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+@Slf4j
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final Timer cacheLoadTimer;
+    private final Timer databaseLoadTimer;
+
+    public UserService(UserRepository userRepository, UserDetailsCache userDetailsCache, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.cacheLoadTimer = Timer.builder("auth.user.load").tag("source", "cache").register(meterRegistry);
+        this.databaseLoadTimer = Timer.builder("auth.user.load").tag("source", "database").register(meterRegistry);
+    }
 
+    /**
+     * The user for token authentication, from either cache tier or the database. Entries copied from
+     * Redis carry no password hash.
+     */
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        return userRepository.findByUsername(usernameOrEmail)
-                .or(() -> userRepository.findByEmail(usernameOrEmail))
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
+        long start = System.nanoTime();
+        Optional<User> cached = userDetailsCache.get(usernameOrEmail);
+        if (cached.isPresent()) {
+            cacheLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached.get();
+        }
+        return loadFromDatabase(usernameOrEmail, start);
+    }
+
+    /**
+     * The user for password verification (login). Only a local-tier entry still holding the hash is
+     * used; otherwise the credentials are read from the database.
+     */
+    public UserDetails loadUserWithPassword(String usernameOrEmail) throws UsernameNotFoundException {
+        long start = System.nanoTime();
+        Optional<User> cached = userDetailsCache.getLocal(usernameOrEmail)
+                .filter(user -> user.getPasswordHash() != null);
+        if (cached.isPresent()) {
+            cacheLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached.get();
+        }
+        return loadFromDatabase(usernameOrEmail, start);
+    }
+
+    private User loadFromDatabase(String usernameOrEmail, long start) {
+        try {
+            // One query, no managed entity: the principal only carries what authentication needs
+            User user = userRepository.findCredentials(usernameOrEmail)
+                    .map(UserCredentials::toUser)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
+            userDetailsCache.put(user, start);
+            return user;
+        } finally {
+            databaseLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPasswordHash) {
+        User user = (User) userDetails;
+        userRepository.updatePasswordHash(user.getId(), newPasswordHash);
+        userDetailsCache.evict(user);
+        log.debug("Re-hashed password for user: {}", user.getUsername());
+
+        user.setPasswordHash(newPasswordHash);
+        return user;
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory sorted set of taken usernames, loaded page by page at startup and then kept current
+ * incrementally: locally on register/delete and from other nodes through Redis pub/sub.
+ * Until the initial load finishes, lookups fall back to the database.
+ * <p>
+ * Usernames are compared ignoring case, as login matches them.
+ */
+@Service
+@Slf4j
+public class UsernameAvailabilityService implements MessageListener {
+
+    static final String USERNAMES_CHANNEL = "usernames:changed";
+    private static final char TAKEN = '+';
+    private static final char RELEASED = '-';
+    private static final int LOAD_PAGE_SIZE = 5_000;
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ConcurrentSkipListSet<String> takenUsernames = new ConcurrentSkipListSet<>();
+    private volatile boolean loaded;
+
+    public UsernameAvailabilityService(UserRepository userRepository,
+                                       StringRedisTemplate redisTemplate,
+                                       RedisMessageListenerContainer listenerContainer) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(USERNAMES_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTakenUsernames() {
+        String after = "";
+        List<String> page;
+        do {
+            page = userRepository.findUsernamesAfter(after, Limit.of(LOAD_PAGE_SIZE));
+            page.forEach(username -> takenUsernames.add(normalise(username)));
+            if (!page.isEmpty()) {
+                after = page.getLast();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        loaded = true;
+        log.info("Loaded {} taken usernames", takenUsernames.size());
+    }
+
+    public boolean isAvailable(String username) {
+        if (!loaded) {
+            return !userRepository.existsByUsernameIgnoreCase(username);
+        }
+        return !takenUsernames.contains(normalise(username));
+    }
+
+    /**
+     * Only a positive answer is authoritative: a missing entry may just not have propagated yet,
+     * so callers must still rely on the unique constraint.
+     */
+    public boolean isKnownTaken(String username) {
+        return takenUsernames.contains(normalise(username));
+    }
+
+    public void markTaken(String username) {
+        afterCommit(() -> {
+            takenUsernames.add(normalise(username));
+            publish(TAKEN, username);
+        });
+    }
+
+    public void markReleased(String username) {
+        afterCommit(() -> {
+            takenUsernames.remove(normalise(username));
+            publish(RELEASED, username);
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.length() < 2) {
+            return;
+        }
+        String username = normalise(body.substring(1));
+        if (body.charAt(0) == TAKEN) {
+            takenUsernames.add(username);
+        } else if (body.charAt(0) == RELEASED) {
+            takenUsernames.remove(username);
+        }
+    }
+
+    private void publish(char operation, String username) {
+        try {
+            redisTemplate.convertAndSend(USERNAMES_CHANNEL, operation + username);
+        } catch (Exception e) {
+            log.warn("Failed to publish username change for {}: {}", username, e.getMessage());
+        }
+    }
+
+    private static String normalise(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
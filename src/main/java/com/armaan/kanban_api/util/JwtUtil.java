@@ -1,7 +1,12 @@
 package com.armaan.kanban_api.util;
 
+import com.armaan.kanban_api.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,20 +16,62 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ENABLED = "enabled";
+    static final String CLAIM_TOKEN_VERSION = "tv";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.security.jwt.secret}")
     private String secret;
 
     @Value("${spring.security.jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Both are immutable and thread-safe, so they are built once instead of per call
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    private Timer signTimer;
+    private Timer verifyValidTimer;
+    private Timer verifyInvalidTimer;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+
+        signTimer = Timer.builder("auth.jwt.sign").register(meterRegistry);
+        verifyValidTimer = Timer.builder("auth.jwt.verify").tag("outcome", "valid").register(meterRegistry);
+        verifyInvalidTimer = Timer.builder("auth.jwt.verify").tag("outcome", "invalid").register(meterRegistry);
+    }
+
+    /**
+     * Verifies the signature and expiry of the token exactly once.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            VerifiedToken verified = VerifiedToken.from(extractAllClaims(token));
+            valid = true;
+            return verified;
+        } finally {
+            (valid ? verifyValidTimer : verifyInvalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     public String extractUsername(String token) {
@@ -41,36 +88,33 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        if (userDetails instanceof User user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ENABLED, user.isEnabled());
+            claims.put(CLAIM_TOKEN_VERSION, user.currentTokenVersion());
+        }
+        return signTimer.record(() -> createToken(claims, userDetails.getUsername()));
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return verify(token).isValidFor(userDetails);
         } catch (JwtException | IllegalArgumentException e) {
             log.error("JWT validation error: {}", e.getMessage());
             return false;
@@ -79,14 +123,11 @@ public class JwtUtil {
 
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            extractAllClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.error("JWT validation error: {}", e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
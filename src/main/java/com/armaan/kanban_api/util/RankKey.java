@@ -0,0 +1,136 @@
+package com.armaan.kanban_api.util;
+
+/**
+ * Lexicographic rank keys for ordering cards and columns (fractional indexing).
+ * <p>
+ * A key is a string of base-36 digits ({@code 0-9a-z}) read as the fraction {@code 0.<digits>}, so
+ * there is always another key between any two keys and inserting or moving an item only writes the
+ * item itself. Keys never end in {@code 0}, which keeps string order identical to numeric order;
+ * they must be compared byte-wise (Postgres {@code COLLATE "C"}).
+ * <p>
+ * Keys grow with repeated inserts into the same gap (one character per ~5 inserts, or per ~35
+ * appends at the end); {@link #evenlySpaced(int)} produces short keys again when a column is rebalanced.
+ */
+public final class RankKey {
+
+    private static final int BASE = 36;
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private RankKey() {
+    }
+
+    /**
+     * A key strictly between {@code before} and {@code after}. {@code null} means unbounded, so
+     * {@code between(last, null)} appends and {@code between(null, first)} prepends.
+     *
+     * @throws IllegalArgumentException if {@code before} is not smaller than {@code after} or a key is malformed
+     */
+    public static String between(String before, String after) {
+        String lower = before == null ? "" : before;
+        validate(lower);
+        if (after != null) {
+            validate(after);
+            if (lower.compareTo(after) >= 0) {
+                throw new IllegalArgumentException("Rank '" + before + "' must be lower than '" + after + "'");
+            }
+        }
+        if (after == null) {
+            return increment(lower);
+        }
+
+        StringBuilder key = new StringBuilder();
+        String upper = after;
+        for (int i = 0; ; i++) {
+            int low = i < lower.length() ? digit(lower.charAt(i)) : 0;
+            int high = upper == null ? BASE : i < upper.length() ? digit(upper.charAt(i)) : 0;
+            if (low == high) {
+                key.append(DIGITS.charAt(low));
+                continue;
+            }
+            int mid = (low + high) / 2;
+            if (mid > low) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            // Adjacent digits: keep the lower one, everything after it is below the upper bound
+            key.append(DIGITS.charAt(low));
+            upper = null;
+        }
+    }
+
+    /**
+     * Shortest key after {@code key} with no upper bound: bumps the first digit that is not {@code z}.
+     * Keeps appends cheap, "a" is followed by "b", not by a midpoint like "n".
+     */
+    private static String increment(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            int d = digit(key.charAt(i));
+            if (d < BASE - 1) {
+                return key.substring(0, i) + DIGITS.charAt(d + 1);
+            }
+        }
+        // The first key starts in the middle; after all z, extend with the smallest digit so the
+        // next ~35 appends stay at this length
+        return key.isEmpty() ? String.valueOf(DIGITS.charAt(BASE / 2)) : key + DIGITS.charAt(1);
+    }
+
+    /**
+     * {@code count} ascending keys spread evenly over the key space, all of the same short length
+     * (trailing zeros dropped), leaving room for inserts between every pair.
+     */
+    public static String[] evenlySpaced(int count) {
+        String[] keys = new String[count];
+        if (count == 0) {
+            return keys;
+        }
+        // One digit more than needed to tell the keys apart, so every gap fits ~35 inserts
+        int width = 1;
+        long space = BASE;
+        while (space <= count + 1L) {
+            width++;
+            space *= BASE;
+        }
+        width++;
+        space *= BASE;
+
+        long step = space / (count + 1L);
+        for (int i = 0; i < count; i++) {
+            keys[i] = format(step * (i + 1), width);
+        }
+        return keys;
+    }
+
+    public static boolean isValid(String key) {
+        if (key == null || key.isEmpty() || key.charAt(key.length() - 1) == '0') {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String format(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int end = width;
+        while (end > 1 && chars[end - 1] == '0') {
+            end--;
+        }
+        return new String(chars, 0, end);
+    }
+
+    private static void validate(String key) {
+        if (!key.isEmpty() && !isValid(key)) {
+            throw new IllegalArgumentException("Malformed rank key '" + key + "'");
+        }
+    }
+
+    private static int digit(char c) {
+        return DIGITS.indexOf(c);
+    }
+}
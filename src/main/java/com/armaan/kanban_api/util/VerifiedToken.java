@@ -0,0 +1,59 @@
+package com.armaan.kanban_api.util;
+
+import com.armaan.kanban_api.entity.User;
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been checked.
+ * Produced once per request by {@link JwtUtil#verify(String)}.
+ */
+@Value
+public class VerifiedToken {
+
+    String tokenId;
+    String subject;
+    Instant issuedAt;
+    Instant expiresAt;
+    Long userId;
+    Boolean enabled;
+    Integer tokenVersion;
+
+    static VerifiedToken from(Claims claims) {
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        Number tokenVersion = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Number.class);
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                userId != null ? userId.longValue() : null,
+                claims.get(JwtUtil.CLAIM_ENABLED, Boolean.class),
+                tokenVersion != null ? tokenVersion.intValue() : null
+        );
+    }
+
+    /**
+     * Tokens issued before identity claims were added only carry a subject.
+     */
+    public boolean hasIdentityClaims() {
+        return userId != null && enabled != null && tokenVersion != null;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+
+    public boolean isValidFor(UserDetails userDetails) {
+        if (subject == null || !subject.equals(userDetails.getUsername()) || isExpired()) {
+            return false;
+        }
+        if (tokenVersion != null && userDetails instanceof User user) {
+            return tokenVersion == user.currentTokenVersion();
+        }
+        return true;
+    }
+}
@@ -1,8 +1,8 @@
 -- Users table
 CREATE TABLE users (
                        id BIGSERIAL PRIMARY KEY,
-                       username VARCHAR(50) UNIQUE NOT NULL,
-                       email VARCHAR(100) UNIQUE NOT NULL,
+                       username VARCHAR(50) NOT NULL CONSTRAINT uk_users_username UNIQUE,
+                       email VARCHAR(100) NOT NULL CONSTRAINT uk_users_email UNIQUE,
                        password_hash VARCHAR(255) NOT NULL,
                        first_name VARCHAR(50),
                        last_name VARCHAR(50),
@@ -11,7 +11,8 @@ CREATE TABLE users (
                        email_verified BOOLEAN DEFAULT false,
                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                       last_login_at TIMESTAMP
+                       last_login_at TIMESTAMP,
+                       token_version INTEGER DEFAULT 0
 );
 
 -- Boards table
@@ -25,6 +26,7 @@ CREATE TABLE boards (
                         is_public BOOLEAN DEFAULT false,
                         is_archived BOOLEAN DEFAULT false,
                         settings JSONB DEFAULT '{}', -- Board-specific settings
+                        version BIGINT NOT NULL DEFAULT 0, -- Optimistic concurrency, bumped by every write
                         created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                         updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -44,8 +46,9 @@ CREATE TABLE lists (
                        id BIGSERIAL PRIMARY KEY,
                        board_id BIGINT NOT NULL REFERENCES boards(id) ON DELETE CASCADE,
                        name VARCHAR(255) NOT NULL,
-                       position DECIMAL(10,5) NOT NULL, -- For flexible ordering
+                       rank_key VARCHAR(255) COLLATE "C" NOT NULL, -- Fractional index, compared bytewise
                        is_archived BOOLEAN DEFAULT false,
+                       version BIGINT NOT NULL DEFAULT 0,
                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -56,7 +59,7 @@ CREATE TABLE cards (
                        list_id BIGINT NOT NULL REFERENCES lists(id) ON DELETE CASCADE,
                        name VARCHAR(255) NOT NULL,
                        description TEXT,
-                       position DECIMAL(10,5) NOT NULL, -- For flexible ordering
+                       rank_key VARCHAR(255) COLLATE "C" NOT NULL, -- Fractional index, compared bytewise
                        due_date TIMESTAMP,
                        is_completed BOOLEAN DEFAULT false,
                        priority VARCHAR(10) DEFAULT 'medium' CHECK (priority IN ('low', 'medium', 'high', 'urgent')),
@@ -64,9 +67,12 @@ CREATE TABLE cards (
                        actual_hours INTEGER,
                        custom_fields JSONB DEFAULT '{}', -- Flexible card metadata
                        is_archived BOOLEAN DEFAULT false,
+                       version BIGINT NOT NULL DEFAULT 0,
                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                       completed_at TIMESTAMP
+                       completed_at TIMESTAMP,
+                       -- Moves take no locks; two moves into the same gap compute the same key and only one commits
+                       CONSTRAINT uk_cards_position UNIQUE (list_id, rank_key)
 );
 
 -- Card assignments (many-to-many)
@@ -120,9 +126,64 @@ CREATE TABLE card_attachments (
                                   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Domain events awaiting publication; the relay reads and deletes them in id order
+CREATE TABLE outbox_events (
+                               id BIGSERIAL PRIMARY KEY,
+                               aggregate_type VARCHAR(20) NOT NULL,
+                               aggregate_id VARCHAR(64) NOT NULL,
+                               event_type VARCHAR(50) NOT NULL,
+                               payload TEXT NOT NULL,
+                               created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Cold storage for cards untouched for a long time, moved here by the card-archival job
+CREATE TABLE cards_archive (
+                               id BIGINT PRIMARY KEY, -- The card's original id
+                               board_id BIGINT NOT NULL REFERENCES boards(id) ON DELETE CASCADE,
+                               list_id BIGINT NOT NULL,
+                               name VARCHAR(255) NOT NULL,
+                               description TEXT,
+                               rank_key VARCHAR(255) NOT NULL,
+                               due_date TIMESTAMP,
+                               is_completed BOOLEAN,
+                               priority VARCHAR(10),
+                               created_at TIMESTAMP,
+                               updated_at TIMESTAMP,
+                               completed_at TIMESTAMP,
+                               archived_at TIMESTAMP NOT NULL
+);
+
+-- Per-board counts, recomputed by the board-counters job
+CREATE TABLE board_counters (
+                                board_id BIGINT PRIMARY KEY REFERENCES boards(id) ON DELETE CASCADE,
+                                column_count INTEGER NOT NULL,
+                                card_count INTEGER NOT NULL,
+                                completed_card_count INTEGER NOT NULL,
+                                archived_card_count INTEGER NOT NULL,
+                                refreshed_at TIMESTAMP NOT NULL
+);
+
+-- Where each maintenance job resumes: the last id it finished
+CREATE TABLE job_checkpoints (
+                                 job_name VARCHAR(100) PRIMARY KEY,
+                                 last_id BIGINT NOT NULL,
+                                 updated_at TIMESTAMP NOT NULL
+);
+
+-- Hibernate takes ids from these sequences 50 at a time (pooled, see the entities' @SequenceGenerator),
+-- which lets it batch INSERTs. Plain INSERTs relying on the column default still get unique ids
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE boards_id_seq INCREMENT BY 50;
+ALTER SEQUENCE lists_id_seq INCREMENT BY 50;
+ALTER SEQUENCE cards_id_seq INCREMENT BY 50;
+
 -- User indexes
 CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_users_username ON users(username);
+-- Case-insensitive credential lookup: lower(username) = lower(?) OR lower(email) = lower(?).
+-- Unique, so "Alice" and "alice" cannot both register
+CREATE UNIQUE INDEX uk_users_username_lower ON users(lower(username));
+CREATE UNIQUE INDEX uk_users_email_lower ON users(lower(email));
 CREATE INDEX idx_users_active ON users(is_active);
 
 -- Board indexes
@@ -136,15 +197,204 @@ CREATE INDEX idx_board_members_user ON board_members(user_id);
 
 -- List indexes
 CREATE INDEX idx_lists_board ON lists(board_id);
-CREATE INDEX idx_lists_position ON lists(board_id, position);
+CREATE INDEX idx_lists_position ON lists(board_id, rank_key);
 
 -- Card indexes
 CREATE INDEX idx_cards_list ON cards(list_id);
-CREATE INDEX idx_cards_position ON cards(list_id, position);
 CREATE INDEX idx_cards_due_date ON cards(due_date) WHERE due_date IS NOT NULL;
 CREATE INDEX idx_cards_completed ON cards(is_completed);
 CREATE INDEX idx_cards_archived ON cards(is_archived);
+CREATE INDEX idx_cards_archive_board ON cards_archive(board_id);
 
 -- Card members indexes
 CREATE INDEX idx_card_members_card ON card_members(card_id);
 CREATE INDEX idx_card_members_user ON card_members(user_id);
+
+-- Quartz job store (tables_postgres.sql from the Quartz distribution), shared by all instances
+CREATE TABLE QRTZ_JOB_DETAILS
+(
+  SCHED_NAME        VARCHAR(120) NOT NULL,
+  JOB_NAME          VARCHAR(200) NOT NULL,
+  JOB_GROUP         VARCHAR(200) NOT NULL,
+  DESCRIPTION       VARCHAR(250) NULL,
+  JOB_CLASS_NAME    VARCHAR(250) NOT NULL,
+  IS_DURABLE        BOOL         NOT NULL,
+  IS_NONCONCURRENT  BOOL         NOT NULL,
+  IS_UPDATE_DATA    BOOL         NOT NULL,
+  REQUESTS_RECOVERY BOOL         NOT NULL,
+  JOB_DATA          BYTEA        NULL,
+  PRIMARY KEY (SCHED_NAME, JOB_NAME, JOB_GROUP)
+);
+
+CREATE TABLE QRTZ_TRIGGERS
+(
+  SCHED_NAME     VARCHAR(120) NOT NULL,
+  TRIGGER_NAME   VARCHAR(200) NOT NULL,
+  TRIGGER_GROUP  VARCHAR(200) NOT NULL,
+  JOB_NAME       VARCHAR(200) NOT NULL,
+  JOB_GROUP      VARCHAR(200) NOT NULL,
+  DESCRIPTION    VARCHAR(250) NULL,
+  NEXT_FIRE_TIME BIGINT       NULL,
+  PREV_FIRE_TIME BIGINT       NULL,
+  PRIORITY       INTEGER      NULL,
+  TRIGGER_STATE  VARCHAR(16)  NOT NULL,
+  TRIGGER_TYPE   VARCHAR(8)   NOT NULL,
+  START_TIME     BIGINT       NOT NULL,
+  END_TIME       BIGINT       NULL,
+  CALENDAR_NAME  VARCHAR(200) NULL,
+  MISFIRE_INSTR  SMALLINT     NULL,
+  JOB_DATA       BYTEA        NULL,
+  PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+  FOREIGN KEY (SCHED_NAME, JOB_NAME, JOB_GROUP)
+  REFERENCES QRTZ_JOB_DETAILS (SCHED_NAME, JOB_NAME, JOB_GROUP)
+);
+
+CREATE TABLE QRTZ_SIMPLE_TRIGGERS
+(
+  SCHED_NAME      VARCHAR(120) NOT NULL,
+  TRIGGER_NAME    VARCHAR(200) NOT NULL,
+  TRIGGER_GROUP   VARCHAR(200) NOT NULL,
+  REPEAT_COUNT    BIGINT       NOT NULL,
+  REPEAT_INTERVAL BIGINT       NOT NULL,
+  TIMES_TRIGGERED BIGINT       NOT NULL,
+  PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+  FOREIGN KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+  REFERENCES QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+);
+
+CREATE TABLE QRTZ_CRON_TRIGGERS
+(
+  SCHED_NAME      VARCHAR(120) NOT NULL,
+  TRIGGER_NAME    VARCHAR(200) NOT NULL,
+  TRIGGER_GROUP   VARCHAR(200) NOT NULL,
+  CRON_EXPRESSION VARCHAR(120) NOT NULL,
+  TIME_ZONE_ID    VARCHAR(80),
+  PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+  FOREIGN KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+  REFERENCES QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+);
+
+CREATE TABLE QRTZ_SIMPROP_TRIGGERS
+(
+  SCHED_NAME    VARCHAR(120)   NOT NULL,
+  TRIGGER_NAME  VARCHAR(200)   NOT NULL,
+  TRIGGER_GROUP VARCHAR(200)   NOT NULL,
+  STR_PROP_1    VARCHAR(512)   NULL,
+  STR_PROP_2    VARCHAR(512)   NULL,
+  STR_PROP_3    VARCHAR(512)   NULL,
+  INT_PROP_1    INT            NULL,
+  INT_PROP_2    INT            NULL,
+  LONG_PROP_1   BIGINT         NULL,
+  LONG_PROP_2   BIGINT         NULL,
+  DEC_PROP_1    NUMERIC(13, 4) NULL,
+  DEC_PROP_2    NUMERIC(13, 4) NULL,
+  BOOL_PROP_1   BOOL           NULL,
+  BOOL_PROP_2   BOOL           NULL,
+  PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+  FOREIGN KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+  REFERENCES QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+);
+
+CREATE TABLE QRTZ_BLOB_TRIGGERS
+(
+  SCHED_NAME    VARCHAR(120) NOT NULL,
+  TRIGGER_NAME  VARCHAR(200) NOT NULL,
+  TRIGGER_GROUP VARCHAR(200) NOT NULL,
+  BLOB_DATA     BYTEA        NULL,
+  PRIMARY KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP),
+  FOREIGN KEY (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+  REFERENCES QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP)
+);
+
+CREATE TABLE QRTZ_CALENDARS
+(
+  SCHED_NAME    VARCHAR(120) NOT NULL,
+  CALENDAR_NAME VARCHAR(200) NOT NULL,
+  CALENDAR      BYTEA        NOT NULL,
+  PRIMARY KEY (SCHED_NAME, CALENDAR_NAME)
+);
+
+
+CREATE TABLE QRTZ_PAUSED_TRIGGER_GRPS
+(
+  SCHED_NAME    VARCHAR(120) NOT NULL,
+  TRIGGER_GROUP VARCHAR(200) NOT NULL,
+  PRIMARY KEY (SCHED_NAME, TRIGGER_GROUP)
+);
+
+CREATE TABLE QRTZ_FIRED_TRIGGERS
+(
+  SCHED_NAME        VARCHAR(120) NOT NULL,
+  ENTRY_ID          VARCHAR(95)  NOT NULL,
+  TRIGGER_NAME      VARCHAR(200) NOT NULL,
+  TRIGGER_GROUP     VARCHAR(200) NOT NULL,
+  INSTANCE_NAME     VARCHAR(200) NOT NULL,
+  FIRED_TIME        BIGINT       NOT NULL,
+  SCHED_TIME        BIGINT       NOT NULL,
+  PRIORITY          INTEGER      NOT NULL,
+  STATE             VARCHAR(16)  NOT NULL,
+  JOB_NAME          VARCHAR(200) NULL,
+  JOB_GROUP         VARCHAR(200) NULL,
+  IS_NONCONCURRENT  BOOL         NULL,
+  REQUESTS_RECOVERY BOOL         NULL,
+  PRIMARY KEY (SCHED_NAME, ENTRY_ID)
+);
+
+CREATE TABLE QRTZ_SCHEDULER_STATE
+(
+  SCHED_NAME        VARCHAR(120) NOT NULL,
+  INSTANCE_NAME     VARCHAR(200) NOT NULL,
+  LAST_CHECKIN_TIME BIGINT       NOT NULL,
+  CHECKIN_INTERVAL  BIGINT       NOT NULL,
+  PRIMARY KEY (SCHED_NAME, INSTANCE_NAME)
+);
+
+CREATE TABLE QRTZ_LOCKS
+(
+  SCHED_NAME VARCHAR(120) NOT NULL,
+  LOCK_NAME  VARCHAR(40)  NOT NULL,
+  PRIMARY KEY (SCHED_NAME, LOCK_NAME)
+);
+
+CREATE INDEX IDX_QRTZ_J_REQ_RECOVERY
+  ON QRTZ_JOB_DETAILS (SCHED_NAME, REQUESTS_RECOVERY);
+CREATE INDEX IDX_QRTZ_J_GRP
+  ON QRTZ_JOB_DETAILS (SCHED_NAME, JOB_GROUP);
+
+CREATE INDEX IDX_QRTZ_T_J
+  ON QRTZ_TRIGGERS (SCHED_NAME, JOB_NAME, JOB_GROUP);
+CREATE INDEX IDX_QRTZ_T_JG
+  ON QRTZ_TRIGGERS (SCHED_NAME, JOB_GROUP);
+CREATE INDEX IDX_QRTZ_T_C
+  ON QRTZ_TRIGGERS (SCHED_NAME, CALENDAR_NAME);
+CREATE INDEX IDX_QRTZ_T_G
+  ON QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_GROUP);
+CREATE INDEX IDX_QRTZ_T_STATE
+  ON QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_STATE);
+CREATE INDEX IDX_QRTZ_T_N_STATE
+  ON QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP, TRIGGER_STATE);
+CREATE INDEX IDX_QRTZ_T_N_G_STATE
+  ON QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_GROUP, TRIGGER_STATE);
+CREATE INDEX IDX_QRTZ_T_NEXT_FIRE_TIME
+  ON QRTZ_TRIGGERS (SCHED_NAME, NEXT_FIRE_TIME);
+CREATE INDEX IDX_QRTZ_T_NFT_ST
+  ON QRTZ_TRIGGERS (SCHED_NAME, TRIGGER_STATE, NEXT_FIRE_TIME);
+CREATE INDEX IDX_QRTZ_T_NFT_MISFIRE
+  ON QRTZ_TRIGGERS (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME);
+CREATE INDEX IDX_QRTZ_T_NFT_ST_MISFIRE
+  ON QRTZ_TRIGGERS (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME, TRIGGER_STATE);
+CREATE INDEX IDX_QRTZ_T_NFT_ST_MISFIRE_GRP
+  ON QRTZ_TRIGGERS (SCHED_NAME, MISFIRE_INSTR, NEXT_FIRE_TIME, TRIGGER_GROUP, TRIGGER_STATE);
+
+CREATE INDEX IDX_QRTZ_FT_TRIG_INST_NAME
+  ON QRTZ_FIRED_TRIGGERS (SCHED_NAME, INSTANCE_NAME);
+CREATE INDEX IDX_QRTZ_FT_INST_JOB_REQ_RCVRY
+  ON QRTZ_FIRED_TRIGGERS (SCHED_NAME, INSTANCE_NAME, REQUESTS_RECOVERY);
+CREATE INDEX IDX_QRTZ_FT_J_G
+  ON QRTZ_FIRED_TRIGGERS (SCHED_NAME, JOB_NAME, JOB_GROUP);
+CREATE INDEX IDX_QRTZ_FT_JG
+  ON QRTZ_FIRED_TRIGGERS (SCHED_NAME, JOB_GROUP);
+CREATE INDEX IDX_QRTZ_FT_T_G
+  ON QRTZ_FIRED_TRIGGERS (SCHED_NAME, TRIGGER_NAME, TRIGGER_GROUP);
+CREATE INDEX IDX_QRTZ_FT_TG
+  ON QRTZ_FIRED_TRIGGERS (SCHED_NAME, TRIGGER_GROUP);
@@ -0,0 +1,146 @@
+package com.armaan.kanban_api.analytics;
+
+import com.armaan.kanban_api.dto.response.ActivityBucketResponse;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityTopologyTest {
+
+    private static final Instant DAY_ONE = Instant.parse("2024-03-01T00:00:00Z");
+
+    @TempDir
+    Path stateDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, String> userEvents;
+    private TestInputTopic<String, String> boardEvents;
+    private long eventId;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        new ActivityTopology(objectMapper, "kanban.", Duration.ofDays(30), Duration.ofHours(1)).build(builder);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "activity-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), props);
+
+        userEvents = driver.createInputTopic("kanban.user-events", new StringSerializer(), new StringSerializer());
+        boardEvents = driver.createInputTopic("kanban.board-events", new StringSerializer(), new StringSerializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void countsLoginsPerUserPerDay() {
+        login(1L, DAY_ONE.plusSeconds(60));
+        login(1L, DAY_ONE.plus(Duration.ofHours(23)));
+        login(2L, DAY_ONE.plus(Duration.ofHours(2)));
+        login(1L, DAY_ONE.plus(Duration.ofHours(25)));
+        pipe(userEvents, "1", DomainEvents.USER_REGISTERED, new DomainEvents.UserEvent(1L, "alice"), DAY_ONE);
+
+        List<ActivityBucketResponse> buckets = buckets(ActivityTopology.LOGINS_PER_USER_DAILY, 1L,
+                ActivityTopology.DAY, 3, DAY_ONE.plus(Duration.ofHours(30)));
+
+        assertThat(buckets).extracting(ActivityBucketResponse::getStart)
+                .containsExactly(DAY_ONE.minus(Duration.ofDays(1)), DAY_ONE, DAY_ONE.plus(Duration.ofDays(1)));
+        assertThat(buckets).extracting(ActivityBucketResponse::getCount).containsExactly(0L, 2L, 1L);
+    }
+
+    @Test
+    void countsCardMovesPerBoardPerHour() {
+        Instant at = DAY_ONE.plus(Duration.ofMinutes(10));
+        move(7L, at);
+        move(7L, at.plus(Duration.ofMinutes(30)));
+        move(7L, at.plus(Duration.ofMinutes(60)));
+        move(8L, at);
+        pipe(boardEvents, "7", DomainEvents.CARD_CREATED, DomainEvents.BoardEvent.card(1L, 10L, 100L), at);
+
+        List<ActivityBucketResponse> buckets = buckets(ActivityTopology.CARD_MOVES_PER_BOARD_HOURLY, 7L,
+                ActivityTopology.HOUR, 2, at.plus(Duration.ofMinutes(60)));
+
+        assertThat(buckets).extracting(ActivityBucketResponse::getCount).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void countsDistinctActiveUsersPerBoardPerDay() {
+        Instant at = DAY_ONE.plus(Duration.ofHours(9));
+        pipe(boardEvents, "7", DomainEvents.CARD_CREATED, DomainEvents.BoardEvent.card(1L, 10L, 100L), at);
+        pipe(boardEvents, "7", DomainEvents.CARD_UPDATED, DomainEvents.BoardEvent.card(1L, 10L, 100L), at);
+        pipe(boardEvents, "7", DomainEvents.COLUMN_CREATED, DomainEvents.BoardEvent.column(2L, 11L, "i"), at);
+        pipe(boardEvents, "8", DomainEvents.COLUMN_CREATED, DomainEvents.BoardEvent.column(3L, 12L, "i"), at);
+        pipe(boardEvents, "7", DomainEvents.CARD_DELETED, DomainEvents.BoardEvent.card(3L, 10L, 100L),
+                at.plus(Duration.ofDays(1)));
+
+        List<ActivityBucketResponse> buckets = buckets(ActivityTopology.ACTIVE_USERS_PER_BOARD_DAILY, 7L,
+                ActivityTopology.DAY, 2, at.plus(Duration.ofDays(1)));
+
+        assertThat(buckets).extracting(ActivityBucketResponse::getCount).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void skipsMalformedEventsAndKeepsCounting() {
+        userEvents.pipeInput("1", "not json", DAY_ONE);
+        userEvents.pipeInput(null, "{}", DAY_ONE);
+        login(1L, DAY_ONE);
+
+        assertThat(buckets(ActivityTopology.LOGINS_PER_USER_DAILY, 1L, ActivityTopology.DAY, 1, DAY_ONE))
+                .extracting(ActivityBucketResponse::getCount)
+                .containsExactly(1L);
+    }
+
+    private void login(Long userId, Instant at) {
+        pipe(userEvents, String.valueOf(userId), DomainEvents.USER_LOGGED_IN,
+                new DomainEvents.UserEvent(userId, "user" + userId), at);
+    }
+
+    private void move(Long boardId, Instant at) {
+        pipe(boardEvents, String.valueOf(boardId), DomainEvents.CARD_MOVED,
+                DomainEvents.BoardEvent.cardMoved(1L, 10L, 11L, 100L, "i"), at);
+    }
+
+    private void pipe(TestInputTopic<String, String> topic, String key, String type, Object data, Instant at) {
+        try {
+            String aggregateType = topic == userEvents ? DomainEvents.USER : DomainEvents.BOARD;
+            OutboxMessage message = new OutboxMessage(++eventId, type, aggregateType, key, null,
+                    objectMapper.writeValueAsString(data));
+            topic.pipeInput(key, objectMapper.writeValueAsString(message), at);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <V> List<ActivityBucketResponse> buckets(String storeName, Long key, Duration size, int count, Instant now) {
+        WindowStore<String, V> store = driver.getWindowStore(storeName);
+        if (storeName.equals(ActivityTopology.ACTIVE_USERS_PER_BOARD_DAILY)) {
+            return ActivityQueryService.buckets(store, key, size, count, now, v -> ((ActiveUsers) v).count());
+        }
+        return ActivityQueryService.buckets(store, key, size, count, now, v -> (Long) v);
+    }
+}
@@ -0,0 +1,232 @@
+package com.armaan.kanban_api.cache;
+
+import com.armaan.kanban_api.dto.response.BoardDetailResponse;
+import com.armaan.kanban_api.dto.response.BoardResponse;
+import com.armaan.kanban_api.exception.BoardNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs against a map-backed stand-in for Redis shared by "nodes" (cache instances).
+ */
+class BoardSnapshotCacheTest {
+
+    private static final Long OWNER = 1L;
+    private static final Long BOARD = 7L;
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicInteger loads = new AtomicInteger();
+    private StringRedisTemplate redisTemplate;
+    private BoardSnapshotCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation ->
+                redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(values.increment(anyString())).thenAnswer(invocation -> Long.parseLong(
+                redis.merge(invocation.getArgument(0), "1", (a, b) -> String.valueOf(Long.parseLong(a) + 1))));
+        org.mockito.Mockito.doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            String revision = redis.getOrDefault(keys.get(0), "0");
+            List<Object> result = new ArrayList<>(List.of(revision));
+            if (redis.containsKey(keys.get(1) + revision)) {
+                result.add(redis.get(keys.get(1) + revision));
+            }
+            return result;
+        });
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenAnswer(invocation ->
+                redis.remove(invocation.<List<String>>getArgument(1).get(0), invocation.getArgument(2)) ? 1L : 0L);
+
+        cache = newNode();
+    }
+
+    @Test
+    void concurrentMissesRunTheLoaderOnce() throws Exception {
+        int readers = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BoardDetailResponse>> results = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get(OWNER, BOARD, slowLoader());
+            }));
+        }
+        start.countDown();
+
+        for (Future<BoardDetailResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getBoard().getName()).isEqualTo("Sprint");
+        }
+        executor.shutdown();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void otherNodesReadTheSnapshotFromRedis() {
+        cache.get(OWNER, BOARD, loader());
+
+        BoardDetailResponse fromOtherNode = newNode().get(OWNER, BOARD, loader());
+
+        assertThat(fromOtherNode.getBoard().getName()).isEqualTo("Sprint");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidationMovesToANewRevision() {
+        cache.get(OWNER, BOARD, loader());
+        BoardSnapshotCache otherNode = newNode();
+        otherNode.get(OWNER, BOARD, loader());
+
+        cache.invalidate(BOARD);
+        // The other node learns about it through pub/sub
+        otherNode.onMessage(new org.springframework.data.redis.connection.DefaultMessage(
+                BoardSnapshotCache.INVALIDATION_CHANNEL.getBytes(), (BOARD + ":1").getBytes()), null);
+
+        cache.get(OWNER, BOARD, loader());
+        otherNode.get(OWNER, BOARD, loader());
+        assertThat(redis).containsEntry(BoardSnapshotCache.revisionKey(BOARD), "1")
+                .containsKey(BoardSnapshotCache.snapshotKey(BOARD, "1"));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadThatStartedBeforeAnInvalidationIsNotCachedLocally() {
+        cache.get(OWNER, BOARD, () -> {
+            // A change commits while the board is being read
+            cache.invalidate(BOARD);
+            return loader().get();
+        });
+
+        cache.get(OWNER, BOARD, loader());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keysOfABoardShareOneClusterSlot() {
+        cache.get(OWNER, BOARD, loader());
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture());
+        assertThat(keys.getValue()).hasSize(2).allSatisfy(key -> assertThat(key).contains("{" + BOARD + "}"));
+        assertThat(redis).containsKey(BoardSnapshotCache.snapshotKey(BOARD, "0"));
+    }
+
+    @Test
+    void boardsOfOtherUsersAreNotFound() {
+        cache.get(OWNER, BOARD, loader());
+
+        assertThatThrownBy(() -> cache.get(2L, BOARD, loader())).isInstanceOf(BoardNotFoundException.class);
+        assertThatThrownBy(() -> newNode().get(2L, BOARD, loader())).isInstanceOf(BoardNotFoundException.class);
+    }
+
+    @Test
+    void waitsForTheNodeHoldingTheLockInsteadOfLoading() throws Exception {
+        redis.put(BoardSnapshotCache.lockKey(BOARD, 0), "other-node");
+        String snapshot = objectMapper.writeValueAsString(new BoardSnapshotCache.StoredSnapshot(OWNER, board()));
+        CompletableFuture.runAsync(() -> redis.put(BoardSnapshotCache.snapshotKey(BOARD, "0"), snapshot),
+                CompletableFuture.delayedExecutor(60, TimeUnit.MILLISECONDS));
+
+        assertThat(cache.get(OWNER, BOARD, loader()).getBoard().getName()).isEqualTo("Sprint");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void redisFailuresFallBackToTheLoader() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList()))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        assertThat(cache.get(OWNER, BOARD, loader())).isNotNull();
+        assertThat(cache.get(OWNER, BOARD, loader())).isNotNull();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedInvalidationIsRetriedUntilRedisIsBack() {
+        cache.get(OWNER, BOARD, loader());
+        ValueOperations<String, String> values = redisTemplate.opsForValue();
+        when(values.increment(anyString())).thenThrow(new IllegalStateException("redis down"));
+
+        cache.invalidate(BOARD);
+        cache.retryInvalidations();
+        // Not served from the snapshot the change should have retired
+        cache.get(OWNER, BOARD, loader());
+        assertThat(loads).hasValue(2);
+
+        doAnswer(invocation -> Long.parseLong(
+                redis.merge(invocation.getArgument(0), "1", (a, b) -> String.valueOf(Long.parseLong(a) + 1))))
+                .when(values).increment(anyString());
+        cache.retryInvalidations();
+
+        assertThat(redis).containsEntry(BoardSnapshotCache.revisionKey(BOARD), "1");
+        newNode().get(OWNER, BOARD, loader());
+        cache.get(OWNER, BOARD, loader());
+        assertThat(loads).hasValue(3);
+    }
+
+    private BoardSnapshotCache newNode() {
+        return new BoardSnapshotCache(redisTemplate, mock(RedisMessageListenerContainer.class), objectMapper,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                Duration.ofSeconds(5), Duration.ofSeconds(2));
+    }
+
+    private Supplier<BoardDetailResponse> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return board();
+        };
+    }
+
+    private Supplier<BoardDetailResponse> slowLoader() {
+        return () -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Objects.requireNonNull(loader().get());
+        };
+    }
+
+    private static BoardDetailResponse board() {
+        return BoardDetailResponse.builder()
+                .board(BoardResponse.builder().id(BOARD).name("Sprint").build())
+                .columns(List.of())
+                .build();
+    }
+}
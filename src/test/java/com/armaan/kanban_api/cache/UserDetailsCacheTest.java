@@ -0,0 +1,109 @@
+package com.armaan.kanban_api.cache;
+
+import com.armaan.kanban_api.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs against a map-backed stand-in for Redis, so no server is needed.
+ */
+class UserDetailsCacheTest {
+
+    private final Map<String, String> redis = new HashMap<>();
+    private UserDetailsCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = node();
+        user = User.builder()
+                .id(7L)
+                .username("alice")
+                .email("alice@example.com")
+                .passwordHash("$2a$10$secret")
+                .isActive(true)
+                .tokenVersion(0)
+                .build();
+    }
+
+    /**
+     * A cache instance as on another node, sharing the same Redis.
+     */
+    @SuppressWarnings("unchecked")
+    private UserDetailsCache node() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation ->
+                redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(redis::get).toList());
+
+        return new UserDetailsCache(redisTemplate, mock(RedisMessageListenerContainer.class),
+                new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(1), Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void passwordHashStaysOutOfRedis() {
+        cache.put(user, System.nanoTime());
+
+        assertThat(redis).hasSize(2);
+        assertThat(redis.values()).allSatisfy(json -> assertThat(json).doesNotContain("secret").contains("alice"));
+        assertThat(cache.getLocal("alice")).get().extracting(User::getPasswordHash).isEqualTo("$2a$10$secret");
+    }
+
+    @Test
+    void redisHitCarriesNoPasswordHash() {
+        cache.put(user, System.nanoTime());
+        UserDetailsCache otherNode = node();
+
+        assertThat(otherNode.get("alice@example.com")).get()
+                .satisfies(cached -> assertThat(cached.getId()).isEqualTo(7L))
+                .extracting(User::getPasswordHash).isNull();
+        // Copied into the other node's local tier, still without the hash
+        assertThat(otherNode.getLocal("alice")).get().extracting(User::getPasswordHash).isNull();
+    }
+
+    @Test
+    void loadReadBeforeAnEvictionIsNotCached() {
+        long loadStartedAt = System.nanoTime();
+        cache.evictNow("alice", "alice@example.com");
+
+        cache.put(user, loadStartedAt);
+
+        assertThat(cache.getLocal("alice")).isEmpty();
+        assertThat(cache.get("alice")).isEmpty();
+        assertThat(redis).containsEntry("user-details:u:alice", UserDetailsCache.TOMBSTONE);
+    }
+
+    @Test
+    void loadStartedAfterAnEvictionIsCachedLocally() {
+        cache.evictNow("alice", "alice@example.com");
+
+        cache.put(user, System.nanoTime());
+
+        assertThat(cache.getLocal("alice")).isPresent();
+        // The Redis tombstone is left to expire
+        assertThat(redis).containsEntry("user-details:u:alice", UserDetailsCache.TOMBSTONE);
+    }
+}
@@ -0,0 +1,77 @@
+package com.armaan.kanban_api.config;
+
+import com.armaan.kanban_api.controller.PublicController;
+import com.armaan.kanban_api.security.JwtAuthenticationFilter;
+import com.armaan.kanban_api.service.UserService;
+import com.armaan.kanban_api.service.UsernameAvailabilityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the real filter chain rules; the JWT filter is replaced by one that passes every request through.
+ */
+@WebMvcTest(PublicController.class)
+@Import({SecurityConfig.class, SecurityConfigTest.Metrics.class})
+class SecurityConfigTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthFilter;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private UsernameAvailabilityService usernameAvailabilityService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void passThroughJwtFilter() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<FilterChain>getArgument(2).doFilter(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(jwtAuthFilter).doFilter(any(ServletRequest.class), any(ServletResponse.class), any(FilterChain.class));
+    }
+
+    @Test
+    void ordinaryUserCannotReachTheLoginThrottleEndpoint() throws Exception {
+        mockMvc.perform(get("/actuator/loginthrottle").with(user("mallory")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/loginthrottle/account:alice").with(user("mallory")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void publicEndpointsStayOpen() throws Exception {
+        mockMvc.perform(get("/api/v1/public/username-available").param("username", "alice"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,97 @@
+package com.armaan.kanban_api.controller;
+
+import com.armaan.kanban_api.dto.response.UserProfileResponse;
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.service.AuthService;
+import com.armaan.kanban_api.service.BoardService;
+import com.armaan.kanban_api.service.TokenVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class KanbanControllerTest {
+
+    private AuthService authService;
+    private TokenVersionService tokenVersionService;
+    private KanbanController controller;
+    private User user;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        authService = mock(AuthService.class);
+        tokenVersionService = mock(TokenVersionService.class);
+        controller = new KanbanController(authService, mock(BoardService.class), tokenVersionService);
+        user = User.builder()
+                .id(7L)
+                .username("alice")
+                .email("alice@example.com")
+                .isActive(true)
+                .updatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5))
+                .build();
+        authentication = new UsernamePasswordAuthenticationToken(user, null, List.of());
+        when(authService.getProfileUser(user)).thenReturn(user);
+        when(authService.getUserProfile(any())).thenReturn(UserProfileResponse.builder().id(7L).build());
+    }
+
+    @Test
+    void firstRequestReturnsProfileWithETag() {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<UserProfileResponse> response = controller.getCurrentUser(authentication,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/user/profile"), servletResponse));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getETag()).isEqualTo(KanbanController.profileETag(user));
+        assertThat(response.getHeaders().getCacheControl()).contains("no-cache");
+    }
+
+    @Test
+    void matchingIfNoneMatchAnswers304WithoutBuildingTheProfile() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/profile");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, KanbanController.profileETag(user));
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<UserProfileResponse> response =
+                controller.getCurrentUser(authentication, new ServletWebRequest(request, servletResponse));
+
+        assertThat(response).isNull();
+        assertThat(servletResponse.getStatus()).isEqualTo(304);
+        verify(authService, never()).getUserProfile(any());
+    }
+
+    @Test
+    void profileChangeProducesNewETag() {
+        String before = KanbanController.profileETag(user);
+        user.setUpdatedAt(user.getUpdatedAt().plusSeconds(1));
+
+        assertThat(KanbanController.profileETag(user)).isNotEqualTo(before);
+    }
+
+    @Test
+    void revokingSessionsBumpsTheTokenVersionOfTheCaller() {
+        assertThat(controller.revokeSessions(authentication).getStatusCode().value()).isEqualTo(200);
+
+        verify(tokenVersionService).revokeAllTokens(7L);
+    }
+
+    @Test
+    void deactivatingDeactivatesTheCaller() {
+        assertThat(controller.deactivate(authentication).getStatusCode().value()).isEqualTo(200);
+
+        verify(tokenVersionService).deactivateUser(7L);
+    }
+}
@@ -0,0 +1,38 @@
+package com.armaan.kanban_api.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistry);
+    private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/v1/auth/login"));
+
+    @Test
+    void countsEachBranchUnderItsOwnType() {
+        handler.handleBadCredentials(new InvalidCredentialsException("bad"), request);
+        handler.handleBadCredentials(new InvalidCredentialsException("bad"), request);
+        handler.handleInvalidToken(new InvalidTokenException("expired"), request);
+
+        assertThat(meterRegistry.get("api.errors").tag("type", "bad_credentials").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("api.errors").tag("type", "invalid_token").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("api.errors").counters()).hasSize(2);
+    }
+
+    @Test
+    void throttledLoginsAreCountedAndCarryRetryAfter() {
+        var response = handler.handleTooManyLoginAttempts(new TooManyLoginAttemptsException("slow down", 30), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(meterRegistry.get("api.errors").tag("type", "too_many_login_attempts").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,49 @@
+package com.armaan.kanban_api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter = new SamplingTurboFilter();
+        filter.setSamples("com.example=10, com.example.noisy=100");
+    }
+
+    @Test
+    void keepsOneInNForTheLongestMatchingPrefix() {
+        assertThat(passed("com.example.Service", Level.INFO, 100)).isEqualTo(10);
+        assertThat(passed("com.example.noisy.Filter", Level.DEBUG, 100)).isEqualTo(1);
+        assertThat(passed("org.other.Component", Level.INFO, 100)).isEqualTo(100);
+    }
+
+    @Test
+    void neverSamplesWarningsOrEnabledChecks() {
+        assertThat(passed("com.example.Service", Level.WARN, 50)).isEqualTo(50);
+
+        Logger logger = context.getLogger("com.example.Service");
+        for (int i = 0; i < 50; i++) {
+            assertThat(filter.decide(null, logger, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    private long passed(String loggerName, Level level, int events) {
+        Logger logger = context.getLogger(loggerName);
+        return IntStream.range(0, events)
+                .filter(i -> filter.decide(null, logger, level, "message {}", new Object[]{i}, null) == FilterReply.NEUTRAL)
+                .count();
+    }
+}
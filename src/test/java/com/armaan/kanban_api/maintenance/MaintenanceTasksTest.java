@@ -0,0 +1,207 @@
+package com.armaan.kanban_api.maintenance;
+
+import com.armaan.kanban_api.cache.BoardSnapshotCache;
+import com.armaan.kanban_api.cache.UserDetailsCache;
+import com.armaan.kanban_api.dto.response.BoardResponse;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.realtime.BoardUpdateBroadcaster;
+import com.armaan.kanban_api.repository.BoardRepository;
+import com.armaan.kanban_api.search.CardSearchService;
+import com.armaan.kanban_api.service.UsernameAvailabilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the maintenance tasks through {@link ChunkedJobRunner} on an embedded H2 database, in chunks
+ * of two rows; Quartz itself is not started.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "kanban.maintenance.chunk-size=2",
+        "kanban.maintenance.chunk-pause=PT0S",
+        "kanban.maintenance.card-archival.inactive-for=P90D",
+        "kanban.maintenance.unverified-purge.grace-period=P7D"
+})
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({ChunkedJobRunner.class, CardArchivalTask.class, UnverifiedAccountPurgeTask.class,
+        BoardCounterRebuildTask.class, OutboxService.class, SimpleMeterRegistry.class})
+class MaintenanceTasksTest {
+
+    @MockitoBean
+    private BoardSnapshotCache boardSnapshots;
+
+    @MockitoBean
+    private BoardUpdateBroadcaster boardUpdates;
+
+    @MockitoBean
+    private CardSearchService cardSearch;
+
+    @MockitoBean
+    private UserDetailsCache userDetailsCache;
+
+    @MockitoBean
+    private UsernameAvailabilityService usernameAvailability;
+
+    @Autowired
+    private ChunkedJobRunner runner;
+
+    @Autowired
+    private CardArchivalTask cardArchival;
+
+    @Autowired
+    private UnverifiedAccountPurgeTask accountPurge;
+
+    @Autowired
+    private BoardCounterRebuildTask boardCounters;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        // Not mapped by any entity yet; the archival job checks them
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS card_comments (id BIGINT PRIMARY KEY, card_id BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS card_attachments (id BIGINT PRIMARY KEY, card_id BIGINT NOT NULL)");
+
+        user(1, "owner", true, now.minusYears(1));
+        board(10, 1);
+        column(100, 10);
+        column(101, 10);
+    }
+
+    @Test
+    void archivesOnlyCardsUntouchedForTheConfiguredPeriod() {
+        card(1000, 100, now.minusDays(200), false);
+        card(1001, 100, now.minusDays(10), false);
+        card(1002, 101, now.minusDays(100), true);
+        card(1003, 101, now.minusDays(100), false);
+        jdbcTemplate.update("INSERT INTO card_comments (id, card_id) VALUES (1, 1003)");
+
+        ChunkedJobRunner.Result result = runner.run(cardArchival, () -> false);
+
+        assertThat(result.passCompleted()).isTrue();
+        assertThat(result.chunks()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM cards ORDER BY id", Long.class))
+                .containsExactly(1001L, 1003L);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM cards_archive WHERE board_id = 10 ORDER BY id", Long.class))
+                .containsExactly(1000L, 1002L);
+        assertThat(jdbcTemplate.queryForObject("SELECT is_completed FROM cards_archive WHERE id = 1002", Boolean.class))
+                .isTrue();
+        assertThat(jdbcTemplate.queryForList("SELECT event_type FROM outbox_events", String.class))
+                .containsExactly("card.archived", "card.archived");
+        verify(boardSnapshots, times(2)).invalidate(10L);
+        verify(boardUpdates, times(2)).resync(10L);
+        verify(cardSearch).cardsRemoved(10L, List.of(1000L));
+        verify(cardSearch).cardsRemoved(10L, List.of(1002L));
+    }
+
+    @Test
+    void resumesFromTheCheckpointAfterStopping() {
+        for (long id = 1000; id < 1005; id++) {
+            card(id, 100, now.minusDays(200), false);
+        }
+        AtomicInteger checks = new AtomicInteger();
+
+        ChunkedJobRunner.Result first = runner.run(cardArchival, () -> checks.getAndIncrement() > 0);
+
+        assertThat(first.passCompleted()).isFalse();
+        assertThat(runner.checkpoint(CardArchivalTask.NAME)).isEqualTo(1001L);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM cards ORDER BY id", Long.class))
+                .containsExactly(1002L, 1003L, 1004L);
+
+        ChunkedJobRunner.Result second = runner.run(cardArchival, () -> false);
+
+        assertThat(second.passCompleted()).isTrue();
+        assertThat(second.chunks()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards", Integer.class)).isZero();
+        assertThat(runner.checkpoint(CardArchivalTask.NAME)).isZero();
+    }
+
+    @Test
+    void purgesUnverifiedAccountsPastTheGracePeriod() {
+        user(2, "stale", false, now.minusDays(30));
+        user(3, "verified", true, now.minusDays(30));
+        user(4, "recent", false, now.minusDays(1));
+        board(20, 2);
+
+        runner.run(accountPurge, () -> false);
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class))
+                .containsExactly(1L, 3L, 4L);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM boards ORDER BY id", Long.class))
+                .containsExactly(10L);
+        assertThat(jdbcTemplate.queryForList("SELECT event_type FROM outbox_events ORDER BY id", String.class))
+                .containsExactly("board.deleted", "user.purged");
+        verify(userDetailsCache).evict("stale", "stale@example.com");
+        verify(usernameAvailability).markReleased("stale");
+        verify(boardUpdates).boardDeleted(20L);
+        verify(cardSearch).boardDeleted(20L);
+        verify(usernameAvailability, never()).markReleased("recent");
+    }
+
+    @Test
+    void rebuildsBoardCountersAndDropsThoseOfDeletedBoards() {
+        card(1000, 100, now, false);
+        card(1001, 100, now, true);
+        card(1002, 101, now, false);
+        jdbcTemplate.update("INSERT INTO cards_archive (id, board_id, list_id, name, rank_key, archived_at) " +
+                "VALUES (900, 10, 100, 'old', 'a', ?)", Timestamp.valueOf(now));
+        jdbcTemplate.update("INSERT INTO board_counters (board_id, column_count, card_count, completed_card_count, " +
+                "archived_card_count, refreshed_at) VALUES (999, 1, 1, 1, 1, ?)", Timestamp.valueOf(now));
+
+        runner.run(boardCounters, () -> false);
+
+        BoardResponse board = boardRepository.findSummary(10L, 1L).orElseThrow();
+        assertThat(board.getCardCount()).isEqualTo(3);
+        assertThat(board.getCompletedCardCount()).isEqualTo(1);
+        assertThat(board.getArchivedCardCount()).isEqualTo(1);
+        assertThat(board.getCountsRefreshedAt()).isNotNull();
+        assertThat(jdbcTemplate.queryForList("SELECT board_id FROM board_counters", Long.class))
+                .containsExactly(10L);
+        verify(boardSnapshots, never()).invalidate(anyLong());
+    }
+
+    private void user(long id, String username, boolean verified, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, email_verified, created_at) " +
+                "VALUES (?, ?, ?, 'x', ?, ?)", id, username, username + "@example.com", verified, Timestamp.valueOf(createdAt));
+    }
+
+    private void board(long id, long ownerId) {
+        jdbcTemplate.update("INSERT INTO boards (id, name, owner_id, is_archived) VALUES (?, 'Board', ?, false)", id, ownerId);
+    }
+
+    private void column(long id, long boardId) {
+        jdbcTemplate.update("INSERT INTO lists (id, board_id, name, rank_key) VALUES (?, ?, 'Column', ?)",
+                id, boardId, "m" + id);
+    }
+
+    private void card(long id, long columnId, LocalDateTime updatedAt, boolean completed) {
+        jdbcTemplate.update("INSERT INTO cards (id, list_id, name, rank_key, is_completed, updated_at) " +
+                "VALUES (?, ?, 'Card', ?, ?, ?)", id, columnId, "m" + id, completed, Timestamp.valueOf(updatedAt));
+    }
+}
@@ -0,0 +1,158 @@
+package com.armaan.kanban_api.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Relays from an H2 outbox to an embedded KRaft broker, using the producer settings of
+ * application.properties (idempotence, lz4).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "kanban.outbox.batch-size=2",
+        // Scheduling is on in this slice; the tests drive the relay themselves
+        "kanban.outbox.poll-interval=PT1H"
+})
+@EmbeddedKafka(partitions = 3, topics = {"kanban.user-events", "kanban.board-events"})
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, JacksonAutoConfiguration.class, KafkaAutoConfiguration.class})
+@Import({OutboxService.class, OutboxRelay.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    void publishesEveryEventKeyedByAggregateAndInOrder() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            outboxService.append(DomainEvents.USER, 7L, DomainEvents.USER_REGISTERED, new DomainEvents.UserEvent(7L, "alice"));
+            outboxService.append(DomainEvents.BOARD, 1L, DomainEvents.BOARD_CREATED, DomainEvents.BoardEvent.board(7L));
+        });
+        tx.executeWithoutResult(status -> {
+            outboxService.append(DomainEvents.BOARD, 2L, DomainEvents.BOARD_CREATED, DomainEvents.BoardEvent.board(7L));
+            outboxService.append(DomainEvents.BOARD, 1L, DomainEvents.CARD_CREATED, DomainEvents.BoardEvent.card(7L, 10L, 100L));
+            outboxService.append(DomainEvents.BOARD, 1L, DomainEvents.CARD_DELETED, DomainEvents.BoardEvent.card(7L, 10L, 100L));
+        });
+
+        // Batches of two: three round trips in one run
+        outboxRelay.relay();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Long.class)).isZero();
+
+        List<ConsumerRecord<String, String>> records = consume(5);
+        assertThat(records).extracting(ConsumerRecord::topic)
+                .containsOnly("kanban.user-events", "kanban.board-events");
+        assertThat(records).filteredOn(r -> r.topic().equals("kanban.board-events") && r.key().equals("1"))
+                .extracting(r -> r.headers().lastHeader("event-type").value())
+                .extracting(value -> new String(value, StandardCharsets.UTF_8))
+                .containsExactly("board.created", "card.created", "card.deleted");
+
+        ConsumerRecord<String, String> registered = records.stream()
+                .filter(r -> r.topic().equals("kanban.user-events"))
+                .findFirst().orElseThrow();
+        assertThat(registered.key()).isEqualTo("7");
+        JsonNode message = objectMapper.readTree(registered.value());
+        assertThat(message.get("type").asText()).isEqualTo("user.registered");
+        assertThat(message.get("data").get("username").asText()).isEqualTo("alice");
+        assertThat(message.get("eventId").asLong()).isPositive();
+    }
+
+    @Test
+    void rolledBackChangesPublishNothing() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxService.append(DomainEvents.BOARD, 3L, DomainEvents.BOARD_CREATED, DomainEvents.BoardEvent.board(7L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRelay.relayBatch()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedSendKeepsTheBatchForTheNextRun() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxService.append(DomainEvents.BOARD, 4L, DomainEvents.BOARD_CREATED, DomainEvents.BoardEvent.board(7L)));
+        KafkaTemplate<String, String> brokerDown = mock(KafkaTemplate.class);
+        when(brokerDown.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, transactionManager, brokerDown, objectMapper,
+                new SimpleMeterRegistry(), "kanban.", 10, Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+        relay.relay();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Long.class)).isOne();
+    }
+
+    private List<ConsumerRecord<String, String>> consume(int expected) {
+        var props = KafkaTestUtils.consumerProps("outbox-relay-test", "false", embeddedKafka);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            embeddedKafka.consumeFromAllEmbeddedTopics(consumer);
+            List<ConsumerRecord<String, String>> records = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (records.size() < expected && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, String> polled = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(5));
+                polled.forEach(records::add);
+            }
+            return records;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.armaan.kanban_api.realtime;
+
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BoardUpdateBroadcasterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private SimpMessagingTemplate messagingTemplate;
+    private StringRedisTemplate redisTemplate;
+    private BoardUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        broadcaster = broadcaster(messagingTemplate);
+    }
+
+    private BoardUpdateBroadcaster broadcaster(SimpMessagingTemplate template) {
+        return new BoardUpdateBroadcaster(template, redisTemplate, mock(RedisMessageListenerContainer.class),
+                objectMapper, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void coalescesChangesToTheSameItemWithinAWindow() {
+        broadcaster.cardChanged(1L, card(10L, 100L, "i"));
+        broadcaster.cardMoved(1L, 11L, 100L, "k");
+        for (int i = 0; i < 20; i++) {
+            broadcaster.cardMoved(1L, 10L, 200L, "r" + (char) ('a' + i));
+        }
+        broadcaster.cardDeleted(1L, 11L);
+        broadcaster.flush();
+
+        List<BoardDelta> deltas = sentUpdate(1L).deltas();
+        assertThat(deltas).hasSize(2);
+        // Created then moved: still the full card, at its latest position
+        assertThat(deltas.get(0)).extracting(BoardDelta::type, BoardDelta::id, BoardDelta::columnId, BoardDelta::rank)
+                .containsExactly(BoardDelta.CARD, 10L, 200L, "rt");
+        assertThat(deltas.get(0).data()).isInstanceOf(CardResponse.class);
+        assertThat(deltas.get(1)).extracting(BoardDelta::type, BoardDelta::id)
+                .containsExactly(BoardDelta.CARD_DELETED, 11L);
+    }
+
+    @Test
+    void sendsOneMessagePerBoardAndNothingWhenIdle() {
+        broadcaster.columnMoved(1L, 5L, "m");
+        broadcaster.columnMoved(2L, 6L, "n");
+        broadcaster.flush();
+        broadcaster.flush();
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/boards/1"), any(BoardUpdate.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/boards/2"), any(BoardUpdate.class));
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    void resyncReplacesPendingDeltas() {
+        broadcaster.cardMoved(1L, 10L, 100L, "i");
+        broadcaster.resync(1L);
+        broadcaster.cardMoved(1L, 10L, 100L, "j");
+        broadcaster.flush();
+
+        assertThat(sentUpdate(1L)).isEqualTo(BoardUpdate.resync(1L));
+    }
+
+    @Test
+    void relaysEachWindowToOtherNodesButNotItself() throws Exception {
+        SimpMessagingTemplate otherTemplate = mock(SimpMessagingTemplate.class);
+        BoardUpdateBroadcaster other = broadcaster(otherTemplate);
+        broadcaster.columnMoved(1L, 5L, "m");
+        broadcaster.resync(2L);
+        broadcaster.flush();
+
+        ArgumentCaptor<String> relay = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(BoardUpdateBroadcaster.RELAY_CHANNEL), relay.capture());
+        DefaultMessage message = new DefaultMessage(BoardUpdateBroadcaster.RELAY_CHANNEL.getBytes(),
+                relay.getValue().getBytes());
+        other.onMessage(message, null);
+        broadcaster.onMessage(message, null);
+
+        ArgumentCaptor<BoardUpdate> update = ArgumentCaptor.forClass(BoardUpdate.class);
+        verify(otherTemplate).convertAndSend(eq("/topic/boards/1"), update.capture());
+        assertThat(update.getValue().deltas()).singleElement()
+                .extracting(BoardDelta::type, BoardDelta::id, BoardDelta::rank)
+                .containsExactly(BoardDelta.COLUMN_MOVED, 5L, "m");
+        verify(otherTemplate).convertAndSend("/topic/boards/2", BoardUpdate.resync(2L));
+        // The origin already sent them to its own subscribers
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(BoardUpdate.class));
+    }
+
+    @Test
+    void boardsMissedByAFailedRelayAreResyncedOnTheNextOne() throws Exception {
+        doThrow(new RedisConnectionFailureException("down"))
+                .doReturn(1L)
+                .when(redisTemplate).convertAndSend(eq(BoardUpdateBroadcaster.RELAY_CHANNEL), anyString());
+        broadcaster.columnMoved(1L, 5L, "m");
+        broadcaster.flush();
+        // Local subscribers are unaffected
+        verify(messagingTemplate).convertAndSend(eq("/topic/boards/1"), any(BoardUpdate.class));
+
+        broadcaster.columnMoved(1L, 5L, "n");
+        broadcaster.columnMoved(2L, 6L, "o");
+        broadcaster.flush();
+
+        ArgumentCaptor<String> relay = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(BoardUpdateBroadcaster.RELAY_CHANNEL), relay.capture());
+        BoardUpdateBroadcaster.Relay sent = objectMapper.readValue(relay.getValue(), BoardUpdateBroadcaster.Relay.class);
+        assertThat(sent.updates()).extracting(BoardUpdate::type, BoardUpdate::boardId)
+                .containsExactly(tuple(BoardUpdate.RESYNC, 1L), tuple(BoardUpdate.DELTAS, 2L));
+        assertThat(sent.updates().get(1).deltas()).hasSize(1);
+
+        broadcaster.flush();
+        verify(redisTemplate, times(2)).convertAndSend(eq(BoardUpdateBroadcaster.RELAY_CHANNEL), anyString());
+    }
+
+    private BoardUpdate sentUpdate(Long boardId) {
+        ArgumentCaptor<BoardUpdate> update = ArgumentCaptor.forClass(BoardUpdate.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/boards/" + boardId), update.capture());
+        return update.getValue();
+    }
+
+    private static CardResponse card(Long id, Long columnId, String rank) {
+        return CardResponse.builder().id(id).columnId(columnId).name("card").rank(rank).build();
+    }
+}
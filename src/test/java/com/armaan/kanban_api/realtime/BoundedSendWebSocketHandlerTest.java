@@ -0,0 +1,191 @@
+package com.armaan.kanban_api.realtime;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BoundedSendWebSocketHandlerTest {
+
+    private final List<Runnable> drains = new ArrayList<>();
+    private final Counter resyncs = new SimpleMeterRegistry().counter("resyncs");
+    private final Counter disconnects = new SimpleMeterRegistry().counter("disconnects");
+    private WebSocketSession client;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        client = mock(WebSocketSession.class);
+        when(client.getId()).thenReturn("s1");
+        when(client.isOpen()).thenReturn(true);
+        session = connect(Duration.ofSeconds(10));
+    }
+
+    private WebSocketSession connect(Duration sendTimeLimit) throws Exception {
+        WebSocketHandler broker = mock(WebSocketHandler.class);
+        AtomicReference<WebSocketSession> decorated = new AtomicReference<>();
+        doAnswer(invocation -> {
+            decorated.set(invocation.getArgument(0));
+            return null;
+        }).when(broker).afterConnectionEstablished(any());
+
+        // Drains run only when the test says so, which simulates a client that is not reading
+        new BoundedSendWebSocketHandler(broker, drains::add, 1_000, sendTimeLimit, resyncs, disconnects)
+                .afterConnectionEstablished(client);
+        return decorated.get();
+    }
+
+    @Test
+    void sendingNeverWaitsForTheClient() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blocked.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(client).sendMessage(any());
+        Thread drainer = new Thread(() -> drains.forEach(Runnable::run));
+
+        session.sendMessage(boardMessage("sub-1", 1L, 100));
+        drainer.start();
+        long start = System.nanoTime();
+        session.sendMessage(boardMessage("sub-1", 1L, 100));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1_000);
+        blocked.countDown();
+        drainer.join();
+    }
+
+    @Test
+    void overflowReplacesQueuedUpdatesWithOneResyncPerSubscription() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            session.sendMessage(boardMessage("sub-1", 1L, 300));
+            session.sendMessage(boardMessage("sub-2", 2L, 300));
+        }
+        drains.forEach(Runnable::run);
+
+        List<StompHeaderAccessor> sent = sentFrames(2);
+        assertThat(sent).extracting(StompHeaderAccessor::getSubscriptionId).containsExactly("sub-1", "sub-2");
+        assertThat(sent).extracting(StompHeaderAccessor::getDestination)
+                .containsExactly("/topic/boards/1", "/topic/boards/2");
+        assertThat(resyncs.count()).isEqualTo(1);
+        verify(client, never()).close(any());
+    }
+
+    @Test
+    void updatesFlowAgainOnceTheSubscriptionsResyncIsWritten() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            session.sendMessage(boardMessage("sub-1", 1L, 300));
+            session.sendMessage(boardMessage("sub-2", 2L, 300));
+        }
+        session.sendMessage(boardMessage("sub-1", 1L, 300));
+        List<String> written = new ArrayList<>();
+        doAnswer(invocation -> {
+            TextMessage message = invocation.getArgument(0);
+            written.add(message.getPayload());
+            if (written.size() == 2) {
+                // Arrive after the resync of sub-1 was written, while that of sub-2 is still being written
+                session.sendMessage(boardMessage("sub-1", 1L, 10));
+                session.sendMessage(boardMessage("sub-2", 2L, 10));
+            }
+            return null;
+        }).when(client).sendMessage(any());
+
+        drains.forEach(Runnable::run);
+
+        assertThat(written).hasSize(3);
+        assertThat(written.get(0)).contains("subscription:sub-1").contains("\"resync\"");
+        assertThat(written.get(1)).contains("subscription:sub-2").contains("\"resync\"");
+        assertThat(written.get(2)).contains("subscription:sub-1").doesNotContain("\"resync\"");
+    }
+
+    @Test
+    void disconnectsAClientWhoseWriteExceedsTheSendTimeLimit() throws Exception {
+        session = connect(Duration.ofMillis(1));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(client).sendMessage(any());
+        session.sendMessage(boardMessage("sub-1", 1L, 100));
+        Thread drainer = new Thread(() -> drains.forEach(Runnable::run));
+        drainer.start();
+
+        try {
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(5);
+            session.sendMessage(boardMessage("sub-1", 1L, 100));
+
+            verify(client).close(CloseStatus.SESSION_NOT_RELIABLE);
+            assertThat(disconnects.count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            drainer.join();
+        }
+    }
+
+    @Test
+    void disconnectsAClientThatCannotTakeTheResync() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            session.sendMessage(boardMessage("sub-1", 1L, 300));
+        }
+        // Resync for sub-1 is queued but not yet written: sub-1 updates are dropped, the next overflow
+        // gives up on the client
+        for (int i = 0; i < 4; i++) {
+            session.sendMessage(boardMessage("sub-1", 1L, 300));
+        }
+        verify(client, never()).close(any());
+        for (int i = 0; i < 4; i++) {
+            session.sendMessage(boardMessage("sub-2", 2L, 300));
+        }
+
+        verify(client).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(disconnects.count()).isEqualTo(1);
+    }
+
+    private List<StompHeaderAccessor> sentFrames(int expected) throws Exception {
+        var captor = org.mockito.ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(client, times(expected)).sendMessage(captor.capture());
+        List<StompHeaderAccessor> frames = new ArrayList<>();
+        for (WebSocketMessage<?> message : captor.getAllValues()) {
+            var decoded = new StompDecoder().decode(ByteBuffer.wrap(((TextMessage) message).asBytes()));
+            StompHeaderAccessor frame = StompHeaderAccessor.wrap(decoded.get(0));
+            assertThat(frame.getCommand()).isEqualTo(StompCommand.MESSAGE);
+            assertThat(new String((byte[]) decoded.get(0).getPayload(), StandardCharsets.UTF_8)).contains("\"resync\"");
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    private static TextMessage boardMessage(String subscriptionId, Long boardId, int bodySize) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination("/topic/boards/" + boardId);
+        headers.setMessageId("m");
+        byte[] body = "x".repeat(bodySize).getBytes(StandardCharsets.UTF_8);
+        return new TextMessage(new StompEncoder().encode(MessageBuilder.createMessage(body, headers.getMessageHeaders())));
+    }
+}
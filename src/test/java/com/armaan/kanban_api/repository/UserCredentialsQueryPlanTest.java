@@ -0,0 +1,52 @@
+package com.armaan.kanban_api.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the Postgres plan of the credential lookup against the database configured through the usual
+ * DB_* variables. Everything runs in a transaction that is rolled back. Skipped when no database is set.
+ */
+@EnabledIfEnvironmentVariable(named = "DB_HOST", matches = ".+")
+class UserCredentialsQueryPlanTest {
+
+    @Test
+    void credentialLookupUsesTheLowerCaseIndexes() throws Exception {
+        String url = "jdbc:postgresql://" + System.getenv("DB_HOST") + ":" + System.getenv("DB_PORT")
+                + "/" + System.getenv("DB_NAME");
+        try (Connection connection = DriverManager.getConnection(url, System.getenv("DB_USERNAME"), System.getenv("DB_PASSWORD"))) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username_lower ON users(lower(username))");
+                statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_lower ON users(lower(email))");
+                // Small test tables would otherwise always be scanned sequentially
+                statement.execute("SET LOCAL enable_seqscan = off");
+
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery("""
+                        EXPLAIN SELECT u.id, u.username, u.email, u.password_hash, u.is_active
+                        FROM users u
+                        WHERE lower(u.username) = lower('alice') OR lower(u.email) = lower('alice')
+                        """)) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+
+                assertThat(plan.toString())
+                        .contains("uk_users_username_lower")
+                        .contains("uk_users_email_lower")
+                        .doesNotContain("Seq Scan");
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+}
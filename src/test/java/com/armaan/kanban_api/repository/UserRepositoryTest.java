@@ -0,0 +1,125 @@
+package com.armaan.kanban_api.repository;
+
+import com.armaan.kanban_api.cache.UserDetailsCache;
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.repository.projection.UserCredentials;
+import com.armaan.kanban_api.repository.projection.UserProfile;
+import com.armaan.kanban_api.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs on an embedded H2 database; the statement counts come from Hibernate statistics.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        alice = entityManager.persist(user("alice", "alice@example.com"));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findsCredentialsByUsernameOrEmailInOneStatement() {
+        Optional<UserCredentials> byUsername = userRepository.findCredentials("alice");
+        Optional<UserCredentials> byEmail = userRepository.findCredentials("alice@example.com");
+
+        assertThat(byUsername).get().extracting(UserCredentials::id).isEqualTo(alice.getId());
+        assertThat(byEmail).get().extracting(UserCredentials::id).isEqualTo(alice.getId());
+        assertThat(byUsername.get().passwordHash()).isEqualTo("{bcrypt}hash");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        // Projections are never managed
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void lookupIsCaseInsensitiveAndPrefersExactMatch() {
+        // Usernames and emails are unique ignoring case, so only a username equal to another user's email can clash
+        User lookalike = entityManager.persist(user("ALICE@example.com", "lookalike@example.com"));
+        entityManager.flush();
+
+        assertThat(userRepository.findCredentials("Alice")).get()
+                .extracting(UserCredentials::id).isEqualTo(alice.getId());
+        assertThat(userRepository.findCredentials("alice@EXAMPLE.com")).get()
+                .extracting(UserCredentials::id).isEqualTo(alice.getId());
+        assertThat(userRepository.findCredentials("ALICE@example.com")).get()
+                .extracting(UserCredentials::id).isEqualTo(lookalike.getId());
+        assertThat(userRepository.findCredentials("nobody")).isEmpty();
+    }
+
+    @Test
+    void userServiceLoadsAPrincipalWithOneQueryOnCacheMiss() {
+        UserDetailsCache cache = mock(UserDetailsCache.class);
+        when(cache.get(anyString())).thenReturn(Optional.empty());
+        UserService userService = new UserService(userRepository, cache, new SimpleMeterRegistry());
+
+        User principal = (User) userService.loadUserByUsername("alice@example.com");
+
+        assertThat(principal.getId()).isEqualTo(alice.getId());
+        assertThat(principal.isEnabled()).isTrue();
+        // Credentials only, the profile columns are not read on the authentication path
+        assertThat(principal.getAvatarUrl()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> userService.loadUserByUsername("nobody"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findsProfileByIdInOneStatementWithoutCredentials() {
+        Optional<UserProfile> profile = userRepository.findProfileById(alice.getId());
+
+        assertThat(profile).get().extracting(UserProfile::avatarUrl).isEqualTo("https://example.com/alice.png");
+        assertThat(profile.get().toUser().getPasswordHash()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private static User user(String username, String email) {
+        return User.builder()
+                .username(username)
+                .email(email)
+                .passwordHash("{bcrypt}hash")
+                .avatarUrl("https://example.com/" + username + ".png")
+                .isActive(true)
+                .emailVerified(false)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.armaan.kanban_api.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardSearchIndexTest {
+
+    private CardSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CardSearchIndex(1L);
+        index.put(1, 10, "Fix login redirect", "Users land on /home after signing in");
+        index.put(2, 10, "Write release notes", "Mention the login fix");
+        index.put(3, 11, "Logo refresh", null);
+        index.put(4, 11, "Billing: invoice PDF", "Généré côté serveur");
+    }
+
+    @Test
+    void matchesWordPrefixesCaseInsensitively() {
+        assertThat(ids("LOG")).containsExactly(3L, 1L, 2L);
+        assertThat(ids("invoice")).containsExactly(4L);
+        assertThat(ids("généré")).containsExactly(4L);
+        assertThat(ids("nothing")).isEmpty();
+        assertThat(ids("  -- ")).isEmpty();
+    }
+
+    @Test
+    void requiresEveryQueryWordAndRanksNameMatchesFirst() {
+        // Card 2 matches through its description only, so it comes after card 1 despite being newer
+        assertThat(ids("login fix")).containsExactly(1L, 2L);
+        assertThat(ids("login invoice")).isEmpty();
+    }
+
+    @Test
+    void singleCharactersNextToOtherWordsMatchWholeWordsOnly() {
+        index.put(5, 10, "Release 2 prep", null);
+
+        assertThat(ids("n")).containsExactly(2L);
+        assertThat(ids("release n")).isEmpty();
+        assertThat(ids("release 2")).containsExactly(5L);
+    }
+
+    @Test
+    void limitsHitsButCountsAllMatches() {
+        CardSearchIndex.Result result = index.search("lo", 1);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.hits()).extracting(CardSearchIndex.Hit::cardId).containsExactly(3L);
+    }
+
+    @Test
+    void appliesUpdatesMovesAndRemovals() {
+        index.put(1, 10, "Fix signup redirect", null);
+        assertThat(ids("login")).containsExactly(2L);
+        assertThat(ids("signup")).containsExactly(1L);
+
+        index.move(1, 12);
+        assertThat(index.search("signup", 10).hits())
+                .containsExactly(new CardSearchIndex.Hit(1L, 12L, "Fix signup redirect"));
+
+        index.remove(2);
+        assertThat(ids("login")).isEmpty();
+
+        index.removeColumn(11);
+        assertThat(ids("logo")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void searchesLargeBoards() {
+        CardSearchIndex large = new CardSearchIndex(1L);
+        for (long id = 1; id <= 50_000; id++) {
+            large.put(id, id % 20, "Task " + id + (id % 1000 == 0 ? " milestone" : ""), "Sprint " + (id % 50));
+        }
+
+        CardSearchIndex.Result result = large.search("mile sprint", 5);
+
+        assertThat(result.total()).isEqualTo(50);
+        assertThat(result.hits()).extracting(CardSearchIndex.Hit::cardId)
+                .containsExactly(50_000L, 49_000L, 48_000L, 47_000L, 46_000L);
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10).hits().stream().map(CardSearchIndex.Hit::cardId).toList();
+    }
+}
@@ -0,0 +1,210 @@
+package com.armaan.kanban_api.search;
+
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.armaan.kanban_api.dto.response.CardSearchHitResponse;
+import com.armaan.kanban_api.exception.BoardNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Two service instances stand for two nodes sharing an H2 database; the Redis channel is replaced by
+ * handing the published message to the other instance. Changes are made outside a transaction, so
+ * they apply immediately.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardSearchServiceTest {
+
+    private static final Long OWNER = 1L;
+    private static final Long BOARD = 10L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private StringRedisTemplate redisTemplate;
+    private CardSearchService node;
+    private CardSearchService otherNode;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO boards (id, name, owner_id, is_archived) VALUES (?, 'Board', ?, false)", BOARD, OWNER);
+        jdbcTemplate.update("INSERT INTO lists (id, board_id, name, rank_key) VALUES (100, ?, 'Todo', 'm')", BOARD);
+        jdbcTemplate.update("INSERT INTO cards (id, list_id, name, description, rank_key) " +
+                "VALUES (1000, 100, 'Fix login redirect', 'After signing in', 'm')");
+
+        redisTemplate = mock(StringRedisTemplate.class);
+        node = newService(redisTemplate);
+        otherNode = newService(mock(StringRedisTemplate.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cards");
+        jdbcTemplate.update("DELETE FROM lists");
+        jdbcTemplate.update("DELETE FROM boards");
+    }
+
+    @Test
+    void buildsTheIndexOnFirstSearchAndThenAnswersFromMemory() {
+        assertThat(hits(node, "login")).containsExactly(new CardSearchHitResponse(1000L, 100L, "Fix login redirect"));
+
+        jdbcTemplate.update("DELETE FROM cards");
+
+        assertThat(hits(node, "sign")).extracting(CardSearchHitResponse::getId).containsExactly(1000L);
+    }
+
+    @Test
+    void reportsMissingAndForeignBoardsAsNotFound() {
+        assertThatThrownBy(() -> node.search(OWNER, 99L, "login", null)).isInstanceOf(BoardNotFoundException.class);
+        assertThatThrownBy(() -> node.search(2L, BOARD, "login", null)).isInstanceOf(BoardNotFoundException.class);
+    }
+
+    @Test
+    void broadcastsChangesToOtherNodes() {
+        hits(node, "login");
+        hits(otherNode, "login");
+
+        node.cardChanged(BOARD, CardResponse.builder().id(1001L).columnId(100L).name("Login audit").build());
+        node.cardsRemoved(BOARD, List.of(1000L));
+
+        assertThat(hits(node, "login")).extracting(CardSearchHitResponse::getId).containsExactly(1001L);
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2))
+                .convertAndSend(eq(CardSearchService.CHANGES_CHANNEL), messages.capture());
+        messages.getAllValues().forEach(message -> otherNode.onMessage(
+                new DefaultMessage(CardSearchService.CHANGES_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                        message.getBytes(StandardCharsets.UTF_8)), null));
+        assertThat(hits(otherNode, "login")).extracting(CardSearchHitResponse::getId).containsExactly(1001L);
+    }
+
+    @Test
+    void droppedBoardsAreRebuiltFromTheDatabase() {
+        hits(node, "login");
+        jdbcTemplate.update("UPDATE cards SET name = 'Fix signup redirect' WHERE id = 1000");
+
+        node.boardDeleted(BOARD);
+
+        assertThat(hits(node, "login")).isEmpty();
+        assertThat(hits(node, "signup")).extracting(CardSearchHitResponse::getId).containsExactly(1000L);
+    }
+
+    @Test
+    void foreignUsersNeverCauseABuild() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CardSearchService service = newService(jdbcTemplate, mock(StringRedisTemplate.class), meterRegistry,
+                Duration.ofHours(6));
+
+        assertThatThrownBy(() -> service.search(2L, BOARD, "login", null)).isInstanceOf(BoardNotFoundException.class);
+
+        assertThat(meterRegistry.timer("card.search.index.build").count()).isZero();
+    }
+
+    @Test
+    void changesArrivingDuringABuildAreAppliedToIt() {
+        JdbcTemplate slowReads = spy(jdbcTemplate);
+        AtomicReference<CardSearchService> service = new AtomicReference<>();
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            // Committed after the build read the cards
+            service.get().cardChanged(BOARD, CardResponse.builder().id(1001L).columnId(100L).name("Login audit").build());
+            return null;
+        }).when(slowReads).query(contains("FROM cards"), any(RowCallbackHandler.class), any(Object[].class));
+        service.set(newService(slowReads, mock(StringRedisTemplate.class), new SimpleMeterRegistry(), Duration.ofHours(6)));
+
+        assertThat(hits(service.get(), "login")).extracting(CardSearchHitResponse::getId).containsExactly(1001L, 1000L);
+    }
+
+    @Test
+    void appliedChangesDoNotPostponeTheRebuild() {
+        CardSearchService service = newService(jdbcTemplate, mock(StringRedisTemplate.class), new SimpleMeterRegistry(),
+                Duration.ZERO);
+        hits(service, "login");
+        jdbcTemplate.update("UPDATE cards SET name = 'Fix signup redirect' WHERE id = 1000");
+
+        service.cardMoved(BOARD, 1000L, 100L);
+
+        assertThat(hits(service, "signup")).extracting(CardSearchHitResponse::getId).containsExactly(1000L);
+    }
+
+    @Test
+    void indexesGrownByChangesAreWeighedAgain() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CardSearchService service = newService(jdbcTemplate, mock(StringRedisTemplate.class), meterRegistry,
+                Duration.ofHours(6));
+        hits(service, "login");
+        assertThat(meterRegistry.get("card.search.indexed.cards").gauge().value()).isEqualTo(2);
+
+        for (long id = 2000; id < 2500; id++) {
+            service.cardChanged(BOARD, CardResponse.builder().id(id).columnId(100L).name("Card " + id).build());
+        }
+
+        // 501 cards; weighed again each time the count drifted past the threshold
+        assertThat(meterRegistry.get("card.search.indexed.cards").gauge().value())
+                .isGreaterThan(501 - CardSearchIndex.MIN_WEIGHT_DRIFT);
+    }
+
+    @Test
+    void boardsWhoseChangesWereNotBroadcastAreDroppedOnceRedisIsBack() {
+        hits(node, "login");
+        doThrow(new RedisConnectionFailureException("down")).doReturn(1L)
+                .when(redisTemplate).convertAndSend(eq(CardSearchService.CHANGES_CHANNEL), anyString());
+        node.cardsRemoved(BOARD, List.of(1000L));
+
+        node.republishDrops();
+        node.republishDrops();
+
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(CardSearchService.CHANGES_CHANNEL), messages.capture());
+        assertThat(messages.getValue()).contains("\"kind\":\"DROP\"", "\"boardId\":" + BOARD);
+    }
+
+    private List<CardSearchHitResponse> hits(CardSearchService service, String query) {
+        return service.search(OWNER, BOARD, query, null).getCards();
+    }
+
+    private CardSearchService newService(StringRedisTemplate redis) {
+        return newService(jdbcTemplate, redis, new SimpleMeterRegistry(), Duration.ofHours(6));
+    }
+
+    private CardSearchService newService(JdbcTemplate jdbc, StringRedisTemplate redis, SimpleMeterRegistry meterRegistry,
+                                         Duration maxAge) {
+        return new CardSearchService(jdbc, redis, mock(RedisMessageListenerContainer.class), objectMapper,
+                meterRegistry, 100_000, Duration.ofMinutes(30), maxAge, 20, 100);
+    }
+}
@@ -0,0 +1,97 @@
+package com.armaan.kanban_api.security;
+
+import com.armaan.kanban_api.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encodesWithPrefixAndMatchesLegacyHashes() {
+        encoder = new BoundedPasswordEncoder(4, 2, 8, Duration.ofSeconds(5), 1, meterRegistry);
+
+        String hash = encoder.encode("secret");
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$04$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("secret", legacyHash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void upgradesHashesWhoseCostDiffersFromConfiguration() {
+        encoder = new BoundedPasswordEncoder(5, 1, 8, Duration.ofSeconds(5), 1, meterRegistry);
+
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isTrue();
+    }
+
+    @Test
+    void failsFastWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.encode(any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return "{bcrypt}" + invocation.getArgument(0);
+        });
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(30), 3, meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One hash running, one queued: a third caller must be rejected without waiting
+            List<Future<String>> inFlight = new ArrayList<>();
+            inFlight.add(callers.submit(() -> encoder.encode("first")));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            inFlight.add(callers.submit(() -> encoder.encode("second")));
+            awaitQueued(1);
+
+            assertThatThrownBy(() -> encoder.encode("third"))
+                    .isInstanceOf(PasswordHashingUnavailableException.class)
+                    .extracting("retryAfterSeconds").isEqualTo(3L);
+            assertThat(meterRegistry.get("auth.password.executor.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            for (Future<String> future : inFlight) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).startsWith("{bcrypt}");
+            }
+            verify(blocking, never()).encode("third");
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    private void awaitQueued(int tasks) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.executor.queue").gauge().value() < tasks) {
+            assertThat(System.nanoTime()).as("task queued in time").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.armaan.kanban_api.security;
+
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.repository.BoardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class StompAuthChannelInterceptorTest {
+
+    private final User alice = User.builder().id(1L).username("alice").isActive(true).build();
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private BoardRepository boardRepository;
+    private StompAuthChannelInterceptor interceptor;
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @BeforeEach
+    void setUp() {
+        jwtAuthenticationFilter = mock(JwtAuthenticationFilter.class);
+        boardRepository = mock(BoardRepository.class);
+        interceptor = new StompAuthChannelInterceptor(jwtAuthenticationFilter, boardRepository);
+    }
+
+    @Test
+    void connectAuthenticatesWithTheBearerToken() {
+        when(jwtAuthenticationFilter.authenticate("good")).thenReturn(alice);
+
+        Message<?> connected = interceptor.preSend(connect("Bearer good"), channel);
+
+        Principal user = StompHeaderAccessor.wrap(connected).getUser();
+        assertThat(user).isInstanceOf(UsernamePasswordAuthenticationToken.class);
+        assertThat(((UsernamePasswordAuthenticationToken) user).getPrincipal()).isSameAs(alice);
+    }
+
+    @Test
+    void connectWithoutAValidTokenIsRejected() {
+        when(jwtAuthenticationFilter.authenticate("revoked")).thenReturn(null);
+
+        assertThatThrownBy(() -> interceptor.preSend(connect(null), channel))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> interceptor.preSend(connect("Bearer revoked"), channel))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void subscriptionsAreLimitedToOwnBoards() {
+        when(boardRepository.existsByIdAndOwnerId(7L, 1L)).thenReturn(true);
+
+        interceptor.preSend(subscribe("/topic/boards/7"), channel);
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/boards/8"), channel))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/anything"), channel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static Message<byte[]> connect(String authorization) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            headers.setNativeHeader("Authorization", authorization);
+        }
+        headers.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+
+    private Message<byte[]> subscribe(String destination) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        headers.setDestination(destination);
+        headers.setSubscriptionId("sub-1");
+        headers.setUser(new UsernamePasswordAuthenticationToken(alice, null, List.of()));
+        headers.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+}
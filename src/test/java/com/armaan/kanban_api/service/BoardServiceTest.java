@@ -0,0 +1,311 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.BoardSnapshotCache;
+import com.armaan.kanban_api.dto.request.CreateBoardRequest;
+import com.armaan.kanban_api.dto.request.CreateCardRequest;
+import com.armaan.kanban_api.dto.request.CreateColumnRequest;
+import com.armaan.kanban_api.dto.request.MoveCardRequest;
+import com.armaan.kanban_api.dto.request.UpdateCardRequest;
+import com.armaan.kanban_api.dto.response.BoardDetailResponse;
+import com.armaan.kanban_api.dto.response.CardPageResponse;
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.armaan.kanban_api.dto.response.ColumnResponse;
+import com.armaan.kanban_api.exception.BoardNotFoundException;
+import com.armaan.kanban_api.exception.InvalidCursorException;
+import com.armaan.kanban_api.exception.InvalidMoveException;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.realtime.BoardUpdateBroadcaster;
+import com.armaan.kanban_api.search.CardSearchService;
+import com.armaan.kanban_api.util.RankKey;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs on an embedded H2 database; the statement counts come from Hibernate statistics.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "kanban.ranking.max-key-length=4"
+})
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({BoardService.class, RankRebalancer.class, OutboxService.class})
+class BoardServiceTest {
+
+    @MockitoBean
+    private BoardUpdateBroadcaster boardUpdates;
+
+    @MockitoBean
+    private BoardSnapshotCache boardSnapshots;
+
+    @MockitoBean
+    private CardSearchService cardSearch;
+
+    private static final Long OWNER = 1L;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private RankRebalancer rankRebalancer;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long boardId;
+    private Long todo;
+    private Long done;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Always a miss
+        when(boardSnapshots.get(any(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<BoardDetailResponse>>getArgument(2).get());
+        boardId = boardService.createBoard(OWNER, new CreateBoardRequest("Sprint", null, null)).getId();
+        todo = boardService.createColumn(OWNER, boardId, new CreateColumnRequest("Todo")).getId();
+        done = boardService.createColumn(OWNER, boardId, new CreateColumnRequest("Done")).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void cardsAreListedInRankOrder() {
+        Long a = card(todo, "a");
+        Long b = card(todo, "b");
+        Long c = card(todo, "c");
+
+        boardService.moveCard(OWNER, boardId, c, new MoveCardRequest(todo, null, a, null));
+
+        assertThat(cardIds(todo)).containsExactly(c, a, b);
+        assertThat(cardIds(done)).isEmpty();
+    }
+
+    @Test
+    void moveWritesOnlyTheMovedCard() {
+        for (int i = 0; i < 50; i++) {
+            card(todo, "card " + i);
+        }
+        Long moved = card(todo, "moved");
+        Long first = cardIds(todo).get(0);
+        Long second = cardIds(todo).get(1);
+        flushAndClear();
+        statistics.clear();
+
+        boardService.moveCard(OWNER, boardId, moved, new MoveCardRequest(done, null, null, null));
+        boardService.moveCard(OWNER, boardId, moved, new MoveCardRequest(todo, first, second, null));
+        flushAndClear();
+
+        // Two conditional UPDATEs of the moved card, no entity flushed
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM cards WHERE version > 0", Long.class)).containsExactly(moved);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM cards WHERE id = ?", Long.class, moved)).isEqualTo(2);
+        assertThat(cardIds(todo).subList(0, 3)).containsExactly(first, moved, second);
+    }
+
+    @Test
+    void updatedCardCanBeMovedWithTheReturnedVersion() {
+        Long a = card(todo, "a");
+        flushAndClear();
+
+        CardResponse updated = boardService.updateCard(OWNER, boardId, a,
+                UpdateCardRequest.builder().name("renamed").build());
+        flushAndClear();
+
+        assertThat(updated.getVersion())
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT version FROM cards WHERE id = ?", Long.class, a));
+        CardResponse moved = boardService.moveCard(OWNER, boardId, a,
+                new MoveCardRequest(done, null, null, updated.getVersion()));
+        assertThat(moved.getVersion()).isEqualTo(updated.getVersion() + 1);
+    }
+
+    @Test
+    void everyChangeIsRecordedInTheOutboxInOrder() {
+        Long card = card(todo, "a");
+        boardService.moveCard(OWNER, boardId, card, new MoveCardRequest(done, null, null, null));
+        boardService.deleteCard(OWNER, boardId, card);
+
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT event_type FROM outbox_events WHERE aggregate_type = 'board' AND aggregate_id = ? ORDER BY id",
+                String.class, String.valueOf(boardId));
+        assertThat(types).containsExactly("board.created", "column.created", "column.created",
+                "card.created", "card.moved", "card.deleted");
+
+        String moved = jdbcTemplate.queryForObject(
+                "SELECT payload FROM outbox_events WHERE event_type = 'card.moved'", String.class);
+        assertThat(moved).contains("\"fromColumnId\":" + todo, "\"columnId\":" + done, "\"actorId\":" + OWNER);
+    }
+
+    @Test
+    void singleNeighbourPlacesCardRightNextToIt() {
+        Long a = card(todo, "a");
+        Long b = card(todo, "b");
+        Long c = card(todo, "c");
+
+        boardService.moveCard(OWNER, boardId, c, new MoveCardRequest(todo, a, null, null));
+        assertThat(cardIds(todo)).containsExactly(a, c, b);
+
+        boardService.moveCard(OWNER, boardId, a, new MoveCardRequest(todo, null, b, null));
+        assertThat(cardIds(todo)).containsExactly(c, a, b);
+    }
+
+    @Test
+    void rejectsNeighboursFromAnotherColumnOrInWrongOrder() {
+        Long a = card(todo, "a");
+        Long b = card(todo, "b");
+        Long c = card(done, "c");
+
+        assertThatThrownBy(() -> boardService.moveCard(OWNER, boardId, c, new MoveCardRequest(done, a, null, null)))
+                .isInstanceOf(InvalidMoveException.class);
+        assertThatThrownBy(() -> boardService.moveCard(OWNER, boardId, c, new MoveCardRequest(todo, b, a, null)))
+                .isInstanceOf(InvalidMoveException.class);
+    }
+
+    @Test
+    void boardsOfOtherUsersAreNotFound() {
+        Long a = card(todo, "a");
+
+        assertThatThrownBy(() -> boardService.getBoard(2L, boardId)).isInstanceOf(BoardNotFoundException.class);
+        assertThatThrownBy(() -> boardService.moveCard(2L, boardId, a, new MoveCardRequest(done, null, null, null)))
+                .isInstanceOf(BoardNotFoundException.class);
+    }
+
+    @Test
+    void longKeysAreRebalancedWithoutChangingOrder() {
+        Long a = card(todo, "a");
+        Long b = card(todo, "b");
+        // Keep inserting right after a until the keys outgrow the limit
+        for (int i = 0; i < 20; i++) {
+            Long inserted = card(todo, "x" + i);
+            boardService.moveCard(OWNER, boardId, inserted, new MoveCardRequest(todo, a, null, null));
+        }
+        flushAndClear();
+        List<Long> before = cardIds(todo);
+        assertThat(ranks(todo)).anyMatch(rank -> rank.length() > 4);
+
+        rankRebalancer.rebalanceColumn(todo);
+
+        assertThat(cardIds(todo)).isEqualTo(before).startsWith(a).endsWith(b);
+        assertThat(ranks(todo)).allMatch(rank -> rank.length() <= 3);
+        verify(boardUpdates).resync(boardId);
+    }
+
+    @Test
+    void dashboardLoadsAnyNumberOfCardsInThreeStatements() {
+        List<Long> columnIds = new ArrayList<>(List.of(todo, done));
+        for (int i = 2; i < 50; i++) {
+            columnIds.add(boardService.createColumn(OWNER, boardId, new CreateColumnRequest("Column " + i)).getId());
+        }
+        Long otherBoard = boardService.createBoard(OWNER, new CreateBoardRequest("Backlog", null, null)).getId();
+        boardService.createColumn(OWNER, otherBoard, new CreateColumnRequest("Ideas"));
+
+        String[] ranks = RankKey.evenlySpaced(100);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (Long columnId : columnIds) {
+            for (int i = 0; i < ranks.length; i++) {
+                rows.add(new Object[]{columnId, "card " + i, ranks[i], now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cards (id, list_id, name, rank_key, priority, is_completed, is_archived, " +
+                "created_at, updated_at) VALUES (NEXT VALUE FOR cards_id_seq, ?, ?, ?, 'medium', false, false, ?, ?)", rows);
+        flushAndClear();
+        statistics.clear();
+
+        List<BoardDetailResponse> dashboard = boardService.getDashboard(OWNER);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(dashboard).hasSize(2);
+        BoardDetailResponse sprint = dashboard.stream()
+                .filter(board -> board.getBoard().getId().equals(boardId)).findFirst().orElseThrow();
+        assertThat(sprint.getColumns()).hasSize(50)
+                .allSatisfy(column -> {
+                    assertThat(column.getCards()).hasSize(50);
+                    assertThat(column.getNextCursor()).isNotNull();
+                });
+        assertThat(sprint.getColumns().get(0).getCards()).extracting(CardResponse::getRank)
+                .containsExactly(Arrays.copyOf(ranks, 50));
+    }
+
+    @Test
+    void cardsArePagedByCursorInRankOrder() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(card(todo, "card " + i));
+        }
+        Long moved = created.remove(6);
+        boardService.moveCard(OWNER, boardId, moved, new MoveCardRequest(todo, null, created.get(0), null));
+        created.add(0, moved);
+        flushAndClear();
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CardPageResponse page = boardService.getCards(OWNER, boardId, todo, cursor, 3);
+            assertThat(page.getCards()).hasSizeLessThanOrEqualTo(3);
+            page.getCards().forEach(card -> paged.add(card.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).isEqualTo(created);
+        assertThatThrownBy(() -> boardService.getCards(OWNER, boardId, todo, "not a cursor", 3))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private Long card(Long columnId, String name) {
+        CreateCardRequest request = new CreateCardRequest();
+        request.setName(name);
+        return boardService.createCard(OWNER, boardId, columnId, request).getId();
+    }
+
+    private List<Long> cardIds(Long columnId) {
+        return column(columnId).getCards().stream().map(CardResponse::getId).toList();
+    }
+
+    private List<String> ranks(Long columnId) {
+        return jdbcTemplate.queryForList("SELECT rank_key FROM cards WHERE list_id = ?", String.class, columnId);
+    }
+
+    private ColumnResponse column(Long columnId) {
+        flushAndClear();
+        BoardDetailResponse board = boardService.getBoard(OWNER, boardId);
+        return board.getColumns().stream().filter(c -> c.getId().equals(columnId)).findFirst().orElseThrow();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
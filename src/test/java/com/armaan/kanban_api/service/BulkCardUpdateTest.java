@@ -0,0 +1,293 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.BoardSnapshotCache;
+import com.armaan.kanban_api.dto.request.BulkCardRequest;
+import com.armaan.kanban_api.dto.request.CreateBoardRequest;
+import com.armaan.kanban_api.dto.request.CreateColumnRequest;
+import com.armaan.kanban_api.dto.response.BulkCardResponse;
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.armaan.kanban_api.exception.CardNotFoundException;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.realtime.BoardUpdateBroadcaster;
+import com.armaan.kanban_api.search.CardSearchService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Statement and round-trip counts of bulk card changes. Every execute call on a JDBC statement is
+ * counted as one round trip (a batch included), whatever the number of rows it carries.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({BoardService.class, RankRebalancer.class, OutboxService.class, BulkCardUpdateTest.CountingConfig.class})
+class BulkCardUpdateTest {
+
+    private static final Long OWNER = 1L;
+    private static final int CARDS = 1000;
+
+    @MockitoBean
+    private BoardUpdateBroadcaster boardUpdates;
+
+    @MockitoBean
+    private BoardSnapshotCache boardSnapshots;
+
+    @MockitoBean
+    private CardSearchService cardSearch;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcCounter counter;
+
+    private Long boardId;
+    private Long todo;
+    private Long done;
+
+    @BeforeEach
+    void setUp() {
+        boardId = boardService.createBoard(OWNER, new CreateBoardRequest("Import", null, null)).getId();
+        todo = boardService.createColumn(OWNER, boardId, new CreateColumnRequest("Todo")).getId();
+        done = boardService.createColumn(OWNER, boardId, new CreateColumnRequest("Done")).getId();
+        flushAndClear();
+    }
+
+    @Test
+    void createsThousandCardsInBatches() {
+        List<BulkCardRequest.Create> creates = IntStream.range(0, CARDS)
+                .mapToObj(i -> BulkCardRequest.Create.builder().columnId(i % 2 == 0 ? todo : done)
+                        .name("Imported " + i).build())
+                .toList();
+        counter.reset();
+
+        BulkCardResponse response = boardService.bulkUpdateCards(OWNER, boardId,
+                BulkCardRequest.builder().create(creates).build());
+        entityManager.flush();
+
+        // Board check, column locks, last ranks, 21 sequence calls (the first pool takes two), 20 INSERT
+        // batches of 50 cards and one outbox batch: 45 round trips instead of 2,000+ with IDENTITY ids
+        assertThat(counter.roundTrips("select next value for cards_id_seq")).isEqualTo(21);
+        assertThat(counter.roundTrips("insert into cards")).isEqualTo(20);
+        assertThat(counter.rows("insert into cards")).isEqualTo(CARDS);
+        assertThat(counter.roundTrips("insert into outbox_events")).isEqualTo(1);
+        assertThat(counter.rows("insert into outbox_events")).isEqualTo(CARDS);
+        assertThat(counter.roundTrips()).isEqualTo(45);
+        assertThat(counter.statements()).isLessThanOrEqualTo(45);
+
+        assertThat(response.getCreated()).hasSize(CARDS).extracting(CardResponse::getId).doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM cards WHERE list_id = ? ORDER BY rank_key",
+                String.class, todo)).hasSize(CARDS / 2).startsWith("Imported 0", "Imported 2", "Imported 4");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class)).isEqualTo(CARDS + 3);
+        verify(boardUpdates).resync(boardId);
+        verify(cardSearch).invalidate(boardId);
+    }
+
+    @Test
+    void movesUpdatesAndArchivesThousandCardsInBatches() {
+        List<Long> cardIds = boardService.bulkUpdateCards(OWNER, boardId, BulkCardRequest.builder()
+                        .create(IntStream.range(0, CARDS)
+                                .mapToObj(i -> BulkCardRequest.Create.builder().columnId(todo).name("Card " + i).build())
+                                .toList())
+                        .build())
+                .getCreated().stream().map(CardResponse::getId).toList();
+        flushAndClear();
+
+        counter.reset();
+        BulkCardResponse moved = boardService.bulkUpdateCards(OWNER, boardId, BulkCardRequest.builder()
+                .move(cardIds.stream().map(id -> new BulkCardRequest.Move(id, done)).toList())
+                .build());
+        entityManager.flush();
+
+        // Board check, column lock, last ranks, one SELECT of all cards, one UPDATE batch, one outbox batch
+        assertThat(counter.roundTrips("update cards")).isEqualTo(1);
+        assertThat(counter.rows("update cards")).isEqualTo(CARDS);
+        assertThat(counter.roundTrips()).isEqualTo(6);
+        assertThat(moved.getMoved()).extracting(CardResponse::getVersion).containsOnly(storedVersion(cardIds.get(0)));
+        flushAndClear();
+
+        counter.reset();
+        List<BulkCardRequest.Update> updates = new ArrayList<>();
+        cardIds.forEach(id -> updates.add(BulkCardRequest.Update.builder().cardId(id).completed(true).build()));
+        BulkCardResponse updated = boardService.bulkUpdateCards(OWNER, boardId, BulkCardRequest.builder()
+                .update(updates)
+                .archive(cardIds.subList(0, CARDS / 2))
+                .build());
+        entityManager.flush();
+
+        // Cards both updated and archived are written once
+        assertThat(counter.roundTrips("update cards")).isEqualTo(1);
+        assertThat(counter.rows("update cards")).isEqualTo(CARDS);
+        assertThat(counter.rows("insert into outbox_events")).isEqualTo(CARDS + CARDS / 2);
+        assertThat(counter.roundTrips()).isEqualTo(4);
+        // The versions a follow-up change has to send
+        assertThat(updated.getUpdated()).extracting(CardResponse::getVersion).containsOnly(storedVersion(cardIds.get(0)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards WHERE list_id = ? AND is_completed",
+                Integer.class, done)).isEqualTo(CARDS);
+        assertThat(boardService.getCards(OWNER, boardId, done, null, 200).getCards())
+                .extracting(CardResponse::getId).containsExactlyElementsOf(cardIds.subList(CARDS / 2, CARDS / 2 + 200));
+    }
+
+    @Test
+    void rejectsCardsOfOtherBoards() {
+        Long otherBoard = boardService.createBoard(OWNER, new CreateBoardRequest("Other", null, null)).getId();
+        Long otherColumn = boardService.createColumn(OWNER, otherBoard, new CreateColumnRequest("Todo")).getId();
+        Long foreignCard = boardService.bulkUpdateCards(OWNER, otherBoard, BulkCardRequest.builder()
+                        .create(List.of(BulkCardRequest.Create.builder().columnId(otherColumn).name("Foreign").build()))
+                        .build())
+                .getCreated().get(0).getId();
+
+        assertThatThrownBy(() -> boardService.bulkUpdateCards(OWNER, boardId, BulkCardRequest.builder()
+                .move(List.of(new BulkCardRequest.Move(foreignCard, todo)))
+                .build()))
+                .isInstanceOf(CardNotFoundException.class);
+    }
+
+    private Long storedVersion(Long cardId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM cards WHERE id = ?", Long.class, cardId);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Counts prepared statements, executions and rows per SQL prefix (a batch counts once as an
+     * execution and once per row).
+     */
+    static class JdbcCounter {
+
+        private final List<String> prepared = new ArrayList<>();
+        private final List<String> executed = new ArrayList<>();
+        private final List<String> batchedRows = new ArrayList<>();
+
+        synchronized void reset() {
+            prepared.clear();
+            executed.clear();
+            batchedRows.clear();
+        }
+
+        synchronized int statements() {
+            return prepared.size();
+        }
+
+        synchronized int roundTrips() {
+            return executed.size();
+        }
+
+        synchronized int roundTrips(String sqlPrefix) {
+            return (int) executed.stream().filter(sql -> sql.startsWith(sqlPrefix)).count();
+        }
+
+        synchronized int rows(String sqlPrefix) {
+            return (int) batchedRows.stream().filter(sql -> sql.startsWith(sqlPrefix)).count();
+        }
+
+        private synchronized void record(List<String> target, String sql) {
+            target.add(sql.strip().toLowerCase().replaceAll("\\s+", " "));
+        }
+
+        Object wrap(DataSource dataSource) {
+            return proxy(ClassUtils.getAllInterfaces(dataSource), dataSource, (method, result, args) ->
+                    result instanceof Connection connection ? wrap(connection) : result);
+        }
+
+        private Connection wrap(Connection connection) {
+            return (Connection) proxy(new Class<?>[]{Connection.class}, connection, (method, result, args) -> {
+                if (result instanceof Statement statement) {
+                    String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                    if (sql != null) {
+                        record(prepared, sql);
+                    }
+                    return wrap(statement, method.getReturnType(), sql);
+                }
+                return result;
+            });
+        }
+
+        private Statement wrap(Statement statement, Class<?> type, String preparedSql) {
+            return (Statement) proxy(new Class<?>[]{type}, statement, (method, result, args) -> {
+                String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : "";
+                switch (method.getName()) {
+                    case "addBatch" -> record(batchedRows, sql);
+                    case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> {
+                        record(executed, sql);
+                        record(batchedRows, sql);
+                    }
+                    case "executeBatch", "executeLargeBatch" -> record(executed, sql);
+                    default -> {
+                    }
+                }
+                return result;
+            });
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object result, Object[] args);
+        }
+
+        private static Object proxy(Class<?>[] types, Object target, AfterCall afterCall) {
+            return Proxy.newProxyInstance(BulkCardUpdateTest.class.getClassLoader(), types, (proxy, method, args) -> {
+                try {
+                    return afterCall.apply(method, method.invoke(target, args), args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+
+    @TestConfiguration
+    static class CountingConfig {
+
+        @Bean
+        JdbcCounter jdbcCounter() {
+            return new JdbcCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor countingDataSource(ObjectProvider<JdbcCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counter.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.BoardSnapshotCache;
+import com.armaan.kanban_api.dto.request.CreateBoardRequest;
+import com.armaan.kanban_api.dto.request.CreateCardRequest;
+import com.armaan.kanban_api.dto.request.CreateColumnRequest;
+import com.armaan.kanban_api.dto.request.MoveCardRequest;
+import com.armaan.kanban_api.dto.response.CardResponse;
+import com.armaan.kanban_api.exception.CardConflictException;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.realtime.BoardUpdateBroadcaster;
+import com.armaan.kanban_api.repository.CardRepository;
+import com.armaan.kanban_api.search.CardSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Dozens of movers against the same cards and gaps, each move in transactions of its own (the test
+ * itself runs outside a transaction). Every move either commits or gets a conflict, and no two cards
+ * of a column ever share a rank key.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({BoardService.class, RankRebalancer.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConcurrentCardMoveTest {
+
+    private static final Long OWNER = 1L;
+    private static final int MOVERS = 32;
+
+    @MockitoBean
+    private BoardUpdateBroadcaster boardUpdates;
+
+    @MockitoBean
+    private BoardSnapshotCache boardSnapshots;
+
+    @MockitoBean
+    private CardSearchService cardSearch;
+
+    @MockitoSpyBean
+    private CardRepository cardRepository;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private RankRebalancer rankRebalancer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+    private Long boardId;
+    private Long todo;
+    private Long done;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(MOVERS);
+        boardId = boardService.createBoard(OWNER, new CreateBoardRequest("Contended", null, null)).getId();
+        todo = boardService.createColumn(OWNER, boardId, new CreateColumnRequest("Todo")).getId();
+        done = boardService.createColumn(OWNER, boardId, new CreateColumnRequest("Done")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        jdbcTemplate.update("DELETE FROM cards");
+        jdbcTemplate.update("DELETE FROM lists");
+        jdbcTemplate.update("DELETE FROM boards");
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    void onlyOneOfManyMovesIntoTheSameGapWins() throws Exception {
+        Long first = card(done);
+        Long second = card(done);
+        List<Long> movers = new ArrayList<>();
+        for (int i = 0; i < MOVERS; i++) {
+            movers.add(card(todo));
+        }
+
+        ConcurrentLinkedQueue<Long> won = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<CardConflictException> conflicts = new ConcurrentLinkedQueue<>();
+        runConcurrently(movers.stream().<Callable<Void>>map(cardId -> () -> {
+            try {
+                boardService.moveCard(OWNER, boardId, cardId, new MoveCardRequest(done, first, second, null));
+                won.add(cardId);
+            } catch (CardConflictException e) {
+                conflicts.add(e);
+            }
+            return null;
+        }).toList());
+
+        // Every mover computes the same key between the two neighbours; only one can hold it
+        assertThat(won).hasSize(1);
+        assertThat(conflicts).hasSize(MOVERS - 1);
+        Long winner = won.peek();
+        assertThat(cardIds(done)).containsExactly(first, winner, second);
+        // Each conflict carries the loser as it still is and the card now in that position
+        for (CardConflictException conflict : conflicts) {
+            assertThat(conflict.getCards()).extracting(CardResponse::getId).contains(winner).hasSize(2);
+            assertThat(conflict.getCards()).filteredOn(card -> !card.getId().equals(winner))
+                    .extracting(CardResponse::getColumnId).containsOnly(todo);
+        }
+        assertNoSharedRanks();
+    }
+
+    @Test
+    void onlyOneMoveOfTheSameVersionWins() throws Exception {
+        Long card = card(todo);
+        for (int i = 0; i < 5; i++) {
+            card(done);
+        }
+        List<Long> targets = cardIds(done);
+
+        AtomicInteger moved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> moves = new ArrayList<>();
+        for (int i = 0; i < MOVERS; i++) {
+            Long previous = targets.get(i % targets.size());
+            moves.add(() -> {
+                try {
+                    // All movers read version 0 of the card
+                    boardService.moveCard(OWNER, boardId, card, new MoveCardRequest(done, previous, null, 0L));
+                    moved.incrementAndGet();
+                } catch (CardConflictException e) {
+                    assertThat(e.getCards()).extracting(CardResponse::getVersion).containsExactly(1L);
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runConcurrently(moves);
+
+        assertThat(moved).hasValue(1);
+        assertThat(conflicts).hasValue(MOVERS - 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM cards WHERE id = ?", Long.class, card))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE event_type = ?",
+                Integer.class, DomainEvents.CARD_MOVED)).isEqualTo(1);
+    }
+
+    @Test
+    void randomMovesKeepEveryColumnConsistent() throws Exception {
+        List<Long> cards = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            cards.add(card(i % 2 == 0 ? todo : done));
+        }
+
+        int movesPerMover = 5;
+        AtomicInteger moved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> movers = new ArrayList<>();
+        for (int i = 0; i < MOVERS; i++) {
+            movers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int m = 0; m < movesPerMover; m++) {
+                    Long cardId = cards.get(random.nextInt(cards.size()));
+                    try {
+                        // To the end of either column: many movers pick the same key at once
+                        boardService.moveCard(OWNER, boardId, cardId,
+                                new MoveCardRequest(random.nextBoolean() ? todo : done, null, null, null));
+                        moved.incrementAndGet();
+                    } catch (CardConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(movers);
+
+        assertThat(moved.get() + conflicts.get()).isEqualTo(MOVERS * movesPerMover);
+        assertThat(moved.get()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(version) FROM cards", Long.class))
+                .isEqualTo(moved.longValue());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE event_type = ?",
+                Integer.class, DomainEvents.CARD_MOVED)).isEqualTo(moved.get());
+        assertThat(cardIds(todo).size() + cardIds(done).size()).isEqualTo(cards.size());
+        assertNoSharedRanks();
+    }
+
+    @Test
+    void moveIntoAColumnRebalancedAfterTheReadConflicts() throws Exception {
+        Long first = card(done);
+        Long second = card(done);
+        Long mover = card(todo);
+        // The rebalance commits between the move's read of its neighbours and its write. The spy wraps a
+        // repository proxy, which has no real method to call; its default answer delegates to the proxy
+        Answer<?> repository = mockingDetails(cardRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object next = repository.answer(invocation);
+            rankRebalancer.cardRanked(done, "a".repeat(100));
+            executor.submit(rankRebalancer::rebalancePending).get(30, TimeUnit.SECONDS);
+            return next;
+        }).when(cardRepository).findFirstByColumnIdAndRankKeyGreaterThanAndIdNotOrderByRankKeyAsc(any(), any(), any());
+
+        assertThatThrownBy(() -> boardService.moveCard(OWNER, boardId, mover, new MoveCardRequest(done, first, null, null)))
+                .isInstanceOf(CardConflictException.class)
+                .satisfies(e -> assertThat(((CardConflictException) e).getCards())
+                        .extracting(CardResponse::getColumnId).containsExactly(todo));
+
+        assertThat(cardIds(done)).containsExactly(first, second);
+        assertThat(cardIds(todo)).containsExactly(mover);
+    }
+
+    private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private void assertNoSharedRanks() {
+        List<Map<String, Object>> shared = jdbcTemplate.queryForList(
+                "SELECT list_id, rank_key FROM cards GROUP BY list_id, rank_key HAVING COUNT(*) > 1");
+        assertThat(shared).isEmpty();
+    }
+
+    private Long card(Long columnId) {
+        return boardService.createCard(OWNER, boardId, columnId, new CreateCardRequest("card", null, null, null))
+                .getId();
+    }
+
+    private List<Long> cardIds(Long columnId) {
+        return jdbcTemplate.queryForList("SELECT id FROM cards WHERE list_id = ? ORDER BY rank_key, id",
+                Long.class, columnId);
+    }
+}
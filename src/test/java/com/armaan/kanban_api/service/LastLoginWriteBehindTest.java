@@ -0,0 +1,135 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.UserDetailsCache;
+import com.armaan.kanban_api.entity.OutboxEvent;
+import com.armaan.kanban_api.outbox.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class LastLoginWriteBehindTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private OutboxService outboxService;
+    private UserDetailsCache userDetailsCache;
+    private LastLoginWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        outboxService = mock(OutboxService.class);
+        when(outboxService.event(anyString(), any(), anyString(), any(), any())).thenReturn(new OutboxEvent());
+        userDetailsCache = mock(UserDetailsCache.class);
+        writeBehind = new LastLoginWriteBehind(jdbcTemplate, new SyncTaskExecutor(), outboxService, userDetailsCache,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 3, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesLoginsPerUserIntoOneBatch() {
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        writeBehind.record(1L, first);
+        writeBehind.record(1L, first.plusMinutes(5));
+        writeBehind.record(1L, first.plusMinutes(1));
+        writeBehind.record(2L, first);
+
+        writeBehind.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).hasSize(2);
+        assertThat(batch.getValue())
+                .filteredOn(row -> row[1].equals(1L))
+                .singleElement()
+                .satisfies(row -> assertThat(row[0]).isEqualTo(Timestamp.valueOf(first.plusMinutes(5))));
+    }
+
+    @Test
+    void flushesOnceSizeThresholdIsReached() {
+        LocalDateTime now = LocalDateTime.now();
+        writeBehind.record(1L, now);
+        writeBehind.record(2L, now);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        writeBehind.record(3L, now);
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queuesEveryLoginEventForTheSameFlush() {
+        LocalDateTime now = LocalDateTime.now();
+        writeBehind.record(1L, "alice", now);
+        writeBehind.record(1L, "alice", now.plusSeconds(1));
+
+        writeBehind.flush();
+
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxService).appendAll(events.capture());
+        assertThat(events.getValue()).hasSize(2);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void evictsCachedDetailsOfFlushedUsers() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("username")).thenReturn("alice");
+        when(row.getString("email")).thenReturn("alice@example.com");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(contains("WHERE id IN (?)"), any(RowCallbackHandler.class), any(Object[].class));
+
+        writeBehind.record(1L, LocalDateTime.now());
+        writeBehind.flush();
+
+        verify(userDetailsCache).evict("alice", "alice@example.com");
+    }
+
+    @Test
+    void looksUpCacheKeysInChunks() {
+        LastLoginWriteBehind backlog = new LastLoginWriteBehind(jdbcTemplate, new SyncTaskExecutor(), outboxService,
+                userDetailsCache, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 10_000, 100);
+        int users = LastLoginWriteBehind.CACHE_KEYS_CHUNK * 2 + 1;
+        for (long userId = 1; userId <= users; userId++) {
+            backlog.record(userId, LocalDateTime.now());
+        }
+
+        backlog.flush();
+
+        ArgumentCaptor<Object[]> ids = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(3)).query(contains("WHERE id IN"), any(RowCallbackHandler.class), ids.capture());
+        assertThat(ids.getAllValues()).extracting(chunk -> chunk.length)
+                .containsExactly(LastLoginWriteBehind.CACHE_KEYS_CHUNK, LastLoginWriteBehind.CACHE_KEYS_CHUNK, 1);
+    }
+
+    @Test
+    void keepsUpdatesWhenFlushFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+        writeBehind.record(1L, LocalDateTime.now());
+        writeBehind.flush();
+
+        reset(jdbcTemplate);
+        writeBehind.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,110 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LoginThrottleServiceTest {
+
+    private StringRedisTemplate redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottleService service;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new LoginThrottleService(redisTemplate, mock(RedisMessageListenerContainer.class), meterRegistry,
+                3, 100, Duration.ofMinutes(15), Duration.ofMinutes(15), 1_000);
+    }
+
+    @Test
+    void accountIsThrottledLocallyOnceFailuresExceedTheLimit() {
+        for (int i = 0; i < 3; i++) {
+            service.checkAllowed("Alice", "10.0.0.1");
+            service.recordFailure("Alice", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> service.checkAllowed("alice", "10.0.0.2"))
+                .isInstanceOf(TooManyLoginAttemptsException.class)
+                .satisfies(e -> assertThat(((TooManyLoginAttemptsException) e).getRetryAfterSeconds()).isPositive());
+        assertThatCode(() -> service.checkAllowed("bob", "10.0.0.1")).doesNotThrowAnyException();
+        verifyNoInteractions(redisTemplate);
+        assertThat(meterRegistry.get("auth.login.throttle.rejected").tag("scope", "account").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncBlocksKeysOverTheClusterWideLimit() {
+        // Other nodes already counted failures: account at 5 (limit 3), ip at 6 (limit 100)
+        List<List<String>> calls = new ArrayList<>();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    List<String> keys = invocation.getArgument(1);
+                    calls.add(keys);
+                    return keys.get(0).startsWith(LoginThrottleService.COUNTER_PREFIX + "{account:")
+                            ? List.of(5L, 0L)
+                            : List.of(6L, 0L);
+                });
+
+        service.recordFailure("alice", "10.0.0.1");
+        service.sync();
+
+        // One call per throttle key, its two windows in one cluster slot
+        assertThat(calls).hasSize(2).allSatisfy(keys -> {
+            String tag = keys.get(0).substring(0, keys.get(0).indexOf('}') + 1);
+            assertThat(keys).hasSize(2).allSatisfy(key -> assertThat(key).startsWith(tag));
+        });
+
+        assertThatThrownBy(() -> service.checkAllowed("alice", null))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThat(service.throttledKeys())
+                .extracting(LoginThrottleService.ThrottledKey::key)
+                .containsExactly("account:alice");
+        verify(redisTemplate).convertAndSend(eq(LoginThrottleService.BLOCKED_CHANNEL), endsWith("|account:alice"));
+    }
+
+    @Test
+    void blocksFromOtherNodesAreApplied() {
+        long until = System.currentTimeMillis() + 60_000;
+        service.onMessage(new DefaultMessage(LoginThrottleService.BLOCKED_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                (until + "|ip:10.0.0.9").getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThatThrownBy(() -> service.checkAllowed("carol", "10.0.0.9"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        service.unblock("ip:10.0.0.9");
+        assertThatCode(() -> service.checkAllowed("carol", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void redisFailureKeepsLocalThrottling() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        for (int i = 0; i < 3; i++) {
+            service.recordFailure("dave", null);
+        }
+        service.sync();
+
+        assertThatThrownBy(() -> service.checkAllowed("dave", null))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+}
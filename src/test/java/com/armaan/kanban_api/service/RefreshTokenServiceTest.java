@@ -0,0 +1,67 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.exception.InvalidTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        service = new RefreshTokenService(redisTemplate, Duration.ofDays(14));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rotationTouchesOnlyTheHashTaggedFamilyKey() {
+        String token = service.issue(User.builder().id(7L).username("alice").tokenVersion(3).build());
+        String familyId = token.substring(0, token.indexOf('.'));
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq("refresh-family:{" + familyId + "}"), stored.capture(), any(Duration.class));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenReturn(stored.getValue().substring(stored.getValue().indexOf('|') + 1));
+
+        RefreshTokenService.Rotation rotation = service.rotate(token);
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), anyString(), anyString(), anyString());
+        assertThat(keys.getValue()).containsExactly("refresh-family:{" + familyId + "}");
+        assertThat(rotation.identity()).isEqualTo(new RefreshTokenService.RefreshedIdentity(7L, 3, "alice"));
+        assertThat(rotation.refreshToken()).startsWith(familyId + ".").isNotEqualTo(token);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reusedTokenIsRejected() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenReturn("REUSED");
+
+        assertThatThrownBy(() -> service.rotate("family.secret"))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("already been used");
+    }
+}
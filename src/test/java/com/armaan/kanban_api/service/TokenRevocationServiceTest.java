@@ -0,0 +1,136 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.exception.RevocationUnavailableException;
+import com.armaan.kanban_api.util.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs against a map-backed stand-in for Redis, so no server is needed.
+ */
+class TokenRevocationServiceTest {
+
+    private final Map<String, String> redis = new HashMap<>();
+    private final Map<String, Duration> ttls = new HashMap<>();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doAnswer(invocation -> {
+            redis.put(invocation.getArgument(0), invocation.getArgument(1));
+            ttls.put(invocation.getArgument(0), invocation.getArgument(2));
+            return null;
+        }).when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.hasKey(anyString())).thenAnswer(invocation -> redis.containsKey(invocation.<String>getArgument(0)));
+
+        meterRegistry = new SimpleMeterRegistry();
+        service = new TokenRevocationService(redisTemplate, mock(RedisMessageListenerContainer.class),
+                meterRegistry, 1_000, 0.001);
+    }
+
+    @Test
+    void revokedTokenIsStoredWithRemainingLifetimeAndRejected() {
+        VerifiedToken token = token("jti-1", Instant.now().plus(Duration.ofMinutes(10)));
+
+        service.revoke(token);
+
+        assertThat(redis).containsKey(TokenRevocationService.KEY_PREFIX + "jti-1");
+        assertThat(ttls.get(TokenRevocationService.KEY_PREFIX + "jti-1"))
+                .isPositive()
+                .isLessThanOrEqualTo(Duration.ofMinutes(10));
+        verify(redisTemplate).convertAndSend(eq(TokenRevocationService.REVOCATION_CHANNEL), endsWith("\njti-1"));
+        assertThat(service.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void nonRevokedTokenNeverReachesRedis() {
+        service.revoke(token("jti-1", Instant.now().plus(Duration.ofMinutes(10))));
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(service.isRevoked(token("other-" + i, Instant.now().plus(Duration.ofMinutes(10))))).isFalse();
+        }
+
+        double negatives = meterRegistry.counter("token.revocation.checks", "result", "bloom_negative").count();
+        double falsePositives = meterRegistry.counter("token.revocation.checks", "result", "false_positive").count();
+        assertThat(negatives + falsePositives).isEqualTo(1_000);
+        assertThat(falsePositives).isLessThan(10);
+        verify(redisTemplate, times((int) falsePositives)).hasKey(anyString());
+    }
+
+    @Test
+    void revocationPublishedByAnotherNodeUpdatesTheFilter() {
+        redis.put(TokenRevocationService.KEY_PREFIX + "remote", "alice");
+        VerifiedToken token = token("remote", Instant.now().plus(Duration.ofMinutes(10)));
+        assertThat(service.isRevoked(token)).isFalse();
+
+        service.onMessage(new DefaultMessage(
+                TokenRevocationService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "remote".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(service.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void ownRevocationMessageIsNotAddedAgain() {
+        service.revoke(token("jti-1", Instant.now().plus(Duration.ofMinutes(10))));
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(TokenRevocationService.REVOCATION_CHANNEL), published.capture());
+
+        service.onMessage(new DefaultMessage(
+                TokenRevocationService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                published.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(meterRegistry.get("token.revocation.bloom.insertions").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void redisFailureDuringRevocationIsCountedAndReported() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        assertThatThrownBy(() -> service.revoke(token("jti-1", Instant.now().plus(Duration.ofMinutes(10)))))
+                .isInstanceOf(RevocationUnavailableException.class);
+
+        assertThat(meterRegistry.counter("token.revocation.redis", "result", "error").count()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredTokenIsNotStored() {
+        service.revoke(token("old", Instant.now().minusSeconds(1)));
+
+        assertThat(redis).isEmpty();
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private static VerifiedToken token(String tokenId, Instant expiresAt) {
+        return new VerifiedToken(tokenId, "alice", Instant.now(), expiresAt, 1L, true, 0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.cache.UserDetailsCache;
+import com.armaan.kanban_api.entity.User;
+import com.armaan.kanban_api.outbox.DomainEvents;
+import com.armaan.kanban_api.outbox.OutboxService;
+import com.armaan.kanban_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenVersionServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private UserRepository userRepository;
+    private UserDetailsCache userDetailsCache;
+    private OutboxService outboxService;
+    private TokenVersionService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userDetailsCache = mock(UserDetailsCache.class);
+        outboxService = mock(OutboxService.class);
+        service = new TokenVersionService(userRepository, userDetailsCache, outboxService, Duration.ofMinutes(1));
+        user = User.builder().id(USER_ID).username("alice").tokenVersion(0).build();
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(0));
+    }
+
+    @Test
+    void revokingRejectsEarlierTokensAtOnceDespiteTheCache() {
+        assertThat(service.isCurrent(USER_ID, 0)).isTrue();
+
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(1));
+        service.revokeAllTokens(USER_ID);
+
+        verify(userRepository).incrementTokenVersion(eq(USER_ID), any());
+        assertThat(service.isCurrent(USER_ID, 0)).isFalse();
+        assertThat(service.isCurrent(USER_ID, 1)).isTrue();
+        verify(userDetailsCache).evict(user);
+        verify(outboxService).append(eq(DomainEvents.USER), eq(USER_ID), eq(DomainEvents.USER_SESSIONS_REVOKED), any());
+    }
+
+    @Test
+    void deactivatingRejectsEarlierTokens() {
+        assertThat(service.isCurrent(USER_ID, 0)).isTrue();
+
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(1));
+        service.deactivateUser(USER_ID);
+
+        verify(userRepository).deactivate(eq(USER_ID), any());
+        assertThat(service.isCurrent(USER_ID, 0)).isFalse();
+        verify(outboxService).append(eq(DomainEvents.USER), eq(USER_ID), eq(DomainEvents.USER_DEACTIVATED), any());
+    }
+}
@@ -0,0 +1,70 @@
+package com.armaan.kanban_api.service;
+
+import com.armaan.kanban_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UsernameAvailabilityServiceTest {
+
+    private UserRepository userRepository;
+    private UsernameAvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        service = new UsernameAvailabilityService(userRepository, mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class));
+    }
+
+    @Test
+    void loadsUsernamesPageByPage() {
+        List<String> usernames = IntStream.range(0, 12_000).mapToObj(i -> "user%05d".formatted(i)).toList();
+        when(userRepository.findUsernamesAfter(anyString(), any(Limit.class))).thenAnswer(invocation -> {
+            String after = invocation.getArgument(0);
+            int max = invocation.<Limit>getArgument(1).max();
+            return usernames.stream().filter(username -> username.compareTo(after) > 0).limit(max).toList();
+        });
+
+        service.loadTakenUsernames();
+
+        verify(userRepository, times(3)).findUsernamesAfter(anyString(), any(Limit.class));
+        assertThat(service.isAvailable("user00000")).isFalse();
+        assertThat(service.isAvailable("user11999")).isFalse();
+        assertThat(service.isAvailable("user12000")).isTrue();
+    }
+
+    @Test
+    void usernamesDifferingOnlyInCaseAreTaken() {
+        when(userRepository.findUsernamesAfter(anyString(), any(Limit.class))).thenReturn(List.of("Alice"));
+        service.loadTakenUsernames();
+
+        service.onMessage(new DefaultMessage(
+                UsernameAvailabilityService.USERNAMES_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "+BOB".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(service.isAvailable("alice")).isFalse();
+        assertThat(service.isKnownTaken("ALICE")).isTrue();
+        assertThat(service.isKnownTaken("bob")).isTrue();
+        assertThat(service.isAvailable("carol")).isTrue();
+    }
+
+    @Test
+    void fallsBackToCaseInsensitiveQueryUntilLoaded() {
+        when(userRepository.existsByUsernameIgnoreCase("ALICE")).thenReturn(true);
+
+        assertThat(service.isAvailable("ALICE")).isFalse();
+    }
+}
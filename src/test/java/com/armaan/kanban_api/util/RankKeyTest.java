@@ -0,0 +1,75 @@
+package com.armaan.kanban_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeyTest {
+
+    @Test
+    void keyLiesStrictlyBetweenItsNeighbours() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(List.of(RankKey.between(null, null)));
+
+        for (int i = 0; i < 5_000; i++) {
+            int index = random.nextInt(keys.size() + 1);
+            String before = index == 0 ? null : keys.get(index - 1);
+            String after = index == keys.size() ? null : keys.get(index);
+            String key = RankKey.between(before, after);
+
+            assertThat(RankKey.isValid(key)).isTrue();
+            if (before != null) {
+                assertThat(key).isGreaterThan(before);
+            }
+            if (after != null) {
+                assertThat(key).isLessThan(after);
+            }
+            keys.add(index, key);
+        }
+    }
+
+    @Test
+    void repeatedInsertsIntoTheSameGapGrowSlowly() {
+        String first = RankKey.between(null, null);
+        String second = RankKey.between(first, null);
+        String lower = first;
+        for (int i = 0; i < 100; i++) {
+            lower = RankKey.between(lower, second);
+        }
+        assertThat(lower.length()).isLessThanOrEqualTo(25);
+    }
+
+    @Test
+    void appendsStayShort() {
+        String key = null;
+        for (int i = 0; i < 1_000; i++) {
+            key = RankKey.between(key, null);
+        }
+        assertThat(key.length()).isLessThanOrEqualTo(32);
+    }
+
+    @Test
+    void evenlySpacedKeysAreAscendingShortAndLeaveRoom() {
+        String[] keys = RankKey.evenlySpaced(1_000);
+
+        for (int i = 1; i < keys.length; i++) {
+            assertThat(keys[i]).isGreaterThan(keys[i - 1]);
+            assertThat(RankKey.between(keys[i - 1], keys[i]).length()).isLessThanOrEqualTo(4);
+        }
+        assertThat(keys).allMatch(RankKey::isValid).allMatch(key -> key.length() <= 3);
+        assertThat(RankKey.evenlySpaced(0)).isEmpty();
+    }
+
+    @Test
+    void rejectsInvertedOrMalformedBounds() {
+        assertThatThrownBy(() -> RankKey.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKey.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKey.between("a0", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKey.between("A", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}